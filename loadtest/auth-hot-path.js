@@ -0,0 +1,39 @@
+// 가상 스레드 모드 비교용 k6 부하 테스트
+// 실행 예: k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=testuser -e PASSWORD=password loadtest/auth-hot-path.js
+// - setup 에서 한 번 로그인한 Access Token 으로 인증이 필요한 API 를 반복 호출 (JwtFilter -> 블랙리스트/사용자 조회)
+// - 검증 캐시를 끄면(SPRING_JWT_CACHE_ENABLED=false) 매 요청 Redis/MySQL 을 거치는 경로를 측정
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '1m', target: 1000 },
+                { duration: '1m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return { accessToken: res.json('data.accessToken') };
+}
+
+export default function (data) {
+    const res = http.get(`${BASE_URL}/api/v1/users/test`, {
+        headers: { Authorization: `Bearer ${data.accessToken}` },
+    });
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,39 @@
+package com.melly.authjwt.common.util;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// 재발급/로그아웃 요청마다 수행되는 Refresh Token 쿠키 조회 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CookieUtilBenchmark {
+    private final CookieUtil cookieUtil = new CookieUtil();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest();
+        // 브라우저가 함께 보내는 다른 쿠키들 사이에서 찾는 상황
+        request.setCookies(
+                new Cookie("JSESSIONID", "ABCDEF0123456789"),
+                new Cookie("_ga", "GA1.1.123456789.1700000000"),
+                new Cookie("RefreshToken", "header.payload.signature"),
+                new Cookie("locale", "ko-KR")
+        );
+    }
+
+    @Benchmark
+    public String getValue() {
+        return cookieUtil.getValue(request);
+    }
+}
@@ -0,0 +1,66 @@
+package com.melly.authjwt.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.melly.authjwt.dto.response.RefreshTokenDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// RedisConfig 의 값 직렬화기: Refresh Token 바이너리 코덱 vs 이전 JSON 직렬화
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RefreshTokenRedisSerializerBenchmark {
+    private GenericJackson2JsonRedisSerializer json;
+    private RefreshTokenRedisSerializer binary;
+    private RefreshTokenDto dto;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        // RedisConfig 와 같은 설정
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        json = new GenericJackson2JsonRedisSerializer(objectMapper);
+        binary = new RefreshTokenRedisSerializer(json);
+
+        LocalDateTime now = LocalDateTime.now();
+        dto = new RefreshTokenDto(UUID.randomUUID().toString(), "benchmark-user", "USER", now, now.plusDays(1));
+        jsonBytes = json.serialize(dto);
+        binaryBytes = binary.serialize(dto);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binary.serialize(dto);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return json.serialize(dto);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binary.deserialize(binaryBytes);
+    }
+
+    // 이전 JSON 값 읽기 (Map 역직렬화 + RefreshTokenDto 변환)
+    @Benchmark
+    public Object deserializeLegacyJson() {
+        return binary.deserialize(jsonBytes);
+    }
+}
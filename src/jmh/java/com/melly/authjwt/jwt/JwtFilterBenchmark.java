@@ -0,0 +1,131 @@
+package com.melly.authjwt.jwt;
+
+import com.melly.authjwt.common.auth.TokenPrincipalResolver;
+import com.melly.authjwt.common.auth.UserCache;
+import com.melly.authjwt.common.auth.UserStatusCache;
+import com.melly.authjwt.common.metrics.AuthMetrics;
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserRole;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// JwtFilter 한 요청의 처리 비용
+// - verifiedTokenCache=true  : 검증 캐시 hit 경로 (서명 검증/사용자 조회 생략)
+// - verifiedTokenCache=false : 매 요청 서명 검증 + Bloom filter 블랙리스트 확인 + principal 구성
+// - claimsPrincipal          : principal 을 DB(스텁 저장소) 대신 토큰 클레임 + 상태 캐시로 구성
+// Redis 는 워밍업 완료 상태의 Bloom filter 만 사용하므로 hot path 에서 호출되지 않음
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean verifiedTokenCache;
+
+    @Param({"false", "true"})
+    public boolean claimsPrincipal;
+
+    private JwtFilter jwtFilter;
+    private String authorization;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 0);
+        UserRepository userRepository = stubUserRepository();
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        Cursor<String> emptyCursor = mock(Cursor.class);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(emptyCursor);
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        when(listenerContainer.isRunning()).thenReturn(true);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(null, null, null, null, null, null, null), meterRegistry);
+        TokenBlacklist tokenBlacklist = new TokenBlacklist(redisTemplate, listenerContainer, jwtUtil, circuitBreaker,
+                600000L, 100000L, 0.01, false, 10000L);
+        tokenBlacklist.warmUp();
+
+        UserStatusCache userStatusCache = new UserStatusCache(userRepository, 30, 10000, meterRegistry);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(verifiedTokenCache, 10000, meterRegistry);
+        UserCache userCache = new UserCache(userRepository, redisTemplate, listenerContainer, circuitBreaker, userStatusCache,
+                tokenCache, meterRegistry, true, Duration.ofSeconds(30), 10000, false, Duration.ofMinutes(5), Duration.ZERO);
+        TokenPrincipalResolver resolver = new TokenPrincipalResolver(userCache, userStatusCache, claimsPrincipal);
+
+        jwtFilter = new JwtFilter(jwtUtil, resolver, tokenBlacklist, tokenCache, new AuthMetrics(meterRegistry));
+        authorization = "Bearer " + jwtUtil.createJwt("AccessToken", "benchmark-user", "USER", "token-id", 3600000L);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/test");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    // 호출 기록이 없는 고정 응답 저장소 (Mockito 스텁은 호출마다 기록/할당이 생겨 측정값을 왜곡함)
+    private static UserRepository stubUserRepository() {
+        UserEntity user = UserEntity.builder()
+                .userId(1L)
+                .username("benchmark-user")
+                .password("{noop}password")
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build();
+        Optional<UserEntity> found = Optional.of(user);
+        Optional<UserStatus> status = Optional.of(UserStatus.ACTIVE);
+
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUsername" -> found;
+                    case "findStatusByUsername" -> status;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.melly.authjwt.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급/검증 비용 (서명, 파싱, 클레임 추출)
+// algorithm 별로 비교: HS256(공유 비밀키) vs ES256/EdDSA(Ed25519, 공개키 검증 - 다른 서비스가 JWKS 로 오프라인 검증 가능)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public JwtAlgorithm algorithm;
+
+    private JwtUtil jwtUtil;
+    private String validToken;
+    private String expiredToken;
+    private String forgedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(SECRET);
+        validToken = jwtUtil.createJwt("AccessToken", "benchmark-user", "USER", "token-id", 600000L);
+        expiredToken = jwtUtil.createJwt("AccessToken", "benchmark-user", "USER", "token-id", -600000L);
+        forgedToken = newJwtUtil(SECRET + "-other").createJwt("AccessToken", "benchmark-user", "USER", "token-id", 600000L);
+    }
+
+    // 비대칭 알고리즘이면 호출마다 새 키 쌍 (위조 토큰용)
+    private JwtUtil newJwtUtil(String secret) {
+        return algorithm.isAsymmetric()
+                ? new JwtUtil(secret, 0, JwtSigningKeys.generate(algorithm))
+                : new JwtUtil(secret, 0);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtUtil.createJwt("AccessToken", "benchmark-user", "USER", "token-id", 600000L);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return jwtUtil.createJwt("RefreshToken", "benchmark-user", "USER", "token-id", "family-id", 86400000L);
+    }
+
+    @Benchmark
+    public JwtVerification verifyValid() {
+        return jwtUtil.verify(validToken);
+    }
+
+    @Benchmark
+    public JwtVerification verifyExpired() {
+        return jwtUtil.verify(expiredToken);
+    }
+
+    @Benchmark
+    public JwtVerification verifyInvalidSignature() {
+        return jwtUtil.verify(forgedToken);
+    }
+}
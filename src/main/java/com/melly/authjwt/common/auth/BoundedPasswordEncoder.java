@@ -0,0 +1,127 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 비밀번호 해시(encode/matches)를 전용 스레드 풀에서 실행하는 PasswordEncoder
+// - 해시 동시 실행 수를 CPU 코어 수로 제한하여, 로그인 폭주 중에도 나머지 CPU 는 JwtFilter 등 일반 요청이 사용
+// - 대기열이 가득 차거나 max-wait 안에 끝나지 않으면 즉시 503 (PASSWORD_HASHING_BUSY) -> 요청이 무한정 쌓이지 않음
+// - 요청 스레드는 결과를 기다리는 동안 CPU 를 쓰지 않음
+// - 가상 스레드 모드에서도 해시는 이 플랫폼 스레드 풀에서 실행 -> CPU 를 오래 쓰는 해시가 carrier 스레드를 점유하지 않고,
+//   요청(가상) 스레드는 future.get 에서 park 되어 carrier 를 반납
+// 지표: password.hash.* (ExecutorServiceMetrics: 대기열 길이/활성 스레드), password.hash.wait (대기열 대기 시간),
+//       password.hash.duration{operation} (순수 해시 계산 시간), password.hash.rejected
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMillis,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "password.hash", Tags.empty()).bindTo(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("Time a password hash waited in the queue")
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Password hashes rejected because the pool was saturated")
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.duration")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 해시 형식 비교만 하므로 요청 스레드에서 바로 실행
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer hashTimer, Callable<T> hash) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new CustomException(ErrorType.PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 대기열에 있으면 실행되지 않도록 취소 (실행 중인 해시는 끝까지 수행됨)
+            future.cancel(false);
+            rejectedCounter.increment();
+            throw new CustomException(ErrorType.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new CustomException(ErrorType.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -6,6 +6,7 @@ import com.melly.authjwt.domain.entity.UserEntity;
 import com.melly.authjwt.domain.enums.UserStatus;
 import com.melly.authjwt.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -17,21 +18,34 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+@Slf4j
 @RequiredArgsConstructor
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserCache userCache;
+
+    // 없는 사용자일 때도 같은 cost 의 해시 검증을 한 번 수행하여 응답 시간으로 아이디 존재 여부를 알 수 없도록 함
+    private volatile String dummyHash;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         String username = authentication.getName();
         String rawPassword = authentication.getCredentials().toString();
 
-        // 사용자 조회
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new CustomException(ErrorType.USER_NOT_FOUND));
+        // 사용자 조회 (filter 에서 확실히 없는 아이디면 DB 조회 생략, 있으면 UserCache -> DB)
+        UserEntity user = (userExistenceFilter.mightContainUsername(username)
+                ? userCache.findByUsername(username)
+                : Optional.<UserEntity>empty())
+                .orElseThrow(() -> {
+                    passwordEncoder.matches(rawPassword, dummyHash());
+                    return new CustomException(ErrorType.USER_NOT_FOUND);
+                });
 
         // 비밀번호 검증
         if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
@@ -47,6 +61,9 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
             throw new DisabledException("USER_DELETED");
         }
 
+        // 저장된 해시가 이전 형식/낮은 cost 면 이번 로그인의 평문으로 다시 해시 (사용자당 한 번)
+        upgradePasswordIfNeeded(user, rawPassword);
+
         // 인증 토큰 생성 (권한 정보 등 추가 가능)
         PrincipalDetails principalDetails = new PrincipalDetails(user);
 
@@ -58,6 +75,31 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         return new UsernamePasswordAuthenticationToken(principalDetails, null, authorities);
     }
 
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    // 업그레이드 실패는 로그인 결과에 영향을 주지 않음 (다음 로그인에서 다시 시도)
+    private void upgradePasswordIfNeeded(UserEntity user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            // 캐시에서 꺼낸 엔티티는 오래된 값일 수 있으므로 병합하지 않고 해시만 변경
+            // (검증한 해시가 그대로일 때만), 커밋된 뒤 캐시 무효화
+            if (userRepository.updatePassword(user.getUserId(), passwordEncoder.encode(rawPassword), user.getPassword()) > 0) {
+                userCache.invalidate(user);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Password hash upgrade failed for user {} - {}", user.getUserId(), e.getMessage());
+        }
+    }
+
     @Override
     public boolean supports(Class<?> authentication) {
         return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
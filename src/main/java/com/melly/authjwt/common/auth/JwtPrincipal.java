@@ -0,0 +1,35 @@
+package com.melly.authjwt.common.auth;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// 검증된 JWT 클레임(username, role)만으로 만든 경량 principal
+// claims-only 모드에서 UserEntity 조회 없이 인증 정보를 구성할 때 사용
+@Getter
+public class JwtPrincipal implements UserDetails {
+    private final String username;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtPrincipal(String username, String role) {
+        this.username = username;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // 비밀번호는 토큰에 담기지 않음
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
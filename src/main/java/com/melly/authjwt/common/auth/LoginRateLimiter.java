@@ -0,0 +1,259 @@
+package com.melly.authjwt.common.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+// 로그인 시도 제한 (authenticationManager.authenticate 전에 호출 -> 거부 시 해시/DB 조회 없음)
+// 1) 로컬: 잠금 캐시 + IP/아이디별 token bucket (Redis 왕복 없이 즉시 거부, 노드 하나가 받는 폭주 차단)
+// 2) 클러스터: Redis Lua 스크립트 한 번으로 잠금 확인 + IP/아이디별 sliding window 카운터 증가
+//    sliding window 는 직전/현재 고정 구간 카운터를 경과 비율로 가중합하여 근사 (키 2개, 요청당 O(1))
+// 3) 실패 누적: 아이디 + IP 별 연속 실패가 failure-threshold 에 도달하면 그 IP 에서의 해당 아이디 로그인을 잠금,
+//    이후 실패마다 잠금 시간 2배 (최대 lockout-max), 로그인 성공 시 그 IP 의 실패 횟수 초기화
+//    아이디 단위로 잠그면 누구나 틀린 비밀번호를 반복하여 계정을 무기한 잠글 수 있으므로, 다른 IP 의 실패는 정상 사용자의 IP 를 잠그지 않음
+//    여러 IP 에 분산된 대입은 아이디별 sliding window(username-limit) 로 속도만 제한 (잠금 시간이 늘어나지 않음)
+// Redis 장애 시 클러스터 단계는 건너뜀 (로컬 단계는 계속 적용)
+// IP 는 request.getRemoteAddr() 기준 (프록시 뒤라면 server.forward-headers-strategy 설정 필요)
+@Slf4j
+@Component
+public class LoginRateLimiter {
+    private static final String LOCK_PREFIX = "LoginLock:";
+    private static final String FAILURE_PREFIX = "LoginFail:";
+    private static final String IP_WINDOW_PREFIX = "LoginRate:ip:";
+    private static final String USER_WINDOW_PREFIX = "LoginRate:user:";
+
+    // KEYS: lock (아이디 + IP), ipCur, ipPrev, userCur, userPrev
+    // ARGV: prevWeight(0~1000), ipLimit, userLimit, windowTtlMillis
+    // 반환: {0} 허용, {1, lockPttl} 잠금, {2} IP 초과, {3} 아이디 초과
+    private static final RedisScript<List> CHECK_SCRIPT = new DefaultRedisScript<>("""
+            local lockTtl = redis.call('PTTL', KEYS[1])
+            if lockTtl > 0 then
+              return {1, lockTtl}
+            end
+            local weight = tonumber(ARGV[1]) / 1000
+            local function estimate(cur, prev)
+              return tonumber(redis.call('GET', prev) or '0') * weight + tonumber(redis.call('GET', cur) or '0')
+            end
+            if estimate(KEYS[2], KEYS[3]) >= tonumber(ARGV[2]) then
+              return {2}
+            end
+            if estimate(KEYS[4], KEYS[5]) >= tonumber(ARGV[3]) then
+              return {3}
+            end
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            redis.call('INCR', KEYS[4])
+            redis.call('PEXPIRE', KEYS[4], ARGV[4])
+            return {0}
+            """, List.class);
+
+    // KEYS: failures, lock (둘 다 아이디 + IP)
+    // ARGV: threshold, lockoutBaseMillis, lockoutMaxMillis, failureTtlMillis
+    // 반환: 새로 건 잠금 시간(ms), 잠그지 않았으면 0
+    private static final RedisScript<Long> FAILURE_SCRIPT = new DefaultRedisScript<>("""
+            local failures = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            local threshold = tonumber(ARGV[1])
+            if failures < threshold then
+              return 0
+            end
+            local lockout = math.min(tonumber(ARGV[2]) * 2 ^ math.min(failures - threshold, 30), tonumber(ARGV[3]))
+            redis.call('SET', KEYS[2], failures, 'PX', math.floor(lockout))
+            return math.floor(lockout)
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int ipLimit;
+    private final int usernameLimit;
+    private final int failureThreshold;
+    private final long lockoutBaseMillis;
+    private final long lockoutMaxMillis;
+    private final long failureTtlMillis;
+
+    private final Cache<String, TokenBucket> localBuckets;
+    private final Cache<String, Long> localLocks;     // 아이디 + IP -> 잠금 해제 시각
+
+    public LoginRateLimiter(RedisTemplate<String, Object> redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.login-limit.enabled:true}") boolean enabled,
+                            @Value("${spring.login-limit.window:PT1M}") Duration window,
+                            @Value("${spring.login-limit.ip-limit:30}") int ipLimit,
+                            @Value("${spring.login-limit.username-limit:10}") int usernameLimit,
+                            @Value("${spring.login-limit.failure-threshold:5}") int failureThreshold,
+                            @Value("${spring.login-limit.lockout-base:PT30S}") Duration lockoutBase,
+                            @Value("${spring.login-limit.lockout-max:PT15M}") Duration lockoutMax,
+                            @Value("${spring.login-limit.failure-ttl:PT15M}") Duration failureTtl,
+                            @Value("${spring.login-limit.local-maximum-size:100000}") long localMaximumSize) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.ipLimit = ipLimit;
+        this.usernameLimit = usernameLimit;
+        this.failureThreshold = failureThreshold;
+        this.lockoutBaseMillis = lockoutBase.toMillis();
+        this.lockoutMaxMillis = lockoutMax.toMillis();
+        this.failureTtlMillis = failureTtl.toMillis();
+        this.localBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(window)
+                .maximumSize(localMaximumSize)
+                .build();
+        this.localLocks = Caffeine.newBuilder()
+                .expireAfterWrite(lockoutMax)
+                .maximumSize(localMaximumSize)
+                .build();
+    }
+
+    // 허용되지 않으면 TOO_MANY_LOGIN_ATTEMPTS (429, Retry-After)
+    public void check(String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        String user = normalize(username);
+        String lockKey = lockKey(user, ip);
+        long now = System.currentTimeMillis();
+
+        Long lockedUntil = localLocks.getIfPresent(lockKey);
+        if (lockedUntil != null && lockedUntil > now) {
+            throw reject("local_lockout", lockedUntil - now);
+        }
+        if (!bucket("ip:" + ip, ipLimit).tryConsume(now)) {
+            throw reject("local_ip", windowMillis / ipLimit);
+        }
+        if (!bucket("user:" + user, usernameLimit).tryConsume(now)) {
+            throw reject("local_username", windowMillis / usernameLimit);
+        }
+
+        List<?> result;
+        try {
+            result = checkCluster(user, ip, lockKey, now);
+        } catch (RuntimeException e) {
+            log.warn("Login rate limit check skipped, Redis unavailable - {}", e.getMessage());
+            return;
+        }
+        long code = result == null || result.isEmpty() ? 0 : ((Number) result.get(0)).longValue();
+        if (code == 1) {
+            long lockTtl = ((Number) result.get(1)).longValue();
+            localLocks.put(lockKey, now + lockTtl);
+            throw reject("lockout", lockTtl);
+        }
+        if (code == 2) {
+            throw reject("ip", windowMillis - now % windowMillis);
+        }
+        if (code == 3) {
+            throw reject("username", windowMillis - now % windowMillis);
+        }
+    }
+
+    // 비밀번호 불일치/없는 아이디
+    public void onFailure(String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        String user = normalize(username);
+        String lockKey = lockKey(user, ip);
+        try {
+            Long lockout = redisTemplate.execute(
+                    FAILURE_SCRIPT,
+                    StringRedisSerializer.UTF_8,
+                    new GenericToStringSerializer<>(Long.class),
+                    List.of(FAILURE_PREFIX + lockKey, LOCK_PREFIX + lockKey),
+                    String.valueOf(failureThreshold), String.valueOf(lockoutBaseMillis),
+                    String.valueOf(lockoutMaxMillis), String.valueOf(failureTtlMillis));
+            if (lockout != null && lockout > 0) {
+                localLocks.put(lockKey, System.currentTimeMillis() + lockout);
+                meterRegistry.counter("auth.login.lockouts").increment();
+                log.info("Login locked for {} ms after repeated failures - {} from {}", lockout, user, ip);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Login failure not recorded, Redis unavailable - {}", e.getMessage());
+        }
+    }
+
+    public void onSuccess(String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(FAILURE_PREFIX + lockKey(normalize(username), ip));
+        } catch (RuntimeException e) {
+            log.warn("Login failure count not cleared, Redis unavailable - {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<?> checkCluster(String user, String ip, String lockKey, long now) {
+        long current = now / windowMillis;
+        long prevWeight = 1000 - (now % windowMillis) * 1000 / windowMillis;
+        List<String> keys = List.of(
+                LOCK_PREFIX + lockKey,
+                IP_WINDOW_PREFIX + ip + ":" + current,
+                IP_WINDOW_PREFIX + ip + ":" + (current - 1),
+                USER_WINDOW_PREFIX + user + ":" + current,
+                USER_WINDOW_PREFIX + user + ":" + (current - 1)
+        );
+        return redisTemplate.execute(CHECK_SCRIPT, StringRedisSerializer.UTF_8, (RedisSerializer) StringRedisSerializer.UTF_8, keys,
+                String.valueOf(prevWeight), String.valueOf(ipLimit), String.valueOf(usernameLimit), String.valueOf(windowMillis * 2));
+    }
+
+    private TokenBucket bucket(String key, int limit) {
+        return localBuckets.get(key, k -> new TokenBucket(limit, windowMillis));
+    }
+
+    private CustomException reject(String reason, long retryAfterMillis) {
+        meterRegistry.counter("auth.login.rejected", "reason", reason).increment();
+        return new CustomException(ErrorType.TOO_MANY_LOGIN_ATTEMPTS, Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+
+    private static String lockKey(String user, String ip) {
+        return user + ":" + ip;
+    }
+
+    // MySQL collation 과 같이 대소문자/후행 공백 차이를 같은 아이디로 취급
+    private static String normalize(String username) {
+        return username == null ? "" : username.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    // window 동안 capacity 개를 허용하는 token bucket (연속적으로 채워짐)
+    static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerMilli;
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(int capacity, long windowMillis) {
+            this.capacity = capacity;
+            this.refillPerMilli = (double) capacity / windowMillis;
+            this.tokens = capacity;
+            this.updatedAt = System.currentTimeMillis();
+        }
+
+        synchronized boolean tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * refillPerMilli);
+            updatedAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
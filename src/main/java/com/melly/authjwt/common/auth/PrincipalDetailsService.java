@@ -3,7 +3,6 @@ package com.melly.authjwt.common.auth;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
 import com.melly.authjwt.domain.entity.UserEntity;
-import com.melly.authjwt.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,11 +12,11 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class PrincipalDetailsService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity user = userRepository.findByUsername(username)
+        UserEntity user = userCache.findByUsername(username)
                 .orElseThrow(() -> new CustomException(ErrorType.USER_NOT_FOUND));
 
         return new PrincipalDetails(user);
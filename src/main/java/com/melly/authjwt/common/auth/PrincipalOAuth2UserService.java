@@ -20,6 +20,8 @@ import java.util.UUID;
 public class PrincipalOAuth2UserService extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
     private final UserAuthProviderRepository userAuthProviderRepository;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserCache userCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -28,7 +30,7 @@ public class PrincipalOAuth2UserService extends DefaultOAuth2UserService {
         String provider = userRequest.getClientRegistration().getRegistrationId(); // google, kakao 등
         String providerUserId = oAuth2User.getName(); // OAuth2User.getName()은 provider user id
 
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = userCache.findByEmail(email)
                 .map(existingUser -> {
                     // 기존 유저인데 소셜 정보가 없으면 추가
                     if (!userAuthProviderRepository.existsByUserAndProvider(existingUser, provider)) {
@@ -57,6 +59,7 @@ public class PrincipalOAuth2UserService extends DefaultOAuth2UserService {
                 .build();
 
         UserEntity savedUser = userRepository.save(newUser);
+        userExistenceFilter.add(savedUser);
 
         // auth_provider 기록
         UserAuthProviderEntity authProvider = UserAuthProviderEntity.builder()
@@ -0,0 +1,69 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.jwt.JwtClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// 검증된 Access Token 의 클레임으로 SecurityContext 에 등록할 principal 을 만듦
+// - 기본 모드 : UserCache(로컬 -> Redis -> DB)에서 UserEntity 를 조회하여 PrincipalDetails 생성
+// - claims-only 모드 : 토큰의 username/role 로 JwtPrincipal 생성, 계정 상태는 UserStatusCache 로 확인
+@Component
+public class TokenPrincipalResolver {
+    private final UserCache userCache;
+    private final UserStatusCache userStatusCache;
+    private final boolean claimsOnly;
+
+    public TokenPrincipalResolver(UserCache userCache,
+                                  UserStatusCache userStatusCache,
+                                  @Value("${spring.jwt.claims-principal.enabled:false}") boolean claimsOnly) {
+        this.userCache = userCache;
+        this.userStatusCache = userStatusCache;
+        this.claimsOnly = claimsOnly;
+    }
+
+    public UserDetails resolve(JwtClaims claims) {
+        if (claimsOnly) {
+            checkStatus(claims.username());
+            return new JwtPrincipal(claims.username(), claims.role());
+        }
+
+        UserEntity user = userCache.findByUsername(claims.username())
+                .orElseThrow(() -> new CustomException(ErrorType.USER_NOT_FOUND));
+        return new PrincipalDetails(user);
+    }
+
+    // true 면 resolve 가 I/O 없이 반환됨 (claims-only 모드 + 상태 캐시 hit, 기본 모드 + 사용자 로컬 캐시 hit)
+    // reactive 필터는 false 일 때만 블로킹 스케줄러로 넘겨 실행
+    public boolean resolvesWithoutBlocking(String username) {
+        return claimsOnly ? userStatusCache.contains(username) : userCache.containsLocally(username);
+    }
+
+    // true 면 checkCachedPrincipal 이 DB 를 조회하지 않음 (기본 모드는 확인 생략, claims-only 모드는 상태 캐시 hit)
+    public boolean checksCachedWithoutBlocking(String username) {
+        return !claimsOnly || userStatusCache.contains(username);
+    }
+
+    // 검증 캐시에서 꺼낸 principal 에 대해서도 계정 상태는 매 요청 확인 (claims-only 모드, 메모리 조회)
+    public void checkCachedPrincipal(UserDetails principal) {
+        if (claimsOnly) {
+            checkStatus(principal.getUsername());
+        }
+    }
+
+    private void checkStatus(String username) {
+        UserStatus status = userStatusCache.get(username)
+                .orElseThrow(() -> new CustomException(ErrorType.USER_NOT_FOUND));
+
+        if (status == UserStatus.INACTIVE) {
+            throw new CustomException(ErrorType.USER_INACTIVE);
+        }
+        if (status == UserStatus.DELETED) {
+            throw new CustomException(ErrorType.USER_DELETED);
+        }
+    }
+}
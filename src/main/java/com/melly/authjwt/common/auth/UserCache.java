@@ -0,0 +1,276 @@
+package com.melly.authjwt.common.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserRole;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.domain.repository.UserRepository;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 아이디/이메일로 UserEntity 조회 시 사용하는 2단계 캐시 (JwtFilter 기본 모드, 로그인, 세션 조회, OAuth2 로그인)
+// 1) 로컬 : Caffeine (local-ttl), 같은 키의 동시 조회는 DB 조회 한 번으로 합쳐짐
+// 2) 공유 : Redis (redis.enabled 일 때만, redis.ttl), 다른 노드가 이미 읽은 사용자는 DB 대신 Redis 에서 가져옴
+// - 캐시에는 엔티티 대신 값 스냅샷을 보관하고 조회마다 새 (준영속) UserEntity 를 만들어 반환 -> 호출하는 쪽의 변경이 캐시에 섞이지 않음
+// - 없는 사용자는 캐싱하지 않음 (가입 직후 조회가 막히지 않도록, 없는 아이디 대입은 UserExistenceFilter 가 DB 조회 전에 차단)
+// - 무효화 : UserEntity 변경/삭제(UserCacheInvalidationListener - META-INF/orm.xml, 커밋 후) -> 로컬 제거 + Redis 키 삭제 + pub/sub 으로 다른 노드 로컬 제거
+//            각 노드는 상태 캐시와, 그 사용자의 토큰으로 캐싱된 principal(VerifiedTokenCache) 도 함께 제거
+//            Redis 장애 중에는 삭제/전파를 RedisCircuitBreaker 재처리 큐에 넣어 복구 후 실행
+//            메시지를 놓친 노드에서는 로컬 캐시가 local-ttl 후 만료되지만, 이미 검증되어 캐싱된 토큰은 만료(exp)될 때까지 이전 역할/상태를 유지
+// - 무효화 후 change-settle 동안은 해당 키를 캐싱하지 않고 매번 조회 -> replica 라우팅 시 아직 복제되지 않은 이전 값이 local-ttl 동안 남지 않도록
+// - 키는 MySQL collation 과 같이 소문자 + 후행 공백 제거
+@Slf4j
+@Component
+public class UserCache implements MessageListener {
+    private static final String KEY_PREFIX = "UserCache:";
+    private static final String CHANNEL = "user-cache";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UserStatusCache userStatusCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final Cache<String, CachedUser> local;
+    private final Cache<String, Boolean> recentlyChanged;
+
+    public UserCache(UserRepository userRepository,
+                     RedisTemplate<String, Object> redisTemplate,
+                     RedisMessageListenerContainer listenerContainer,
+                     RedisCircuitBreaker circuitBreaker,
+                     UserStatusCache userStatusCache,
+                     VerifiedTokenCache verifiedTokenCache,
+                     MeterRegistry meterRegistry,
+                     @Value("${spring.user-cache.enabled:true}") boolean enabled,
+                     @Value("${spring.user-cache.local-ttl:PT30S}") Duration localTtl,
+                     @Value("${spring.user-cache.local-maximum-size:10000}") long localMaximumSize,
+                     @Value("${spring.user-cache.redis.enabled:false}") boolean redisEnabled,
+                     @Value("${spring.user-cache.redis.ttl:PT5M}") Duration redisTtl,
+                     @Value("${spring.user-cache.change-settle:PT0S}") Duration changeSettle) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.circuitBreaker = circuitBreaker;
+        this.userStatusCache = userStatusCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaximumSize)
+                .recordStats()
+                .build();
+        this.recentlyChanged = changeSettle.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(changeSettle)
+                .maximumSize(localMaximumSize)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "user");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    public Optional<UserEntity> findByUsername(String username) {
+        if (!enabled || username == null) {
+            return userRepository.findByUsername(username);
+        }
+        return find(usernameKey(username), () -> userRepository.findByUsername(username));
+    }
+
+    public Optional<UserEntity> findByEmail(String email) {
+        if (!enabled || email == null) {
+            return userRepository.findByEmail(email);
+        }
+        return find(emailKey(email), () -> userRepository.findByEmail(email));
+    }
+
+    // 로컬 캐시에 있으면 findByUsername 이 I/O 없이 반환됨 (reactive 필터에서 블로킹 여부 판단용)
+    public boolean containsLocally(String username) {
+        return enabled && username != null && local.getIfPresent(usernameKey(username)) != null;
+    }
+
+    // 사용자 정보가 바뀌었을 때 (커밋 후) 모든 노드의 캐시에서 제거
+    public void invalidate(UserEntity user) {
+        if (!enabled) {
+            return;
+        }
+        List<String> keys = keysOf(user.getUsername(), user.getEmail());
+        evictLocal(keys, user.getUsername());
+
+        Map<String, String> payload = new HashMap<>();
+        payload.put("username", user.getUsername() != null ? user.getUsername() : "");
+        payload.put("email", user.getEmail() != null ? user.getEmail() : "");
+        try {
+            circuitBreaker.write(RedisCircuitBreaker.Operation.USER_CACHE, RedisResilienceProperties.WritePolicy.QUEUE, () -> {
+                if (redisEnabled) {
+                    redisTemplate.delete(keys.stream().map(key -> KEY_PREFIX + key).toList());
+                }
+                redisTemplate.convertAndSend(CHANNEL, payload);
+            });
+        } catch (RuntimeException e) {
+            // 재처리 큐도 가득 찬 경우, 다른 노드는 local-ttl 이후 반영 (캐싱된 토큰은 만료 시까지 이전 값)
+            log.warn("User cache invalidation not broadcast - {}", e.getMessage());
+        }
+    }
+
+    // 다른 노드에서 변경된 사용자 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof Map<?, ?> map && map.get("username") instanceof String username && map.get("email") instanceof String email) {
+            String name = username.isEmpty() ? null : username;
+            evictLocal(keysOf(name, email.isEmpty() ? null : email), name);
+        }
+    }
+
+    private Optional<UserEntity> find(String key, Supplier<Optional<UserEntity>> loader) {
+        if (recentlyChanged != null && recentlyChanged.getIfPresent(key) != null) {
+            return loader.get();
+        }
+        CachedUser cached = local.get(key, k -> {
+            CachedUser shared = readShared(k);
+            if (shared != null) {
+                return shared;
+            }
+            CachedUser loaded = loader.get().map(CachedUser::from).orElse(null);
+            if (loaded != null) {
+                writeShared(loaded);
+            }
+            return loaded;
+        });
+        return Optional.ofNullable(cached).map(CachedUser::toEntity);
+    }
+
+    private CachedUser readShared(String key) {
+        if (!redisEnabled) {
+            return null;
+        }
+        return circuitBreaker.read(RedisCircuitBreaker.Operation.USER_CACHE,
+                () -> redisTemplate.opsForValue().get(KEY_PREFIX + key) instanceof Map<?, ?> map ? CachedUser.fromMap(map) : null,
+                () -> null);
+    }
+
+    // 공유 계층 저장은 실패해도 조회 결과에 영향 없음 (다음 조회에서 다시 저장)
+    private void writeShared(CachedUser user) {
+        if (!redisEnabled || circuitBreaker.isOpen()) {
+            return;
+        }
+        try {
+            Map<String, Object> value = user.toMap();
+            for (String key : keysOf(user.username(), user.email())) {
+                redisTemplate.opsForValue().set(KEY_PREFIX + key, value, redisTtl);
+            }
+        } catch (RuntimeException e) {
+            log.debug("User cache shared write skipped - {}", e.getMessage());
+        }
+    }
+
+    private void evictLocal(List<String> keys, String username) {
+        local.invalidateAll(keys);
+        if (recentlyChanged != null) {
+            keys.forEach(key -> recentlyChanged.put(key, Boolean.TRUE));
+        }
+        if (username != null) {
+            userStatusCache.evict(username);
+            verifiedTokenCache.evictUser(username);
+        }
+    }
+
+    private static List<String> keysOf(String username, String email) {
+        if (username == null) {
+            return email == null ? List.of() : List.of(emailKey(email));
+        }
+        return email == null ? List.of(usernameKey(username)) : List.of(usernameKey(username), emailKey(email));
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + normalize(username);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + normalize(email);
+    }
+
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    // Redis 에는 Map 으로 저장 (값 직렬화기가 타입 정보 없는 JSON 이므로)
+    private record CachedUser(Long userId, String username, String password, String email,
+                              UserRole role, UserStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        static CachedUser from(UserEntity user) {
+            return new CachedUser(user.getUserId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                    user.getRole(), user.getStatus(), user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        UserEntity toEntity() {
+            return UserEntity.builder()
+                    .userId(userId)
+                    .username(username)
+                    .password(password)
+                    .email(email)
+                    .role(role)
+                    .status(status)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("userId", userId);
+            map.put("username", username);
+            map.put("password", password);
+            map.put("email", email);
+            map.put("role", role != null ? role.name() : null);
+            map.put("status", status != null ? status.name() : null);
+            map.put("createdAt", createdAt != null ? createdAt.toString() : null);
+            map.put("updatedAt", updatedAt != null ? updatedAt.toString() : null);
+            return map;
+        }
+
+        static CachedUser fromMap(Map<?, ?> map) {
+            return new CachedUser(
+                    map.get("userId") instanceof Number id ? id.longValue() : null,
+                    (String) map.get("username"),
+                    (String) map.get("password"),
+                    (String) map.get("email"),
+                    map.get("role") instanceof String role ? UserRole.valueOf(role) : null,
+                    map.get("status") instanceof String status ? UserStatus.valueOf(status) : null,
+                    map.get("createdAt") instanceof String createdAt ? LocalDateTime.parse(createdAt) : null,
+                    map.get("updatedAt") instanceof String updatedAt ? LocalDateTime.parse(updatedAt) : null
+            );
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.domain.entity.UserEntity;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// UserEntity 변경/삭제 시 UserCache 무효화 (JPA 엔티티 리스너, Hibernate 가 Spring 빈으로 가져옴)
+// 엔티티가 이 클래스를 참조하지 않도록 META-INF/orm.xml 에서 등록
+// 트랜잭션 안이면 커밋 후에 무효화 -> 커밋 전에 다른 요청이 이전 값을 다시 캐싱하는 경우를 막음
+// UserCache 는 EntityManagerFactory 생성 이후에 만들어지므로 지연 조회
+@Component
+public class UserCacheInvalidationListener {
+    private final ObjectProvider<UserCache> userCache;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(UserEntity user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(user);
+                }
+            });
+            return;
+        }
+        invalidate(user);
+    }
+
+    private void invalidate(UserEntity user) {
+        userCache.ifAvailable(cache -> cache.invalidate(user));
+    }
+}
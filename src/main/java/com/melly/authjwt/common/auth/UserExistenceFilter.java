@@ -0,0 +1,294 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.common.util.BloomFilter;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// 가입된 아이디/이메일의 로컬 Bloom filter
+// 로그인/회원가입 시 "확실히 없음" 인 경우 DB 조회를 생략 (존재하지 않는 아이디로 대입하는 공격 트래픽 등)
+// - 기동 시 user_tbl 을 userId 순으로 나누어 읽어 채우고, 가입 시 추가 + Redis stream(UserIdentities)에 기록
+// - 다른 노드의 가입은 마지막으로 읽은 stream ID 이후를 poll-interval 마다 읽어 반영 (연결이 끊겨도 복구 후 이어서 읽으므로 유실 없음)
+// - "확실히 없음" 으로 답하기 전에 stream 을 한 번 더 읽어 방금 다른 노드에서 가입한 사용자도 반영
+//   읽을 수 없으면(Redis 장애, 읽은 위치 이후가 잘림/유실) "있을 수 있음" -> 기존처럼 DB 로 확인
+// - 가입 기록이 재처리 큐에도 들어가지 못하면(큐가 가득 참 등) 버리지 않고 보관했다가 poll 마다 다시 기록
+//   (기록 전까지 Redis 를 읽을 수 있는 다른 노드는 해당 아이디를 없다고 볼 수 있으므로 재구성까지 미루지 않음)
+// - 읽은 위치를 잃으면(재구성 중 Redis 장애, stream 유실) Redis 복구 후 DB 에서 다시 채움, 그 외에도 rebuild-interval 마다 재구성
+// - MySQL 기본 collation 은 대소문자/후행 공백을 구분하지 않으므로, 소문자 + 후행 공백 제거 후 저장/조회
+//   (DB 가 같다고 보는 값은 filter 에서도 항상 "있을 수 있음")
+@Slf4j
+@Component
+public class UserExistenceFilter {
+    private static final String STREAM = "UserIdentities";
+    private static final long STREAM_MAX_LEN = 100_000;
+    private static final String INITIAL_ID = "0-0";
+    private static final int PAGE_SIZE = 1000;
+    private static final int CATCH_UP_BATCH = 1000;
+    // 재구성 시 DB(replica) 에 아직 반영되지 않았을 수 있는 최근 가입은 stream 에서 다시 읽음
+    private static final long REPLAY_MARGIN_MILLIS = 60_000;
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    // 재구성 중에 추가된 값도 새 filter 에 들어가도록 보관
+    private volatile Filters building;
+    // 마지막으로 반영한 stream ID (null 이면 읽은 위치를 모름 -> filter 를 믿지 않음)
+    private final AtomicReference<String> lastId = new AtomicReference<>();
+    // stream 에 기록하지 못한 가입 (poll 에서 다시 기록)
+    private final Queue<Map<String, String>> unpublished = new ConcurrentLinkedQueue<>();
+
+    private enum Sync { CAUGHT_UP, BEHIND, UNAVAILABLE }
+
+    public UserExistenceFilter(UserRepository userRepository,
+                               RedisTemplate<String, Object> redisTemplate,
+                               RedisCircuitBreaker circuitBreaker,
+                               @Value("${spring.user-filter.enabled:true}") boolean enabled,
+                               @Value("${spring.user-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${spring.user-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spring.user-filter.rebuild-interval:PT10M}",
+            initialDelayString = "${spring.user-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Filters filters = new Filters(new BloomFilter(expectedInsertions, falsePositiveRate),
+                new BloomFilter(expectedInsertions, falsePositiveRate));
+        building = filters;
+        try {
+            // DB 를 읽기 전에 이어서 읽을 stream 위치를 정함 (그 이후의 가입은 stream 에서 반영)
+            String position = replayPosition();
+            long count = 0;
+            Long lastUserId = 0L;
+            List<UserRepository.UserIdentity> page;
+            do {
+                page = userRepository.findIdentitiesAfter(lastUserId, PageRequest.ofSize(PAGE_SIZE));
+                for (UserRepository.UserIdentity identity : page) {
+                    filters.put(identity.getUsername(), identity.getEmail());
+                    lastUserId = identity.getUserId();
+                }
+                count += page.size();
+            } while (page.size() == PAGE_SIZE);
+
+            current = filters;
+            // 위치를 정하지 못했으면 이전 위치에서 계속 읽음 (처음이면 Redis 복구 후 다시 재구성)
+            if (position != null) {
+                lastId.set(position);
+            }
+            log.info("User existence filter rebuilt - {} users", count);
+        } catch (RuntimeException e) {
+            // 이전 filter 를 계속 사용 (처음이면 모든 조회를 DB 로 확인)
+            log.warn("User existence filter rebuild failed - {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // 다른 노드의 가입을 stream 에서 이어서 반영
+    @Scheduled(fixedDelayString = "${spring.user-filter.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        republish();
+        if (current == null) {
+            return;
+        }
+        if (lastId.get() == null) {
+            if (replayPosition() != null) {
+                rebuild();
+            }
+            return;
+        }
+        Sync sync;
+        do {
+            sync = catchUp();
+        } while (sync == Sync.BEHIND);
+    }
+
+    // false 면 해당 아이디의 사용자는 확실히 없음
+    public boolean mightContainUsername(String username) {
+        return username == null || mightContain(Filters::usernames, normalize(username));
+    }
+
+    // false 면 해당 이메일의 사용자는 확실히 없음
+    public boolean mightContainEmail(String email) {
+        return email == null || mightContain(Filters::emails, normalize(email));
+    }
+
+    private boolean mightContain(Function<Filters, BloomFilter> filter, String value) {
+        Filters filters = current;
+        if (!enabled || filters == null || filter.apply(filters).mightContain(value)) {
+            return true;
+        }
+        // 없다고 답하기 전에 아직 읽지 않은 가입(방금 다른 노드에서 가입 등)을 반영, 끝까지 읽지 못하면 DB 로 확인
+        return catchUp() != Sync.CAUGHT_UP || filter.apply(current).mightContain(value);
+    }
+
+    // 가입 직후 호출 (다른 노드에도 전파)
+    public void add(UserEntity user) {
+        if (!enabled) {
+            return;
+        }
+        put(user.getUsername(), user.getEmail());
+        Map<String, String> identity = Map.of(
+                "username", user.getUsername() != null ? user.getUsername() : "",
+                "email", user.getEmail() != null ? user.getEmail() : ""
+        );
+        try {
+            publish(identity);
+        } catch (RuntimeException e) {
+            // 이미 DB 에 커밋된 가입이므로 버리지 않고 다음 poll 에서 다시 기록
+            unpublished.add(identity);
+            log.warn("User existence filter publish failed, retrying on next poll - {}", e.getMessage());
+        }
+    }
+
+    // Redis 장애 중에는 재처리 큐에 보관했다가 복구 시 기록
+    private void publish(Map<String, String> identity) {
+        circuitBreaker.write(RedisCircuitBreaker.Operation.USER_FILTER, RedisResilienceProperties.WritePolicy.QUEUE,
+                () -> redisTemplate.opsForStream().add(STREAM, identity,
+                        RedisStreamCommands.XAddOptions.maxlen(STREAM_MAX_LEN).approximateTrimming(true)));
+    }
+
+    // 기록하지 못한 가입을 순서대로 다시 기록, 실패하면 남은 것은 다음 poll 에서
+    private void republish() {
+        Map<String, String> identity;
+        while ((identity = unpublished.peek()) != null) {
+            try {
+                publish(identity);
+            } catch (RuntimeException e) {
+                log.debug("User existence filter republish failed - {}", e.getMessage());
+                return;
+            }
+            unpublished.poll();
+        }
+    }
+
+    // lastId 이후의 stream 항목을 filter 에 반영
+    // 읽은 위치의 항목이 없으면(MAXLEN 으로 잘림, Redis 데이터 유실) 그 사이의 가입을 알 수 없으므로 위치를 버리고 재구성 대기
+    private Sync catchUp() {
+        String from = lastId.get();
+        if (from == null) {
+            return Sync.UNAVAILABLE;
+        }
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = circuitBreaker.read(RedisCircuitBreaker.Operation.USER_FILTER,
+                    () -> redisTemplate.<Object, Object>opsForStream().range(STREAM,
+                            Range.rightUnbounded(Range.Bound.inclusive(from)), Limit.limit().count(CATCH_UP_BATCH + 1)),
+                    () -> null);
+        } catch (DataAccessException e) {
+            log.debug("User existence filter catch-up failed - {}", e.getMessage());
+            return Sync.UNAVAILABLE;
+        }
+        if (records == null) {
+            return Sync.UNAVAILABLE;
+        }
+
+        int start = 0;
+        if (!INITIAL_ID.equals(from)) {
+            if (records.isEmpty() || !from.equals(records.get(0).getId().getValue())) {
+                if (lastId.compareAndSet(from, null)) {
+                    log.warn("User existence stream no longer contains {}, rebuilding from the database", from);
+                }
+                return Sync.UNAVAILABLE;
+            }
+            start = 1;
+        }
+        for (int i = start; i < records.size(); i++) {
+            Map<Object, Object> value = records.get(i).getValue();
+            put(value.get("username") instanceof String username && !username.isEmpty() ? username : null,
+                    value.get("email") instanceof String email && !email.isEmpty() ? email : null);
+        }
+        if (records.size() > start) {
+            lastId.compareAndSet(from, records.get(records.size() - 1).getId().getValue());
+        }
+        return records.size() - start < CATCH_UP_BATCH ? Sync.CAUGHT_UP : Sync.BEHIND;
+    }
+
+    // REPLAY_MARGIN_MILLIS 이전의 마지막 stream 항목 ID (없으면 처음부터), Redis 를 사용할 수 없으면 null
+    private String replayPosition() {
+        String until = String.valueOf(System.currentTimeMillis() - REPLAY_MARGIN_MILLIS);
+        try {
+            List<MapRecord<String, Object, Object>> records = circuitBreaker.read(RedisCircuitBreaker.Operation.USER_FILTER,
+                    () -> redisTemplate.<Object, Object>opsForStream().reverseRange(STREAM,
+                            Range.leftUnbounded(Range.Bound.inclusive(until)), Limit.limit().count(1)),
+                    () -> null);
+            if (records == null) {
+                return null;
+            }
+            return records.isEmpty() ? INITIAL_ID : records.get(0).getId().getValue();
+        } catch (DataAccessException e) {
+            log.debug("User existence stream position unavailable - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void put(String username, String email) {
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(username, email);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void put(String username, String email) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.melly.authjwt.common.auth;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.domain.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 사용자 계정 상태(ACTIVE/INACTIVE/DELETED)를 짧은 TTL 동안 보관하는 로컬 캐시
+// claims-only 모드에서 요청마다 DB 를 조회하지 않고도 비활성/탈퇴 계정을 TTL 이내에 차단하기 위해 사용
+@Component
+public class UserStatusCache {
+    private final LoadingCache<String, Optional<UserStatus>> cache;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${spring.jwt.claims-principal.status-ttl-seconds:30}") long ttlSeconds,
+                           @Value("${spring.jwt.claims-principal.status-maximum-size:10000}") long maximumSize,
+                           MeterRegistry meterRegistry) {
+        // 존재하지 않는 사용자(Optional.empty)도 TTL 동안 캐싱하여 반복 조회를 막음
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(userRepository::findStatusByUsername);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.status");
+    }
+
+    public Optional<UserStatus> get(String username) {
+        return cache.get(username);
+    }
+
+    // 캐시에 있으면 get 이 DB 조회 없이 반환됨 (reactive 필터에서 블로킹 여부 판단용)
+    public boolean contains(String username) {
+        return cache.getIfPresent(username) != null;
+    }
+
+    // 상태 변경 등 무효화 신호를 받았을 때 즉시 제거
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,140 @@
+package com.melly.authjwt.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 트랜잭션의 커넥션을 replica 중 하나로 보내는 DataSource (LazyConnectionDataSourceProxy 의 readOnlyDataSource)
+// - 쓰기/읽기-쓰기 트랜잭션은 이 DataSource 를 거치지 않고 primary 풀로 감 (DataSourceRoutingConfig)
+// - 라우팅 대상은 주기적으로 복제 지연을 확인해 max-lag 이하인 replica 만, 여러 개면 순서대로 돌아가며 사용
+// - 확인 전(기동 직후)이거나 모든 replica 가 지연/중단/연결 실패면 primary 로 조회 -> replica 장애가 로그인 실패로 이어지지 않음
+// - 지연은 SHOW REPLICA STATUS 의 Seconds_Behind_Source (8.0.22 이전 MySQL 은 SHOW SLAVE STATUS), 조회 계정에 REPLICATION CLIENT 권한 필요
+//   복제 상태가 없는 서버(복제를 직접 구성하지 않는 관리형 reader 엔드포인트 등)는 지연 0 으로 간주
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> available = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        initialize();
+
+        routeCounters.put(PRIMARY, routeCounter(meterRegistry, PRIMARY));
+        for (String name : this.replicas.keySet()) {
+            routeCounters.put(name, routeCounter(meterRegistry, name));
+            lagSeconds.put(name, Double.NaN);
+            Gauge.builder("db.replica.lag", lagSeconds, lags -> lags.getOrDefault(name, Double.NaN))
+                    .description("Replication lag of the replica in seconds (NaN when unknown or replication stopped)")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", this, dataSource -> dataSource.available.contains(name) ? 1 : 0)
+                    .description("1 while the replica receives read-only lookups")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("db.read.route")
+                .description("Read-only connections by the data source they were routed to")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidates = available;
+        String route = candidates.isEmpty()
+                ? PRIMARY
+                : candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+        routeCounters.get(route).increment();
+        return route;
+    }
+
+    // 복제 지연 확인 (lag-check-interval 마다), 결과는 다음 확인까지 라우팅 대상에 반영
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            double lag;
+            try {
+                lag = replicationLag(replica.getValue());
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Replica {} lag check failed - {}", name, e.getMessage());
+                lag = Double.NaN;
+            }
+            lagSeconds.put(name, lag);
+            // NaN(복제 중단/확인 실패)은 비교 결과가 false 이므로 제외됨
+            if (lag * 1000 <= maxLag.toMillis()) {
+                healthy.add(name);
+            }
+        }
+
+        List<String> previous = available;
+        available = List.copyOf(healthy);
+        if (!previous.equals(available)) {
+            log.info("Read-only lookups now routed to {}", available.isEmpty() ? List.of(PRIMARY) : available);
+        }
+    }
+
+    // 복제 지연(초), 복제가 중단되어 지연을 알 수 없으면 NaN
+    static double replicationLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try {
+                return replicationLag(statement, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                return replicationLag(statement, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static double replicationLag(Statement statement, String query, String column) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+            long seconds = resultSet.getLong(column);
+            return resultSet.wasNull() ? Double.NaN : seconds;
+        }
+    }
+
+    // replica 풀만 닫음 (primary 풀은 별도 빈으로 컨테이너가 닫음)
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ public enum ErrorType {
     USER_INACTIVE("user_inactive", "비활성화된 계정입니다.", HttpStatus.UNAUTHORIZED),
     USER_NOT_FOUND("user_not_found", "해당 정보로 등록된 사용자가 없습니다.", HttpStatus.NOT_FOUND),
     USER_DELETED("user_deleted", "탈퇴된 계정입니다.", HttpStatus.UNAUTHORIZED),
+    TOO_MANY_LOGIN_ATTEMPTS("too_many_login_attempts", "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    PASSWORD_HASHING_BUSY("password_hashing_busy", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE),
 
     // JWT / Token
     ACCESS_TOKEN_NOT_FOUND("access_token_not_found", "Access Token 이 요청에 존재하지 않습니다.", HttpStatus.BAD_REQUEST),
@@ -35,11 +37,17 @@ public enum ErrorType {
     EXPIRED_REFRESH_TOKEN("expired_refresh_token", "만료된 Refresh Token 입니다.", HttpStatus.UNAUTHORIZED),
 
     REFRESH_TOKEN_NOT_FOUND_IN_REDIS("refresh_token_not_found_in_redis", "Refresh Token 이 Redis에 존재하지 않습니다.", HttpStatus.NOT_FOUND),
+    REFRESH_TOKEN_REUSED("refresh_token_reused", "이미 재발급에 사용된 Refresh Token 입니다. 보안을 위해 해당 로그인 세션이 만료되었습니다.", HttpStatus.UNAUTHORIZED),
     TOKEN_BLACKLISTED("token_blacklisted","해당 토큰은 BlackList 토큰입니다.", HttpStatus.BAD_REQUEST),
 
+    // 서명 키 로테이션
+    KEY_RING_DISABLED("key_ring_disabled", "서명 키 로테이션이 비활성화되어 있습니다.", HttpStatus.CONFLICT),
+    KEY_ROTATION_IN_PROGRESS("key_rotation_in_progress", "다른 서버에서 서명 키 로테이션이 진행 중입니다.", HttpStatus.CONFLICT),
+
     // Redis 관련 에러
     REDIS_CONNECTION_ERROR("redis_connection_error","Redis 연결 실패", HttpStatus.INTERNAL_SERVER_ERROR),   // 연결 실패
-    REDIS_COMMAND_ERROR("redis_command_error","Redis 명령 실행 실패", HttpStatus.INTERNAL_SERVER_ERROR); // 명령/접속 문제
+    REDIS_COMMAND_ERROR("redis_command_error","Redis 명령 실행 실패", HttpStatus.INTERNAL_SERVER_ERROR), // 명령/접속 문제
+    REDIS_UNAVAILABLE("redis_unavailable", "일시적으로 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", HttpStatus.SERVICE_UNAVAILABLE); // 차단기 open
 
 
     private final String errorCode;      // errorCode
@@ -6,9 +6,15 @@ import lombok.Getter;
 @Getter
 public class CustomException extends RuntimeException {
     private final ErrorType errorType;
+    private final long retryAfterSeconds;     // 0 이면 Retry-After 헤더 없음 (503 은 기본값 사용)
 
     public CustomException(ErrorType errorType) {
+        this(errorType, 0);
+    }
+
+    public CustomException(ErrorType errorType, long retryAfterSeconds) {
         super(errorType.getMessage());
         this.errorType = errorType;
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
@@ -3,7 +3,12 @@ package com.melly.authjwt.common.exception;
 import com.melly.authjwt.common.controller.ResponseController;
 import com.melly.authjwt.common.dto.ResponseDto;
 import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.metrics.AuthMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,24 +16,47 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler implements ResponseController {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AuthMetrics authMetrics;
+
     // 커스텀 비즈니스 예외 처리
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<ResponseDto<Void>> handleCustomException(CustomException e) {
         ErrorType errorType = e.getErrorType();
         log.error("비즈니스 로직 예외 발생 - Code: {}, Message: {}", errorType.getErrorCode(), errorType.getMessage());
+        authMetrics.recordError(errorType);
 
-        return makeResponseEntity(
+        ResponseEntity<ResponseDto<Void>> response = makeResponseEntity(
                 errorType.getStatus(),
                 errorType.getErrorCode(),
                 errorType.getMessage(),
                 null
         );
+
+        // 일시적 과부하(503)/시도 제한(429)은 클라이언트가 바로 재시도하지 않도록 Retry-After 안내
+        if (e.getRetryAfterSeconds() > 0 || errorType.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+            String retryAfter = e.getRetryAfterSeconds() > 0 ? String.valueOf(e.getRetryAfterSeconds()) : RETRY_AFTER_SECONDS;
+            return ResponseEntity.status(response.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                    .body(response.getBody());
+        }
+        return response;
+    }
+
+    // 처리되지 않은 Redis 연결 실패/명령 타임아웃 (spring.data.redis.timeout 초과)
+    @ExceptionHandler({RedisConnectionFailureException.class, QueryTimeoutException.class})
+    public ResponseEntity<ResponseDto<Void>> handleRedisUnavailable(RuntimeException e) {
+        log.warn("Redis 사용 불가 - Message: {}", e.getMessage());
+        return handleCustomException(new CustomException(ErrorType.REDIS_CONNECTION_ERROR));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDto<Void>> handleException(Exception e) {
         log.error("서버 내부 예외 발생 - Message: {}", e.getMessage());
+        authMetrics.recordError(ErrorType.INTERNAL_ERROR);
         return makeResponseEntity(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 ErrorType.INTERNAL_ERROR.getErrorCode(),
@@ -4,24 +4,23 @@ import com.p6spy.engine.logging.Category;
 import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
 
-import java.text.MessageFormat;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.Stack;
-import java.util.function.Predicate;
-
-import static java.util.Arrays.stream;
 
+// 개발용 전체 SQL 포맷팅 로그 (local 프로필에서만 p6spy 로깅이 켜짐, 운영 지표는 SqlTelemetryListener)
 public class CustomP6SpyFormatter implements MessageFormattingStrategy {
     private static final String NEW_LINE = System.lineSeparator();
-    private static final String P6SPY_FORMATTER = "P6spyPrettySqlFormatter";
-    private static final String PACKAGE = "io.p6spy";
+    private static final int MAX_CALL_STACK = 10;
     private static final String CREATE = "create";
     private static final String ALTER = "alter";
     private static final String COMMENT = "comment";
 
     @Override
     public String formatMessage(int connectionId, String now, long elapsed, String category, String prepared, String sql, String url) {
+        if (sql == null || sql.isBlank()) {
+            return "";
+        }
         return sqlFormatToUpper(sql, category, getMessage(connectionId, elapsed, getStackBuilder()));
     }
 
@@ -79,22 +78,14 @@ public class CustomP6SpyFormatter implements MessageFormattingStrategy {
                 .toString();
     }
 
+    // 애플리케이션 패키지 프레임만 바깥쪽(진입점)부터 번호를 매겨 표시
     private StringBuilder getStackBuilder() {
-        Stack<String> callStack = new Stack<>();
-        stream(new Throwable().getStackTrace())
-                .map(StackTraceElement::toString)
-                .filter(isExcludeWords())
-                .forEach(callStack::push);
+        List<String> callers = SqlCallStack.callers(MAX_CALL_STACK);
 
-        int order = 1;
         StringBuilder callStackBuilder = new StringBuilder();
-        while (!callStack.empty()) {
-            callStackBuilder.append(MessageFormat.format("{0}\t\t{1}. {2}", NEW_LINE, order++, callStack.pop()));
+        for (int i = callers.size() - 1, order = 1; i >= 0; i--, order++) {
+            callStackBuilder.append(NEW_LINE).append("\t\t").append(order).append(". ").append(callers.get(i));
         }
         return callStackBuilder;
     }
-
-    private Predicate<String> isExcludeWords() {
-        return charSequence -> charSequence.startsWith(PACKAGE) && !charSequence.contains(P6SPY_FORMATTER);
-    }
 }
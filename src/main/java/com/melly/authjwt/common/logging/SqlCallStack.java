@@ -0,0 +1,24 @@
+package com.melly.authjwt.common.logging;
+
+import java.util.List;
+
+// SQL 을 실행한 애플리케이션 코드 위치 (com.melly.authjwt 패키지 프레임만, 로깅 패키지 제외)
+// StackWalker 는 필요한 프레임까지만 lazy 하게 순회하므로 Throwable.getStackTrace() 처럼 전체 스택을 만들지 않음
+final class SqlCallStack {
+    private static final String APP_PACKAGE = "com.melly.authjwt.";
+    private static final String LOGGING_PACKAGE = "com.melly.authjwt.common.logging.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private SqlCallStack() {
+    }
+
+    // 가장 가까운 호출 위치부터 최대 maxFrames 개
+    static List<String> callers(int maxFrames) {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(LOGGING_PACKAGE))
+                .limit(maxFrames)
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .toList());
+    }
+}
@@ -0,0 +1,154 @@
+package com.melly.authjwt.common.logging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 운영용 SQL 지표 (p6spy JdbcEventListener, 데이터소스 데코레이터가 빈으로 등록된 리스너를 자동 사용)
+// - db.query{operation, table, shape} : 쿼리 형태별 실행 시간 histogram
+//   shape 는 리터럴/IN 목록을 ? 로 바꾼 SQL 의 해시, 처음 본 형태는 INFO 로 한 번 SQL 과 함께 기록
+//   형태 수가 max-shapes 를 넘으면 shape=other 로 묶어 cardinality 제한
+// - 느린 쿼리(slow-threshold 이상), 실패한 쿼리, sample-rate 비율의 일반 쿼리만 호출 위치(StackWalker)와 함께 로그
+//   바인딩 값은 로그에 남기지 않음 (비밀번호 해시 등)
+// 원본 SQL -> 지표 매핑은 캐시하므로 일반 쿼리는 캐시 조회 + Timer 기록만 수행
+// 전체 SQL 포맷팅 로그(CustomP6SpyFormatter)는 local 프로필에서만 사용
+@Slf4j
+@Component
+public class SqlTelemetryListener extends SimpleJdbcEventListener {
+    static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+`?([a-z0-9_.]+)");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxShapes;
+    private final int stackDepth;
+
+    private final Cache<String, QueryShape> shapesBySql;
+    private final Map<String, QueryShape> shapes = new ConcurrentHashMap<>();
+    private final QueryShape otherShape;
+
+    public SqlTelemetryListener(MeterRegistry meterRegistry,
+                                @Value("${spring.sql-telemetry.enabled:true}") boolean enabled,
+                                @Value("${spring.sql-telemetry.slow-threshold:PT0.2S}") Duration slowThreshold,
+                                @Value("${spring.sql-telemetry.sample-rate:0.0}") double sampleRate,
+                                @Value("${spring.sql-telemetry.max-shapes:200}") int maxShapes,
+                                @Value("${spring.sql-telemetry.stack-depth:5}") int stackDepth) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxShapes = maxShapes;
+        this.stackDepth = stackDepth;
+        // 같은 형태라도 리터럴이 다른 SQL 은 원본이 달라지므로 형태 수보다 넉넉하게 보관
+        this.shapesBySql = Caffeine.newBuilder()
+                .maximumSize(maxShapes * 10L)
+                .build();
+        this.otherShape = new QueryShape(OTHER, OTHER, OTHER, null, timer(OTHER, OTHER, OTHER));
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (!enabled) {
+            return;
+        }
+        String sql = statementInformation.getSql();
+        if (sql == null || sql.isBlank()) {
+            return;
+        }
+        QueryShape shape = shapesBySql.get(sql, this::resolveShape);
+        shape.timer().record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (e != null) {
+            log.warn("SQL failed after {} ms [{}] {} - at {} - {}", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                    shape.id(), describe(shape, sql), SqlCallStack.callers(stackDepth), e.getMessage());
+        } else if (timeElapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow SQL {} ms [{}] {} - at {}", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                    shape.id(), describe(shape, sql), SqlCallStack.callers(stackDepth));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL {} ms [{}] - at {}", TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+                    shape.id(), SqlCallStack.callers(stackDepth));
+        }
+    }
+
+    private QueryShape resolveShape(String sql) {
+        String normalized = normalize(sql);
+        QueryShape existing = shapes.get(normalized);
+        if (existing != null) {
+            return existing;
+        }
+        if (shapes.size() >= maxShapes) {
+            return otherShape;
+        }
+        return shapes.computeIfAbsent(normalized, key -> {
+            String id = Integer.toHexString(key.hashCode());
+            String operation = operation(key);
+            String table = table(key);
+            log.info("New SQL shape [{}] {}", id, key);
+            return new QueryShape(id, operation, table, key, timer(operation, table, id));
+        });
+    }
+
+    // shape=other 로 묶인 쿼리는 로그에만 형태를 다시 계산해서 남김 (느린/실패 쿼리에서만 호출)
+    private static String describe(QueryShape shape, String sql) {
+        return shape.normalizedSql() != null ? shape.normalizedSql() : normalize(sql);
+    }
+
+    private Timer timer(String operation, String table, String shape) {
+        return Timer.builder("db.query")
+                .description("JDBC statement latency by query shape")
+                .tag("operation", operation)
+                .tag("table", table)
+                .tag("shape", shape)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 리터럴, IN 목록 길이, 공백/대소문자 차이를 제거한 쿼리 형태
+    static String normalize(String sql) {
+        String normalized = sql.toLowerCase(Locale.ROOT);
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    static String operation(String normalizedSql) {
+        int end = normalizedSql.indexOf(' ');
+        String keyword = end < 0 ? normalizedSql : normalizedSql.substring(0, end);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> OTHER;
+        };
+    }
+
+    static String table(String normalizedSql) {
+        Matcher matcher = TABLE.matcher(normalizedSql);
+        return matcher.find() ? matcher.group(1) : OTHER;
+    }
+
+    private record QueryShape(String id, String operation, String table, String normalizedSql, Timer timer) {
+    }
+}
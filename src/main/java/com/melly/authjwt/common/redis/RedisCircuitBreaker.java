@@ -0,0 +1,178 @@
+package com.melly.authjwt.common.redis;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 블랙리스트/Refresh Token 저장소의 Redis 호출 차단기
+// - 연속 실패(연결 실패/명령 타임아웃 등 DataAccessException)가 failure-threshold 에 도달하면 차단(open)
+// - 차단 중에는 Redis 를 호출하지 않고 즉시 대체 동작 -> 장애 중에도 요청이 명령 타임아웃만큼 쌓이지 않음
+//   조회 : 호출하는 쪽이 넘긴 대체 값 (블랙리스트는 로컬 Bloom filter/확인 캐시)
+//   쓰기 : 정책에 따라 재처리 큐에 보관(queue) 또는 REDIS_UNAVAILABLE(503)
+//   대체 불가(로테이션/세션 조회) : REDIS_UNAVAILABLE(503)
+// - 차단 후 open-duration 이 지나면 스케줄러가 PING 으로 복구를 확인하고, 성공하면 차단 해제 후 쌓인 쓰기를 순서대로 재실행
+//   재처리되는 명령(SET/DEL/HDEL 스크립트)은 여러 번 실행되어도 결과가 같으므로, 타임아웃으로 실제 반영 여부를 모르는 경우에도 안전
+// - 재처리 큐가 비기 전까지는 새 쓰기도 큐 뒤에 넣어 순서를 유지 (저장 -> 삭제가 뒤바뀌어 삭제된 토큰이 되살아나지 않도록)
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+    public enum Operation { BLACKLIST_LOOKUP, BLACKLIST_WRITE, REFRESH_WRITE, REFRESH_ROTATE, SESSIONS, USER_CACHE, USER_FILTER }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisResilienceProperties properties;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean open = new AtomicBoolean(false);
+    private volatile long openedAt = 0;
+    private final BlockingDeque<Runnable> replayQueue;
+    private final Map<Operation, Counter> fallbackCounters = new EnumMap<>(Operation.class);
+
+    public RedisCircuitBreaker(RedisTemplate<String, Object> redisTemplate,
+                               RedisResilienceProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.replayQueue = new LinkedBlockingDeque<>(properties.replayQueueSize());
+
+        Gauge.builder("redis.breaker.open", open, state -> state.get() ? 1 : 0)
+                .description("1 while Redis calls are short-circuited")
+                .register(meterRegistry);
+        Gauge.builder("redis.breaker.replay.pending", replayQueue, Collection::size)
+                .description("Queued Redis writes waiting for replay")
+                .register(meterRegistry);
+        for (Operation operation : Operation.values()) {
+            fallbackCounters.put(operation, Counter.builder("redis.breaker.fallbacks")
+                    .description("Redis calls served by a fallback while Redis was unavailable")
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public RedisResilienceProperties properties() {
+        return properties;
+    }
+
+    public boolean isOpen() {
+        return properties.enabled() && open.get();
+    }
+
+    // 대체 값이 있는 조회
+    public <T> T read(Operation operation, Supplier<T> command, Supplier<T> fallback) {
+        if (!properties.enabled()) {
+            return command.get();
+        }
+        if (!open.get()) {
+            try {
+                T result = command.get();
+                recordSuccess();
+                return result;
+            } catch (DataAccessException e) {
+                recordFailure(e);
+            }
+        }
+        fallbackCounters.get(operation).increment();
+        return fallback.get();
+    }
+
+    // 대체 동작이 없는 명령, 차단 중이거나 실패하면 REDIS_UNAVAILABLE
+    public <T> T call(Operation operation, Supplier<T> command) {
+        return read(operation, command, () -> {
+            throw new CustomException(ErrorType.REDIS_UNAVAILABLE);
+        });
+    }
+
+    // 쓰기, 차단 중이거나 실패하면 정책에 따라 재처리 큐에 보관 (큐가 가득 차면 REDIS_UNAVAILABLE)
+    // command 는 재실행 시점에 TTL 등을 다시 계산하도록 작성
+    public void write(Operation operation, RedisResilienceProperties.WritePolicy policy, Runnable command) {
+        if (!properties.enabled()) {
+            command.run();
+            return;
+        }
+        if (!open.get() && replayQueue.isEmpty()) {
+            try {
+                command.run();
+                recordSuccess();
+                return;
+            } catch (DataAccessException e) {
+                recordFailure(e);
+            }
+        }
+        fallbackCounters.get(operation).increment();
+        if (policy == RedisResilienceProperties.WritePolicy.FAIL_CLOSED || !replayQueue.offerLast(command)) {
+            throw new CustomException(ErrorType.REDIS_UNAVAILABLE);
+        }
+    }
+
+    // 차단기를 거치지 않은 호출(reactive 명령)의 결과 반영
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void recordFailure(RuntimeException e) {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (failures >= properties.failureThreshold() && open.compareAndSet(false, true)) {
+            openedAt = System.currentTimeMillis();
+            log.warn("Redis circuit opened after {} consecutive failures - {}", failures, e.getMessage());
+        }
+    }
+
+    // 차단 중이면 복구 확인, 복구되었거나 차단되지 않은 상태면 쌓인 쓰기 재실행
+    @Scheduled(fixedDelayString = "${spring.redis-resilience.probe-interval:PT1S}")
+    public void probe() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (open.get()) {
+            if (System.currentTimeMillis() - openedAt < properties.openDuration().toMillis()) {
+                return;
+            }
+            try {
+                redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            } catch (DataAccessException e) {
+                openedAt = System.currentTimeMillis();
+                log.debug("Redis still unavailable - {}", e.getMessage());
+                return;
+            }
+            consecutiveFailures.set(0);
+            open.set(false);
+            log.info("Redis circuit closed, replaying {} queued writes", replayQueue.size());
+        }
+        replay();
+    }
+
+    // 스케줄러 스레드 하나에서만 실행되므로 peek -> 실행 -> poll 순서로 처리 (실패한 명령은 큐 앞에 남음)
+    private void replay() {
+        Runnable command;
+        while ((command = replayQueue.peekFirst()) != null) {
+            try {
+                command.run();
+            } catch (DataAccessException e) {
+                recordFailure(e);
+                log.warn("Replay of queued Redis writes paused - {}", e.getMessage());
+                return;
+            }
+            replayQueue.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.melly.authjwt.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// 만료 시각이 있는 항목을 위한 시간 분할 Bloom filter
+// 항목의 만료 시각(expiresAt)이 속한 구간(slice)마다 Bloom filter 를 하나씩 두고,
+// 구간 안의 모든 항목이 만료되면 해당 slice 를 통째로 버림 (Bloom filter 는 개별 삭제가 불가능하기 때문)
+// 조회 시에도 expiresAt 으로 slice 를 바로 찾으므로 filter 하나만 확인
+// 만료 시각을 범위로만 알 수 있는 항목은 범위에 걸친 slice 모두에 등록 (어느 만료 시각으로 조회해도 걸리도록)
+public class ExpiringBloomFilter {
+    private final ConcurrentNavigableMap<Long, BloomFilter> slices = new ConcurrentSkipListMap<>();
+    private final long sliceMillis;
+    private final long expectedInsertionsPerSlice;
+    private final double fpp;
+
+    public ExpiringBloomFilter(long sliceMillis, long expectedInsertionsPerSlice, double fpp) {
+        this.sliceMillis = sliceMillis;
+        this.expectedInsertionsPerSlice = expectedInsertionsPerSlice;
+        this.fpp = fpp;
+    }
+
+    public void put(String value, long expiresAt, long now) {
+        if (expiresAt <= now) {
+            return;
+        }
+        slices.computeIfAbsent(expiresAt / sliceMillis, k -> new BloomFilter(expectedInsertionsPerSlice, fpp))
+                .put(value);
+        purgeExpired(now);
+    }
+
+    // 만료 시각이 earliestExpiresAt ~ latestExpiresAt 중 하나인 항목
+    public void put(String value, long earliestExpiresAt, long latestExpiresAt, long now) {
+        for (long expiresAt : sliceExpiries(earliestExpiresAt, latestExpiresAt, now)) {
+            put(value, expiresAt, now);
+        }
+    }
+
+    // 범위에 걸친 (아직 지나지 않은) slice 마다 범위 안의 가장 늦은 만료 시각 하나씩
+    // 각 값을 put(value, expiresAt, now) 로 등록하면 범위 등록과 같음 (다른 노드로 전파할 때 사용)
+    public List<Long> sliceExpiries(long earliestExpiresAt, long latestExpiresAt, long now) {
+        List<Long> expiries = new ArrayList<>();
+        for (long slice = Math.max(earliestExpiresAt, now) / sliceMillis; slice <= latestExpiresAt / sliceMillis; slice++) {
+            long expiresAt = Math.min(latestExpiresAt, (slice + 1) * sliceMillis - 1);
+            if (expiresAt > now) {
+                expiries.add(expiresAt);
+            }
+        }
+        return expiries;
+    }
+
+    public boolean mightContain(String value, long expiresAt) {
+        BloomFilter slice = slices.get(expiresAt / sliceMillis);
+        return slice != null && slice.mightContain(value);
+    }
+
+    // 구간 끝이 현재 시각 이전인 slice 제거
+    public void purgeExpired(long now) {
+        slices.headMap(now / sliceMillis).clear();
+    }
+
+    public int sliceCount() {
+        return slices.size();
+    }
+}
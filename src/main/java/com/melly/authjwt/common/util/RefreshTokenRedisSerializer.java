@@ -0,0 +1,186 @@
+package com.melly.authjwt.common.util;
+
+import com.melly.authjwt.dto.response.RefreshTokenDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.UUID;
+
+// RefreshTokenDto 전용 고정 레이아웃 바이너리 직렬화, 그 외 값은 JSON 직렬화기에 위임
+// [magic 1][version 1][flags 1][tokenId 16 또는 가변][issuedAt 8][expiresAt 8][username 가변][role 가변]
+// - 가변 문자열: 2바이트 길이 + UTF-8 (null 은 길이 -1)
+// - tokenId 가 UUID 형식이면 16바이트로 저장 (flags bit0)
+// - 날짜는 epoch millis 로 저장하여 문자열 포맷/파싱 비용 제거
+// 첫 바이트가 magic 이 아니면 이전 JSON 값으로 보고 위임 직렬화기로 읽음 (JSON 은 0xA7 로 시작할 수 없음)
+public class RefreshTokenRedisSerializer implements RedisSerializer<Object> {
+    private static final byte MAGIC = (byte) 0xA7;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_UUID_TOKEN_ID = 0x01;
+
+    // 이전 JSON 값의 날짜 형식 (RefreshTokenDto 의 @JsonFormat)
+    private static final DateTimeFormatter LEGACY_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final RedisSerializer<Object> delegate;
+    private final ZoneId zoneId;
+
+    public RefreshTokenRedisSerializer(RedisSerializer<Object> delegate) {
+        this(delegate, ZoneId.systemDefault());
+    }
+
+    RefreshTokenRedisSerializer(RedisSerializer<Object> delegate, ZoneId zoneId) {
+        this.delegate = delegate;
+        this.zoneId = zoneId;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof RefreshTokenDto dto) {
+            return encode(dto);
+        }
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == MAGIC) {
+            return decode(bytes);
+        }
+
+        // 이전 JSON 값: Refresh Token 형태의 Map 이면 DTO 로 변환
+        Object value = delegate.deserialize(bytes);
+        if (value instanceof Map<?, ?> map && map.containsKey("tokenId") && map.containsKey("getUsername")) {
+            return fromLegacyMap(map);
+        }
+        return value;
+    }
+
+    private byte[] encode(RefreshTokenDto dto) {
+        UUID uuid = parseUuid(dto.getTokenId());
+        byte[] tokenId = uuid == null ? utf8(dto.getTokenId()) : null;
+        byte[] username = utf8(dto.getGetUsername());
+        byte[] role = utf8(dto.getRole());
+
+        int size = 3
+                + (uuid != null ? 16 : stringSize(tokenId))
+                + 16
+                + stringSize(username)
+                + stringSize(role);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC).put(VERSION).put(uuid != null ? FLAG_UUID_TOKEN_ID : 0);
+        if (uuid != null) {
+            buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        } else {
+            putString(buffer, tokenId);
+        }
+        buffer.putLong(toEpochMillis(dto.getIssuedAt()));
+        buffer.putLong(toEpochMillis(dto.getExpiresAt()));
+        putString(buffer, username);
+        putString(buffer, role);
+        return buffer.array();
+    }
+
+    private RefreshTokenDto decode(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            buffer.get();   // magic
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported refresh token codec version: " + version);
+            }
+            byte flags = buffer.get();
+
+            String tokenId = (flags & FLAG_UUID_TOKEN_ID) != 0
+                    ? new UUID(buffer.getLong(), buffer.getLong()).toString()
+                    : getString(buffer);
+            LocalDateTime issuedAt = fromEpochMillis(buffer.getLong());
+            LocalDateTime expiresAt = fromEpochMillis(buffer.getLong());
+            String username = getString(buffer);
+            String role = getString(buffer);
+
+            return new RefreshTokenDto(tokenId, username, role, issuedAt, expiresAt);
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated refresh token value", e);
+        }
+    }
+
+    private RefreshTokenDto fromLegacyMap(Map<?, ?> map) {
+        try {
+            return new RefreshTokenDto(
+                    (String) map.get("tokenId"),
+                    (String) map.get("getUsername"),
+                    (String) map.get("role"),
+                    parseLegacyDate(map.get("issuedAt")),
+                    parseLegacyDate(map.get("expiresAt"))
+            );
+        } catch (ClassCastException | DateTimeParseException e) {
+            throw new SerializationException("Unreadable legacy refresh token value", e);
+        }
+    }
+
+    private static LocalDateTime parseLegacyDate(Object value) {
+        return value == null ? null : LocalDateTime.parse((String) value, LEGACY_DATE_FORMAT);
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? Long.MIN_VALUE : dateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime fromEpochMillis(long epochMillis) {
+        return epochMillis == Long.MIN_VALUE ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId);
+    }
+
+    // 소문자 정규 형식의 UUID 만 16바이트로 압축 (복원 시 문자열이 그대로 돌아오도록)
+    private static UUID parseUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return 2 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        if (value.length > Short.MAX_VALUE) {
+            throw new SerializationException("Refresh token field too long: " + value.length + " bytes");
+        }
+        buffer.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package com.melly.authjwt.config;
+
+import com.melly.authjwt.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource-routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * open-in-view 가 켜져 있으면 요청 전체에서 EntityManager 가 처음 얻은 커넥션을 계속 사용하므로,
+     * 읽기 전용 조회(replica) 뒤의 쓰기(회원가입의 중복 확인 후 저장, 로그인 중 비밀번호 해시 업그레이드 등)가 replica 로 갑니다.
+     * 라우팅을 켤 때는 spring.jpa.open-in-view=false 여야 하며, 아니면 기동을 중단합니다.
+     */
+    public DataSourceRoutingConfig(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException(
+                    "spring.datasource-routing.enabled=true requires spring.jpa.open-in-view=false (writes after a read-only lookup would use the replica connection)");
+        }
+    }
+
+    /**
+     * primary 커넥션 풀 (쓰기, 읽기-쓰기 트랜잭션)
+     * 풀은 모두 spring.datasource.hikari.* 설정을 공유하고, 풀 이름(primary, replica 이름)으로 hikaricp.* 지표의 pool 태그가 구분됩니다.
+     * primaryDataSource/replicaRoutingDataSource 는 p6spy 로 감싸지므로 SQL 지표(spring.sql-telemetry)는 경로와 관계없이 한 번씩 집계됩니다.
+     */
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties dataSourceProperties, Environment environment, MeterRegistry meterRegistry) {
+        return pool(dataSourceProperties, Binder.get(environment), meterRegistry, ReplicaRoutingDataSource.PRIMARY,
+                dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    /**
+     * replica 커넥션 풀 + 라우팅 (읽기 전용 트랜잭션)
+     * replica 커넥션은 read-only 로 열어 라우팅이 잘못되어도 replica 에 쓰지 않도록 합니다.
+     * 사용할 수 있는 replica 가 없을 때는 primary 풀에서 조회합니다.
+     */
+    @Bean
+    public DataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               DataSourceProperties dataSourceProperties,
+                                               DataSourceRoutingProperties routingProperties,
+                                               Environment environment,
+                                               MeterRegistry meterRegistry) throws SQLException {
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> configured = routingProperties.replicas();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = configured.get(i);
+            String name = replica.name() != null ? replica.name() : "replica-" + (i + 1);
+            HikariDataSource pool = pool(dataSourceProperties, binder, meterRegistry, name, replica.url(),
+                    replica.username() != null ? replica.username() : dataSourceProperties.determineUsername(),
+                    replica.password() != null ? replica.password() : dataSourceProperties.determinePassword());
+            pool.setReadOnly(true);
+            replicas.put(name, pool);
+        }
+        // p6spy 로 감싸기 전의 primary 풀을 사용 (라우팅 DataSource 자체가 감싸지므로 이중 집계 방지)
+        return new ReplicaRoutingDataSource(primaryDataSource.unwrap(HikariDataSource.class), replicas,
+                routingProperties.maxLag(), meterRegistry);
+    }
+
+    /**
+     * 애플리케이션(JPA)이 사용하는 DataSource
+     * 실제 커넥션은 첫 쿼리 시점에 가져오므로, 그때 트랜잭션이 읽기 전용이면(@Transactional(readOnly = true)) replica 라우팅,
+     * 아니면 primary 에서 가져옵니다. 읽기 전용 메서드라도 읽기-쓰기 트랜잭션 안에서 호출되면 그 트랜잭션을 따라 primary 를 사용합니다.
+     * 이 빈은 p6spy 로 감싸지 않습니다 (decorator.datasource.exclude-beans, p6spy 는 커넥션을 얻자마자 메타데이터를 조회해 지연 연결이 무력화됨).
+     */
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                        @Qualifier("replicaRoutingDataSource") DataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    // 복제 지연 확인 주기 실행 (라우팅 DataSource 빈은 p6spy 로 감싸진 뒤 등록되어 @Scheduled 를 직접 붙일 수 없음)
+    @Bean
+    public SchedulingConfigurer replicaLagCheck(@Qualifier("replicaRoutingDataSource") DataSource replicaRoutingDataSource,
+                                                DataSourceRoutingProperties routingProperties) throws SQLException {
+        ReplicaRoutingDataSource routing = replicaRoutingDataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registrar -> registrar.addFixedDelayTask(routing::checkReplicas, routingProperties.lagCheckInterval());
+    }
+
+    private static HikariDataSource pool(DataSourceProperties dataSourceProperties, Binder binder, MeterRegistry meterRegistry,
+                                         String poolName, String url, String username, String password) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
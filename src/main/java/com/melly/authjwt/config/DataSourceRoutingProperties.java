@@ -0,0 +1,35 @@
+package com.melly.authjwt.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+// 읽기 전용 조회의 replica 라우팅 (spring.datasource-routing, DataSourceRoutingConfig)
+// - enabled  : true 일 때만 라우팅 DataSource 구성, false 면 Boot 기본 DataSource(spring.datasource) 그대로 사용
+// - replicas : replica 접속 정보, username/password 를 비우면 spring.datasource 값 사용, name 은 커넥션 풀 이름(hikaricp 지표의 pool 태그)
+// - max-lag  : 복제 지연이 이 값을 넘는 replica 는 다음 확인까지 라우팅 대상에서 제외 (모두 제외되면 primary 로 조회)
+// - lag-check-interval : 복제 지연 확인 주기
+@ConfigurationProperties("spring.datasource-routing")
+public record DataSourceRoutingProperties(Boolean enabled,
+                                          List<Replica> replicas,
+                                          Duration maxLag,
+                                          Duration lagCheckInterval) {
+    public record Replica(String name, String url, String username, String password) {
+    }
+
+    public DataSourceRoutingProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (replicas == null) {
+            replicas = List.of();
+        }
+        if (maxLag == null) {
+            maxLag = Duration.ofSeconds(1);
+        }
+        if (lagCheckInterval == null) {
+            lagCheckInterval = Duration.ofSeconds(5);
+        }
+    }
+}
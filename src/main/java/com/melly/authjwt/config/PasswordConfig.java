@@ -1,14 +1,95 @@
 package com.melly.authjwt.config;
 
+import com.melly.authjwt.common.auth.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 비밀번호 해시
+// - {id} 접두사 형식(DelegatingPasswordEncoder): 새 해시는 encoding-id 로 만들고, 다른 id/낮은 cost 의 해시도 검증 가능
+//   로그인 성공 시 upgradeEncoding 이 true 면 새 형식으로 다시 저장 (CustomAuthenticationProvider)
+// - 접두사 없는 기존 bcrypt 해시는 bcrypt 로 검증하고 로그인 시 {bcrypt} 형식으로 업그레이드
+// - bcrypt cost 를 고정하지 않으면 기동 시 해시 시간을 측정해 target-millis 를 넘지 않는 최대 cost 선택
+//   노드마다 CPU 가 다르면 cost 도 달라질 수 있으므로, 운영에서는 측정 결과(로그)를 보고 strength 로 고정 권장
+// - 해시는 요청 스레드가 아닌 전용 스레드 풀에서 실행 (BoundedPasswordEncoder)
+@Slf4j
 @Configuration
 public class PasswordConfig {
+    // 측정에 사용할 cost (cost 가 1 오르면 시간이 2배이므로 낮은 cost 로 측정 후 외삽)
+    private static final int CALIBRATION_STRENGTH = 8;
+    private static final int CALIBRATION_SAMPLES = 5;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${spring.password.encoding-id:bcrypt}") String encodingId,
+                                           @Value("${spring.password.bcrypt.strength:0}") int strength,
+                                           @Value("${spring.password.bcrypt.target-millis:250}") long targetMillis,
+                                           @Value("${spring.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${spring.password.bcrypt.max-strength:14}") int maxStrength,
+                                           @Value("${spring.password.executor.threads:0}") int threads,
+                                           @Value("${spring.password.executor.queue-capacity:100}") int queueCapacity,
+                                           @Value("${spring.password.executor.max-wait-millis:3000}") long maxWaitMillis,
+                                           MeterRegistry meterRegistry) {
+        PasswordEncoder encoder = delegatingPasswordEncoder(encodingId, strength, targetMillis, minStrength, maxStrength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(encoder, poolSize, queueCapacity, maxWaitMillis, meterRegistry);
+    }
+
+    PasswordEncoder delegatingPasswordEncoder(String encodingId, int strength, long targetMillis, int minStrength, int maxStrength) {
+        int bcryptStrength = strength > 0 ? strength : calibrateStrength(targetMillis, minStrength, maxStrength);
+        log.info("Password encoding: {} (bcrypt strength {})", encodingId, bcryptStrength);
+
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalStateException("Unsupported spring.password.encoding-id: " + encodingId);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);    // {id} 접두사가 없는 기존 해시
+        return encoder;
+    }
+
+    // target 을 넘지 않는 최대 cost (min~max 범위로 제한)
+    static int calibrateStrength(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        probe.encode("calibration");    // JIT 워밍업
+
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long nanosAtProbe = Math.max(1, samples[samples.length / 2]);
+
+        int strength = chooseStrength(nanosAtProbe, targetMillis * 1_000_000L, minStrength, maxStrength);
+        log.info("bcrypt calibration: {} us at strength {}, target {} ms -> strength {}",
+                nanosAtProbe / 1000, CALIBRATION_STRENGTH, targetMillis, strength);
+        return strength;
+    }
+
+    static int chooseStrength(long nanosAtProbe, long targetNanos, int minStrength, int maxStrength) {
+        int strength = CALIBRATION_STRENGTH;
+        long estimated = nanosAtProbe;
+        while (strength < maxStrength && estimated * 2 <= targetNanos) {
+            strength++;
+            estimated *= 2;
+        }
+        return Math.max(minStrength, Math.min(strength, maxStrength));
     }
 }
@@ -0,0 +1,90 @@
+package com.melly.authjwt.config;
+
+import com.melly.authjwt.common.auth.TokenPrincipalResolver;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.metrics.AuthMetrics;
+import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.ReactiveJwtFilter;
+import com.melly.authjwt.jwt.ReactiveTokenBlacklist;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+// reactive 프로필(spring.main.web-application-type=reactive)의 보안 설정
+// 토큰으로 인증하는 API 만 제공하고, 로그인/재발급/로그아웃/OAuth2 로그인은 servlet 배포(SecurityConfig)에서 처리
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+    private final JwtUtil jwtUtil;
+    private final TokenPrincipalResolver tokenPrincipalResolver;
+    private final ReactiveTokenBlacklist reactiveTokenBlacklist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
+    private final Environment environment;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // 세션 없음 (매 요청 토큰으로 인증)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers(
+                                "/api/v1/users",
+                                "/.well-known/jwks.json",
+                                "/livez",
+                                "/readyz")
+                        .permitAll()
+                        .matchers(EndpointRequest.to(HealthEndpoint.class))
+                        .permitAll()
+                        .matchers(EndpointRequest.toAnyEndpoint())
+                        .access(actuatorAccess())
+                        .pathMatchers(
+                                "/api/v1/admins/**")
+                        .hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((exchange, e) -> {
+                            authMetrics.recordError(ErrorType.UNAUTHORIZED);
+                            return ReactiveJwtFilter.writeError(exchange.getResponse(), ErrorType.UNAUTHORIZED);
+                        })
+                        .accessDeniedHandler((exchange, e) -> {
+                            authMetrics.recordError(ErrorType.FORBIDDEN);
+                            return ReactiveJwtFilter.writeError(exchange.getResponse(), ErrorType.FORBIDDEN);
+                        })
+                )
+                // JwtFilter 와 달리 WebFilter 빈으로 등록하면 WebFlux 전역 필터로도 실행되므로 보안 체인에만 추가
+                .addFilterAt(new ReactiveJwtFilter(jwtUtil, tokenPrincipalResolver, reactiveTokenBlacklist, verifiedTokenCache, authMetrics),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // servlet 배포(SecurityConfig)와 같음: 별도 관리 포트에서만 인증 없이 허용, 같은 포트면 health 외에는 ADMIN 만 접근
+    private ReactiveAuthorizationManager<AuthorizationContext> actuatorAccess() {
+        return ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                ? (authentication, context) -> Mono.just(new AuthorizationDecision(true))
+                : AuthorityReactiveAuthorizationManager.hasRole("ADMIN");
+    }
+}
@@ -0,0 +1,21 @@
+package com.melly.authjwt.config;
+
+import io.lettuce.core.ClientOptions;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Lettuce 클라이언트 동작 (spring.redis-client)
+// 연결/풀/타임아웃은 Spring Boot 의 spring.data.redis.* 를 그대로 사용하고, 여기에는 Boot 가 노출하지 않는 값만 둠
+// - disconnected-behavior : 연결이 끊긴 동안의 명령 처리 (REJECT_COMMANDS 면 재연결을 기다리지 않고 즉시 실패 -> 폴백 경로로 이동)
+// - request-queue-size    : 응답을 기다리는 명령 최대 개수 (초과 시 즉시 실패, 장애 중 메모리 무한 증가 방지)
+@ConfigurationProperties("spring.redis-client")
+public record RedisClientProperties(ClientOptions.DisconnectedBehavior disconnectedBehavior,
+                                    Integer requestQueueSize) {
+    public RedisClientProperties {
+        if (disconnectedBehavior == null) {
+            disconnectedBehavior = ClientOptions.DisconnectedBehavior.REJECT_COMMANDS;
+        }
+        if (requestQueueSize == null) {
+            requestQueueSize = 10_000;
+        }
+    }
+}
@@ -3,21 +3,45 @@ package com.melly.authjwt.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.melly.authjwt.common.util.RefreshTokenRedisSerializer;
+import io.lettuce.core.ClientOptions;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
+@EnableConfigurationProperties({RedisClientProperties.class, RedisResilienceProperties.class})
 public class RedisConfig {
 
+    /**
+     * Lettuce 클라이언트 옵션
+     * 명령/연결 타임아웃과 풀은 spring.data.redis.* 로 설정하고 (Boot 가 ClientOptions 를 구성),
+     * 여기서는 그 ClientOptions 에 연결 끊김 시 동작과 요청 큐 크기만 덧붙입니다.
+     * 명령은 하나의 공유 연결로 보내며, Lettuce 가 동시에 들어온 명령을 응답을 기다리지 않고 연달아 전송(자동 파이프라이닝)합니다.
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer lettuceClientOptionsCustomizer(RedisClientProperties properties) {
+        return builder -> {
+            ClientOptions current = builder.build().getClientOptions().orElseGet(ClientOptions::create);
+            builder.clientOptions(current.mutate()
+                    .disconnectedBehavior(properties.disconnectedBehavior())
+                    .requestQueueSize(properties.requestQueueSize())
+                    .build());
+        };
+    }
+
     /**
      * RedisTemplate Bean 설정
      * Redis와의 데이터 입출력을 위해 key/value 직렬화 방식을 설정합니다.
      * StringRedisSerializer: key를 문자열로 직렬화
      * GenericJackson2JsonRedisSerializer: value를 JSON으로 직렬화/역직렬화
+     * RefreshTokenRedisSerializer: RefreshTokenDto 는 고정 레이아웃 바이너리로 저장 (이전 JSON 값도 읽음), 그 외 값은 JSON
      */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
@@ -30,14 +54,32 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Value 직렬화 설정 (JSON, LocalDateTime 포함)
-        template.setValueSerializer(genericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(genericJackson2JsonRedisSerializer());
+        // Value 직렬화 설정 (Refresh Token 은 바이너리, 그 외 JSON)
+        RefreshTokenRedisSerializer valueSerializer = new RefreshTokenRedisSerializer(genericJackson2JsonRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    /**
+     * Redis pub/sub 수신 컨테이너
+     * 블랙리스트 등 노드 간 로컬 상태 동기화 메시지를 구독합니다.
+     * Redis 가 없어도 애플리케이션이 기동되도록 자동 시작하지 않고, 구독하는 쪽(TokenBlacklist)에서 시작합니다.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /**
      * LocalDateTime 직렬화 지원 GenericJackson2JsonRedisSerializer 생성
      */
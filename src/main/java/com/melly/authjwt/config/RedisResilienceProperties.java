@@ -0,0 +1,48 @@
+package com.melly.authjwt.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Redis 장애 시 동작 (spring.redis-resilience, RedisCircuitBreaker)
+// - failure-threshold  : 연속 실패(연결 실패/명령 타임아웃)가 이 횟수에 도달하면 차단, 차단 중에는 Redis 를 호출하지 않고 즉시 대체 동작
+// - open-duration      : 차단 후 복구 확인(PING)을 시작하기까지의 시간, 확인에 성공하면 차단 해제 + 쌓인 쓰기 재처리
+// - blacklist-lookup   : Bloom filter 에 걸린 토큰을 Redis 로 확인할 수 없을 때 (fail-open: 통과, fail-closed: 로컬 블랙리스트로 거부)
+// - blacklist-write / refresh-write : 쓰기 실패 시 (queue: 재처리 큐에 보관 후 복구 시 재실행, fail-closed: 503)
+// - replay-queue-size  : 재처리 큐 최대 크기 (가득 차면 503)
+@ConfigurationProperties("spring.redis-resilience")
+public record RedisResilienceProperties(Boolean enabled,
+                                        Integer failureThreshold,
+                                        Duration openDuration,
+                                        LookupPolicy blacklistLookup,
+                                        WritePolicy blacklistWrite,
+                                        WritePolicy refreshWrite,
+                                        Integer replayQueueSize) {
+    public enum LookupPolicy { FAIL_OPEN, FAIL_CLOSED }
+
+    public enum WritePolicy { QUEUE, FAIL_CLOSED }
+
+    public RedisResilienceProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (failureThreshold == null) {
+            failureThreshold = 5;
+        }
+        if (openDuration == null) {
+            openDuration = Duration.ofSeconds(5);
+        }
+        if (blacklistLookup == null) {
+            blacklistLookup = LookupPolicy.FAIL_CLOSED;
+        }
+        if (blacklistWrite == null) {
+            blacklistWrite = WritePolicy.QUEUE;
+        }
+        if (refreshWrite == null) {
+            refreshWrite = WritePolicy.QUEUE;
+        }
+        if (replayQueueSize == null) {
+            replayQueueSize = 10_000;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.melly.authjwt.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 주기 작업 (서명 키 로테이션 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
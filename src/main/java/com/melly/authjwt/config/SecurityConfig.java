@@ -2,17 +2,27 @@ package com.melly.authjwt.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.melly.authjwt.common.auth.*;
+import com.melly.authjwt.common.metrics.AuthMetrics;
 import com.melly.authjwt.domain.repository.UserRepository;
 import com.melly.authjwt.dto.response.OAuth2LoginResponseDto;
 import com.melly.authjwt.jwt.JwtFilter;
 import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.TokenBlacklist;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
 import com.melly.authjwt.service.OAuth2Service;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -21,9 +31,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+// reactive 프로필에서는 ReactiveSecurityConfig 사용
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
@@ -34,7 +47,13 @@ public class SecurityConfig {
     private final JwtUtil jwtUtil;
     private final PrincipalOAuth2UserService principalOAuth2UserService;
     private final OAuth2Service oAuth2Service;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenBlacklist tokenBlacklist;
+    private final TokenPrincipalResolver tokenPrincipalResolver;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserExistenceFilter userExistenceFilter;
+    private final UserCache userCache;
+    private final AuthMetrics authMetrics;
+    private final Environment environment;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -48,8 +67,15 @@ public class SecurityConfig {
                                 "/api/v1/users",
                                 "/api/v1/auth/login",
                                 "/api/v1/auth/logout",
-                                "/api/v1/auth/reissue")
+                                "/api/v1/auth/reissue",
+                                "/.well-known/jwks.json",
+                                "/livez",
+                                "/readyz")
                         .permitAll()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class))
+                        .permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint())
+                        .access(actuatorAccess())
                         .requestMatchers(
                                 "/api/v1/admins/**")
                         .hasRole("ADMIN")
@@ -60,7 +86,7 @@ public class SecurityConfig {
                         .accessDeniedHandler(customAccessDeniedHandler)
                 )
                 // JwtFilter 를 UsernamePasswordAuthenticationFilter 앞에 추가
-                .addFilterBefore(new JwtFilter(jwtUtil,userRepository,redisTemplate), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtFilter(jwtUtil,tokenPrincipalResolver,tokenBlacklist,verifiedTokenCache,authMetrics), UsernamePasswordAuthenticationFilter.class)
                 .oauth2Login(oauth2 -> oauth2
                         .userInfoEndpoint(userInfo -> userInfo.userService(principalOAuth2UserService))
                         .successHandler((request, response, authentication) -> {
@@ -78,6 +104,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // actuator 는 내부 인터페이스에 바인딩한 별도 포트(management.server.port)에서만 인증 없이 허용
+    // 서비스 포트와 같은 포트로 제공하도록 설정하면 health 외의 endpoint(prometheus 등)는 ADMIN 만 접근
+    // (포트가 다르면 EndpointRequest 는 관리 포트로 들어온 요청에만 일치)
+    private AuthorizationManager<RequestAuthorizationContext> actuatorAccess() {
+        return ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                ? (authentication, context) -> new AuthorizationDecision(true)
+                : AuthorityAuthorizationManager.hasRole("ADMIN");
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -85,6 +120,6 @@ public class SecurityConfig {
 
     @Bean
     public AuthenticationProvider customAuthenticationProvider() {
-        return new CustomAuthenticationProvider(userRepository, passwordEncoder);
+        return new CustomAuthenticationProvider(userRepository, passwordEncoder, userExistenceFilter, userCache);
     }
 }
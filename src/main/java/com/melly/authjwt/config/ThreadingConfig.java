@@ -0,0 +1,34 @@
+package com.melly.authjwt.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+// 요청 처리 스레드 모드 확인 (virtual 프로필)
+// spring.threads.virtual.enabled 는 Java 21 미만에서는 경고 없이 무시되므로, 기동 시 실제 적용 여부를 로그로 남김
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+    private static final int VIRTUAL_THREADS_MIN_VERSION = 21;
+
+    private final boolean virtualThreads;
+
+    public ThreadingConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreads) {
+            log.info("Request threads: platform (Java {})", javaVersion);
+        } else if (javaVersion < VIRTUAL_THREADS_MIN_VERSION) {
+            log.warn("spring.threads.virtual.enabled ignored on Java {} - build and run with Java {} (-PjavaVersion={})",
+                    javaVersion, VIRTUAL_THREADS_MIN_VERSION, VIRTUAL_THREADS_MIN_VERSION);
+        } else {
+            log.info("Request threads: virtual (Java {})", javaVersion);
+        }
+    }
+}
@@ -2,21 +2,41 @@ package com.melly.authjwt.controller;
 
 import com.melly.authjwt.common.controller.ResponseController;
 import com.melly.authjwt.common.dto.ResponseDto;
+import com.melly.authjwt.dto.response.JwtKeyDto;
+import com.melly.authjwt.service.JwtKeyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/admins")
 public class AdminController implements ResponseController {
+    private final JwtKeyService jwtKeyService;
+
     @GetMapping("test")
     public ResponseEntity<ResponseDto<String>> test() {
         return makeResponseEntity(HttpStatus.OK, null, "admins 테스트 성공", "admins ok");
     }
 
+    // 서명 키 목록 조회
+    @GetMapping("/jwt-keys")
+    public ResponseEntity<ResponseDto<List<JwtKeyDto>>> getJwtKeys() {
+        List<JwtKeyDto> keys = jwtKeyService.getKeys();
+        return makeResponseEntity(HttpStatus.OK, null, "서명 키 목록 조회 성공", keys);
+    }
+
+    // 서명 키 즉시 로테이션 (키 유출 의심 시 등), 새 키는 activation-delay 뒤부터 서명에 사용
+    @PostMapping("/jwt-keys/rotate")
+    public ResponseEntity<ResponseDto<JwtKeyDto>> rotateJwtKey() {
+        JwtKeyDto key = jwtKeyService.rotate();
+        return makeResponseEntity(HttpStatus.CREATED, null, "서명 키 로테이션 성공", key);
+    }
 }
 
@@ -5,26 +5,36 @@ import com.melly.authjwt.common.dto.ResponseDto;
 import com.melly.authjwt.dto.request.LoginRequestDto;
 import com.melly.authjwt.dto.response.LoginResponseDto;
 import com.melly.authjwt.dto.response.ReIssueTokenDto;
+import com.melly.authjwt.dto.response.SessionDto;
 import com.melly.authjwt.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
+// 쿠키/세션 처리가 servlet API 기반이므로 servlet 배포에서만 등록 (reactive 프로필 노드는 토큰 검증만 담당)
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/auth")
 public class AuthController implements ResponseController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<ResponseDto<LoginResponseDto>> jwtLogin(@RequestBody LoginRequestDto dto, HttpServletResponse response) {
-        LoginResponseDto responseDto = authService.login(dto,response);
+    public ResponseEntity<ResponseDto<LoginResponseDto>> jwtLogin(@RequestBody LoginRequestDto dto, HttpServletRequest request, HttpServletResponse response) {
+        LoginResponseDto responseDto = authService.login(dto, request, response);
         return makeResponseEntity(HttpStatus.OK, null, responseDto.getMessage(), responseDto);
     }
 
@@ -39,4 +49,16 @@ public class AuthController implements ResponseController {
         authService.logout(request,response);
         return makeResponseEntity(HttpStatus.OK, "null","로그아웃 성공", null);
     }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<ResponseDto<List<SessionDto>>> getSessions(@AuthenticationPrincipal UserDetails principal, HttpServletRequest request){
+        List<SessionDto> responseDto = authService.getSessions(principal.getUsername(), request);
+        return makeResponseEntity(HttpStatus.OK, null,"세션 목록 조회 성공", responseDto);
+    }
+
+    @DeleteMapping("/sessions")
+    public ResponseEntity<ResponseDto<Void>> logoutAll(@AuthenticationPrincipal UserDetails principal, HttpServletRequest request, HttpServletResponse response){
+        authService.logoutAll(principal.getUsername(), request, response);
+        return makeResponseEntity(HttpStatus.OK, null,"전체 로그아웃 성공", null);
+    }
 }
@@ -0,0 +1,26 @@
+package com.melly.authjwt.controller;
+
+import com.melly.authjwt.jwt.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+// 다른 서비스가 Access Token 을 직접(오프라인) 검증할 수 있도록 서명 공개키를 JWKS(RFC 7517) 형식으로 공개
+// 표준 형식을 따라야 하므로 ResponseDto 로 감싸지 않음
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtUtil jwtUtil;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())    // 검증 측에서 캐싱하여 매 요청 조회하지 않도록
+                .body(Map.of("keys", jwtUtil.publicJwks()));
+    }
+}
@@ -11,7 +11,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="user_tbl")
+@Table(name="user_tbl", uniqueConstraints = {     // 이름은 mysql-init/init.sql 과 동일 (중복 가입 시 위반한 키 구분)
+        @UniqueConstraint(name="username", columnNames="username"),
+        @UniqueConstraint(name="email", columnNames="email")
+})
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
@@ -38,6 +41,11 @@ public class UserEntity {
     @Column(name="updated_at")
     private LocalDateTime updatedAt;
 
+    // 비밀번호 해시 형식/cost 업그레이드 (평문은 바뀌지 않음)
+    public void updatePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     @PrePersist
     public void prePersist() {
         if (this.createdAt == null) {  // null 체크 꼭 하기
@@ -5,14 +5,18 @@ import com.melly.authjwt.domain.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserAuthProviderRepository extends JpaRepository<UserAuthProviderEntity, Long> {
+    // 읽기 전용 트랜잭션 -> spring.datasource-routing 사용 시 replica 로 조회
+    @Transactional(readOnly = true)
     @Query("select ap from UserAuthProviderEntity ap join fetch ap.user u " +
             "where u.userId = :userId and ap.provider = :provider")
     Optional<UserAuthProviderEntity> findByUserIdAndProviderFetchJoin(@Param("userId") Long userId,
                                                                       @Param("provider") String provider);
 
+    @Transactional(readOnly = true)
     boolean existsByUserAndProvider(UserEntity existingUser, String provider);
 }
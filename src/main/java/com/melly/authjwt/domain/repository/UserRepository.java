@@ -1,14 +1,48 @@
 package com.melly.authjwt.domain.repository;
 
 import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+    // 읽기 전용 트랜잭션 -> spring.datasource-routing 사용 시 replica 로 조회 (읽기-쓰기 트랜잭션 안에서는 primary)
+    @Transactional(readOnly = true)
     boolean existsByUsername(String username);
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
 
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByUsername(String username);
+    @Transactional(readOnly = true)
     Optional<UserEntity> findByEmail(String email);
+
+    // 계정 상태만 조회 (UserStatusCache 용)
+    @Query("select u.status from UserEntity u where u.username = :username")
+    Optional<UserStatus> findStatusByUsername(@Param("username") String username);
+
+    // 비밀번호 해시만 변경 (로그인 시 해시 업그레이드용)
+    // 캐시의 이전 엔티티를 병합하지 않으므로 그 사이 바뀐 상태/권한을 덮어쓰지 않고, 해시가 이미 바뀌었으면 0 반환
+    // 벌크 쿼리는 엔티티 리스너를 거치지 않으므로 호출한 쪽에서 UserCache 무효화
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :hash where u.userId = :id and u.password = :oldHash")
+    int updatePassword(@Param("id") Long id, @Param("hash") String hash, @Param("oldHash") String oldHash);
+
+    // 아이디/이메일만 userId 순으로 나누어 조회 (UserExistenceFilter 재구성용, OFFSET 없이 userId 기준으로 이어서 읽음)
+    @Query("select u.userId as userId, u.username as username, u.email as email from UserEntity u where u.userId > :after order by u.userId")
+    List<UserIdentity> findIdentitiesAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UserIdentity {
+        Long getUserId();
+        String getUsername();
+        String getEmail();
+    }
 }
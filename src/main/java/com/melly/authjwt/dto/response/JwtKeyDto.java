@@ -0,0 +1,21 @@
+package com.melly.authjwt.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class JwtKeyDto {
+    private String kid;
+    private String algorithm;
+    private boolean signing;        // 현재 새 토큰 서명에 쓰이는 키인지 여부
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime activatesAt;
+}
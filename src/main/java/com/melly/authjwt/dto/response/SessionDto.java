@@ -0,0 +1,18 @@
+package com.melly.authjwt.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class SessionDto {
+    private String tokenId;
+    private boolean current;    // 요청한 Refresh Token 의 세션인지 여부
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.melly.authjwt.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+// 토큰 서명 알고리즘 (spring.jwt.algorithm)
+// HS256 은 공유 비밀키, ES256/EdDSA 는 개인키로 서명하고 공개키(JWKS)로 누구나 검증 가능
+public enum JwtAlgorithm {
+    HS256(Jwts.SIG.HS256, null),
+    ES256(Jwts.SIG.ES256, "EC"),
+    EdDSA(Jwts.SIG.EdDSA, "Ed25519");
+
+    private final SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+    private final String keyFactoryAlgorithm;     // PEM 키 로딩/키 생성에 쓰는 JCA 알고리즘 이름
+
+    JwtAlgorithm(SecureDigestAlgorithm<?, ?> signatureAlgorithm, String keyFactoryAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    public SecureDigestAlgorithm<?, ?> signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    // JWS 헤더의 alg 값 (HS256, ES256, EdDSA)
+    public String id() {
+        return signatureAlgorithm.getId();
+    }
+
+    public String keyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return keyFactoryAlgorithm != null;
+    }
+}
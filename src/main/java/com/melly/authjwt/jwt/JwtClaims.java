@@ -0,0 +1,21 @@
+package com.melly.authjwt.jwt;
+
+// 서명 검증을 통과한 토큰의 페이로드를 한 번만 꺼내 담아두는 불변 객체
+// 필터/서비스는 이 객체를 통해 클레임을 읽으므로 토큰을 다시 파싱할 필요가 없음
+public record JwtClaims(
+        String category,
+        String username,
+        String role,
+        String tokenId,
+        long expiresAt,     // exp (epoch millis)
+        String familyId     // Refresh Token 로테이션 체인 식별자 (Access Token, 이전 형식 Refresh Token 은 null)
+) {
+    public JwtClaims(String category, String username, String role, String tokenId, long expiresAt) {
+        this(category, username, role, tokenId, expiresAt, null);
+    }
+
+    // 남은 유효 시간(ms), 이미 지났다면 0
+    public long remainingMillis(long now) {
+        return Math.max(0, expiresAt - now);
+    }
+}
@@ -1,21 +1,22 @@
 package com.melly.authjwt.jwt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.melly.authjwt.common.auth.PrincipalDetails;
+import com.melly.authjwt.common.auth.TokenPrincipalResolver;
 import com.melly.authjwt.common.dto.ResponseDto;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
-import com.melly.authjwt.domain.entity.UserEntity;
-import com.melly.authjwt.domain.repository.UserRepository;
+import com.melly.authjwt.common.metrics.AuthMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -28,13 +29,18 @@ public class JwtFilter extends OncePerRequestFilter {
     // OncePerRequestFilter 는 Spring Framework 에서 제공하는 추상 클래스로, 하나의 요청(request)당 딱 한 번만 실행되는 필터
     // JWT 검증 로직은 인증이 필요한 요청이 들어올 때마다 확실히 한 번만 실행되도록 보장
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenPrincipalResolver tokenPrincipalResolver;
+    private final TokenBlacklist tokenBlacklist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
 
-    public JwtFilter(JwtUtil jwtUtil, UserRepository userRepository, RedisTemplate<String, Object> redisTemplate) {
+    public JwtFilter(JwtUtil jwtUtil, TokenPrincipalResolver tokenPrincipalResolver, TokenBlacklist tokenBlacklist,
+                     VerifiedTokenCache verifiedTokenCache, AuthMetrics authMetrics) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
-        this.redisTemplate = redisTemplate;
+        this.tokenPrincipalResolver = tokenPrincipalResolver;
+        this.tokenBlacklist = tokenBlacklist;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authMetrics = authMetrics;
     }
 
     @Override
@@ -49,60 +55,108 @@ public class JwtFilter extends OncePerRequestFilter {
 
         String accessToken = header.substring(7); // "Bearer " 이후의 토큰만 추출
 
+        // 이미 검증을 통과한 토큰이면 서명 검증, 사용자 조회를 생략
+        // 블랙리스트는 로컬 Bloom filter 로만 확인하므로 I/O 없음 (다른 노드에서 로그아웃한 토큰도 pub/sub 으로 반영됨)
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            Boolean blacklisted = checkBlacklist(response, accessToken, cached.claims());
+            if (blacklisted == null) {
+                return;
+            }
+            if (blacklisted) {
+                log.error("Blacklisted JWT token");
+                verifiedTokenCache.evict(accessToken);
+                sendErrorResponse(response, ErrorType.TOKEN_BLACKLISTED);
+                return;
+            }
+            try {
+                tokenPrincipalResolver.checkCachedPrincipal(cached.principal());
+            } catch (CustomException e) {
+                log.error("Rejected cached JWT principal - {}", e.getErrorType());
+                sendErrorResponse(response, e.getErrorType());
+                return;
+            }
+            authenticate(cached.principal());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 토큰을 한 번만 파싱하여 서명/만료/형식을 함께 검증
+        long parseStart = System.nanoTime();
+        JwtVerification verification = jwtUtil.verify(accessToken);
+        authMetrics.recordStage(AuthMetrics.Stage.PARSE, parseStart);
+
         // 토큰 만료 여부 확인
-        if (jwtUtil.isExpired(accessToken)) {
+        if (verification.isExpired()) {
             log.error("Expired JWT token");
 
-            sendErrorResponse(
-                    response,
-                    ErrorType.EXPIRED_ACCESS_TOKEN.getStatus().value(),
-                    ErrorType.EXPIRED_ACCESS_TOKEN.getErrorCode(),
-                    ErrorType.EXPIRED_ACCESS_TOKEN.getMessage()
-            );
+            sendErrorResponse(response, ErrorType.EXPIRED_ACCESS_TOKEN);
             return;
         }
 
-        // 토큰의 종류가 access 인지 검증 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(accessToken);
+        // 서명/형식 검증 + 토큰의 종류가 access 인지 검증 (발급시 페이로드에 명시)
+        if (!verification.isValid("AccessToken")) {
+            log.error("Invalid JWT token - {}", verification.status());
 
-        if (!category.equals("AccessToken")) {
-            log.error("Invalid JWT token");
-
-            sendErrorResponse(
-                    response,
-                    ErrorType.INVALID_ACCESS_TOKEN.getStatus().value(),
-                    ErrorType.INVALID_ACCESS_TOKEN.getErrorCode(),
-                    ErrorType.INVALID_ACCESS_TOKEN.getMessage()
-            );
+            sendErrorResponse(response, ErrorType.INVALID_ACCESS_TOKEN);
             return;
         }
 
-        // 블랙리스트 체크
-        Boolean isBlacklisted = redisTemplate.hasKey("BLACKLIST_" + accessToken);
-        if (Boolean.TRUE.equals(isBlacklisted)) {
+        // 블랙리스트 체크 (로컬 Bloom filter 에서 걸린 경우에만 Redis 조회)
+        Boolean blacklisted = checkBlacklist(response, accessToken, verification.claims());
+        if (blacklisted == null) {
+            return;
+        }
+        if (blacklisted) {
             log.error("Blacklisted JWT token");
 
-            sendErrorResponse(
-                    response,
-                    ErrorType.TOKEN_BLACKLISTED.getStatus().value(),
-                    ErrorType.TOKEN_BLACKLISTED.getErrorCode(),
-                    ErrorType.TOKEN_BLACKLISTED.getMessage()
-            );
+            sendErrorResponse(response, ErrorType.TOKEN_BLACKLISTED);
+            return;
+        }
+
+        // 클레임으로 principal 구성 (기본: DB 조회, claims-only 모드: 토큰 클레임 + 계정 상태 캐시)
+        UserDetails principal;
+        long principalStart = System.nanoTime();
+        try {
+            principal = tokenPrincipalResolver.resolve(verification.claims());
+            authMetrics.recordStage(AuthMetrics.Stage.PRINCIPAL, principalStart);
+        } catch (CustomException e) {
+            log.error("Rejected JWT principal - {}", e.getErrorType());
+            sendErrorResponse(response, e.getErrorType());
             return;
         }
+        verifiedTokenCache.put(accessToken, verification.claims(), principal);
 
-        // username 값 획득
-        String username = jwtUtil.getUsername(accessToken);
+        authenticate(principal);
 
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new CustomException(ErrorType.USER_NOT_FOUND));
+        filterChain.doFilter(request, response);
+    }
 
-        PrincipalDetails principalDetails = new PrincipalDetails(user);
+    // Redis 장애로 판단할 수 없으면 (fail-closed + 로컬 상태 없음) 에러 응답 후 null
+    private Boolean checkBlacklist(HttpServletResponse response, String accessToken, JwtClaims claims) throws IOException {
+        long blacklistStart = System.nanoTime();
+        try {
+            return tokenBlacklist.isBlacklisted(accessToken, claims);
+        } catch (CustomException e) {
+            log.error("Blacklist check unavailable - {}", e.getErrorType());
+            sendErrorResponse(response, e.getErrorType());
+            return null;
+        } finally {
+            authMetrics.recordStage(AuthMetrics.Stage.BLACKLIST, blacklistStart);
+        }
+    }
 
-        Authentication authToken = new UsernamePasswordAuthenticationToken(principalDetails, null, principalDetails.getAuthorities());
+    private void authenticate(UserDetails principal) {
+        Authentication authToken = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 
-        filterChain.doFilter(request, response);
+    private void sendErrorResponse(HttpServletResponse response, ErrorType errorType) throws IOException {
+        authMetrics.recordError(errorType);
+        if (errorType.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+        sendErrorResponse(response, errorType.getStatus().value(), errorType.getErrorCode(), errorType.getMessage());
     }
 
     // Spring Security Filter 내부에서는 일반적으로 @ControllerAdvice 기반 전역 예외처리(@ExceptionHandler)가 동작하지 않기에 JSON Response 처리
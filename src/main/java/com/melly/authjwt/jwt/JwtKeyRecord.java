@@ -0,0 +1,14 @@
+package com.melly.authjwt.jwt;
+
+// Redis 에 저장되는 키 목록 항목 (Hash JwtKeyRing 의 field = kid)
+// secret    : 서명 키 (HS256 이면 원본 바이트, 비대칭이면 PKCS#8) 를 KEK(spring.jwt.key-ring.kek) 로 AES-GCM 암호화한 base64
+// publicKey : 비대칭 키의 X.509 공개키 base64 (HS256 이면 null)
+public record JwtKeyRecord(
+        String kid,
+        JwtAlgorithm algorithm,
+        String secret,
+        String publicKey,
+        long createdAt,
+        long activatesAt
+) {
+}
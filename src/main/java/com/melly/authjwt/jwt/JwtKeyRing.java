@@ -0,0 +1,59 @@
+package com.melly.authjwt.jwt;
+
+import io.jsonwebtoken.security.PublicJwk;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// kid 로 색인된 서명 키 목록 (메모리, 노드마다 하나)
+// - 검증: 토큰 헤더의 kid 로 O(1) 조회
+// - 서명: 활성화 시각이 지난 키 중 가장 최근 키 사용
+// - 새 키는 활성화 시각 전에 미리 배포되므로, 다른 노드가 새 kid 로 서명한 토큰도 항상 검증 가능
+// - 이전 키는 해당 키로 발급된 토큰이 모두 만료될 때까지 목록에 남음
+// 목록 전체를 불변 스냅샷으로 교체하므로 조회에 락이 없음
+@Component
+public class JwtKeyRing {
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of());
+
+    public void replace(Collection<RingKey> keys) {
+        Map<String, RingKey> byKid = keys.stream().collect(Collectors.toUnmodifiableMap(RingKey::kid, Function.identity()));
+        List<RingKey> newestFirst = keys.stream()
+                .sorted(Comparator.comparingLong(RingKey::activatesAt).reversed())
+                .toList();
+        this.snapshot = new Snapshot(byKid, newestFirst);
+    }
+
+    public RingKey find(String kid) {
+        return snapshot.byKid().get(kid);
+    }
+
+    // now 시점에 서명에 사용할 키 (없으면 null -> 설정 파일의 키로 서명)
+    public RingKey signingKey(long now) {
+        for (RingKey key : snapshot.newestFirst()) {
+            if (key.activatesAt() <= now) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    public List<RingKey> keys() {
+        return snapshot.newestFirst();
+    }
+
+    // signingKey: 서명 키 (HS256 이면 SecretKey, 비대칭이면 PrivateKey)
+    // verificationKey: 검증 키 (HS256 이면 signingKey 와 같음, 비대칭이면 PublicKey)
+    // publicJwk: JWKS 로 공개할 공개키 (HS256 이면 null)
+    public record RingKey(String kid, JwtAlgorithm algorithm, Key signingKey, Key verificationKey,
+                          PublicJwk<?> publicJwk, long createdAt, long activatesAt) {
+    }
+
+    private record Snapshot(Map<String, RingKey> byKid, List<RingKey> newestFirst) {
+    }
+}
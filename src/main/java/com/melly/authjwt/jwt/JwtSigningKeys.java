@@ -0,0 +1,106 @@
+package com.melly.authjwt.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+// 비대칭 서명용 키 쌍과 공개 JWK
+// - kid 는 공개키의 JWK thumbprint (RFC 7638) 이므로 같은 키면 노드가 달라도 같은 값
+// - 키를 설정하지 않으면 기동 실패, allow-ephemeral 이 true 일 때만 임시 키 쌍을 생성 (재기동/노드마다 달라지므로 단일 노드 개발용)
+@Slf4j
+public final class JwtSigningKeys {
+    private final JwtAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final PublicJwk<?> publicJwk;
+
+    public JwtSigningKeys(JwtAlgorithm algorithm, KeyPair keyPair) {
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalArgumentException("Signing keys are only used for asymmetric algorithms: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.privateKey = keyPair.getPrivate();
+        this.publicKey = keyPair.getPublic();
+        this.publicJwk = Jwks.builder().key(publicKey).algorithm(algorithm.id()).publicKeyUse("sig").idFromThumbprint().build();
+    }
+
+    // PEM(PKCS#8 개인키, X.509 공개키) 또는 base64 DER 문자열로부터 로딩, 둘 다 비어 있으면 allowEphemeral 일 때만 임시 키 생성
+    public static JwtSigningKeys load(JwtAlgorithm algorithm, String privateKeyPem, String publicKeyPem, boolean allowEphemeral) {
+        boolean hasPrivate = privateKeyPem != null && !privateKeyPem.isBlank();
+        boolean hasPublic = publicKeyPem != null && !publicKeyPem.isBlank();
+        if (!hasPrivate && !hasPublic) {
+            if (!allowEphemeral) {
+                throw new IllegalStateException("No " + algorithm.id() + " key pair configured - set spring.jwt.asymmetric.private-key/public-key"
+                        + " (or spring.jwt.asymmetric.allow-ephemeral=true for single-node development)");
+            }
+            log.warn("No {} key pair configured, generated an ephemeral key pair - tokens will not verify across restarts or nodes", algorithm.id());
+            return generate(algorithm);
+        }
+        if (!hasPrivate || !hasPublic) {
+            throw new IllegalStateException("Both spring.jwt.asymmetric.private-key and public-key must be configured for " + algorithm.id());
+        }
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.keyFactoryAlgorithm());
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem)));
+            return new JwtSigningKeys(algorithm, new KeyPair(publicKey, privateKey));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm.id() + " key pair configuration", e);
+        }
+    }
+
+    public static JwtSigningKeys generate(JwtAlgorithm algorithm) {
+        if (algorithm == JwtAlgorithm.ES256) {
+            return new JwtSigningKeys(algorithm, Jwts.SIG.ES256.keyPair().build());
+        }
+        try {
+            return new JwtSigningKeys(algorithm, KeyPairGenerator.getInstance(algorithm.keyFactoryAlgorithm()).generateKeyPair());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm.id() + " key pair", e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    public JwtAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    // 비대칭 알고리즘만 다루므로 개인키 서명/공개키 검증 알고리즘으로 고정
+    @SuppressWarnings("unchecked")
+    public SecureDigestAlgorithm<PrivateKey, PublicKey> signatureAlgorithm() {
+        return (SecureDigestAlgorithm<PrivateKey, PublicKey>) algorithm.signatureAlgorithm();
+    }
+
+    public PrivateKey privateKey() {
+        return privateKey;
+    }
+
+    public PublicKey publicKey() {
+        return publicKey;
+    }
+
+    public String keyId() {
+        return publicJwk.getId();
+    }
+
+    public PublicJwk<?> publicJwk() {
+        return publicJwk;
+    }
+}
@@ -0,0 +1,9 @@
+package com.melly.authjwt.jwt;
+
+// 토큰 검증 결과 상태
+public enum JwtStatus {
+    VALID,              // 정상
+    EXPIRED,            // 서명은 정상이지만 만료됨
+    MALFORMED,          // 형식 오류 (null, 빈 문자열, 파싱 불가 등)
+    INVALID_SIGNATURE   // 서명 불일치
+}
@@ -2,79 +2,242 @@ package com.melly.authjwt.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
-    private SecretKey secretKey;
+    private final SecretKey secretKey;
 
-    public JwtUtil(@Value("${spring.jwt.secret}")String secret) {
-        // String 타입의 secret 을 객체변수(secretKey) 로 암호화
-        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+    // 비대칭 서명(ES256/EdDSA) 사용 시 키 쌍, HS256 이면 null
+    private final JwtSigningKeys signingKeys;
+
+    // 로테이션되는 서명 키 목록 (kid 헤더로 검증 키 조회), 비어 있으면 위의 설정 키로 서명
+    private final JwtKeyRing keyRing;
+
+    // 비대칭/키 목록 서명으로 전환한 뒤 설정 파일의 secret(HS256) 으로 서명된 토큰을 받아주는 조건
+    // - iat 가 legacyIssuedBefore 이전인 토큰만, 그리고 legacyAcceptUntil 까지만 (전환 전에 발급된 토큰이 만료될 때까지)
+    // - 설정하지 않으면 전환 즉시 거부 (secret 이 유출돼도 전환 후에는 토큰을 만들 수 없음)
+    private final long legacyIssuedBefore;
+    private final long legacyAcceptUntil;
+
+    // JwtParser 는 불변 객체이고 스레드 안전하므로 키마다 한 번만 만들어 재사용
+    private final JwtParser jwtParser;
+
+    // HS256 전용 (테스트/벤치마크)
+    public JwtUtil(String secret, long clockSkewSeconds) {
+        this(secret, clockSkewSeconds, null);
     }
 
-    public String getCategory(String token){
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("category", String.class);
+    @Autowired
+    public JwtUtil(@Value("${spring.jwt.secret}") String secret,
+                   @Value("${spring.jwt.clock-skew-seconds:0}") long clockSkewSeconds,
+                   @Value("${spring.jwt.algorithm:HS256}") JwtAlgorithm algorithm,
+                   @Value("${spring.jwt.asymmetric.private-key:}") String privateKey,
+                   @Value("${spring.jwt.asymmetric.public-key:}") String publicKey,
+                   @Value("${spring.jwt.asymmetric.allow-ephemeral:false}") boolean allowEphemeral,
+                   @Value("${spring.jwt.legacy-hs256.issued-before:}") String legacyIssuedBefore,
+                   @Value("${spring.jwt.legacy-hs256.window:P1D}") Duration legacyWindow,
+                   JwtKeyRing keyRing) {
+        this(secret, clockSkewSeconds,
+                algorithm.isAsymmetric() ? JwtSigningKeys.load(algorithm, privateKey, publicKey, allowEphemeral) : null,
+                keyRing,
+                legacyIssuedBefore.isBlank() ? null : Instant.parse(legacyIssuedBefore),
+                legacyWindow);
     }
 
-    public String getUsername(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("username", String.class);
+    public JwtUtil(String secret, long clockSkewSeconds, JwtSigningKeys signingKeys) {
+        this(secret, clockSkewSeconds, signingKeys, new JwtKeyRing());
     }
 
-    public String getRole(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+    public JwtUtil(String secret, long clockSkewSeconds, JwtSigningKeys signingKeys, JwtKeyRing keyRing) {
+        this(secret, clockSkewSeconds, signingKeys, keyRing, null, Duration.ZERO);
     }
 
-    public String getTokenId(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("tokenId", String.class);
+    // legacyIssuedBefore: 이 시각 이전에 발급된 HS256 토큰만 전환 후에도 검증, legacyWindow: 그 시각부터 받아주는 기간 (최대 토큰 수명)
+    public JwtUtil(String secret, long clockSkewSeconds, JwtSigningKeys signingKeys, JwtKeyRing keyRing,
+                   Instant legacyIssuedBefore, Duration legacyWindow) {
+        // String 타입의 secret 을 객체변수(secretKey) 로 암호화
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        this.signingKeys = signingKeys;
+        this.keyRing = keyRing;
+        this.legacyIssuedBefore = legacyIssuedBefore != null ? legacyIssuedBefore.toEpochMilli() : Long.MIN_VALUE;
+        this.legacyAcceptUntil = legacyIssuedBefore != null ? legacyIssuedBefore.plus(legacyWindow).toEpochMilli() : Long.MIN_VALUE;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new VerificationKeyLocator())
+                .clockSkewSeconds(clockSkewSeconds)     // 서버 간 시계 오차 허용 범위
+                .build();
     }
 
-    public Boolean isExpired(String token) {
+    // 토큰을 한 번만 파싱/서명 검증하고, 결과를 상태와 함께 반환
+    // 만료/형식 오류/서명 불일치는 예외 대신 JwtStatus 로 구분
+    public JwtVerification verify(String token) {
         try {
-            // parseSignedClaims 시 이미 만료 검사 포함
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
-            return false; // 예외 없으면 만료되지 않음
-        } catch (io.jsonwebtoken.ExpiredJwtException e) {
-            return true;  // 만료됨
+            Jws<Claims> jws = jwtParser.parseSignedClaims(token);
+            if (!acceptsIssuedAt(jws.getHeader(), jws.getPayload())) {
+                return JwtVerification.invalidSignature();
+            }
+            return JwtVerification.valid(toJwtClaims(jws.getPayload()));
+        } catch (ExpiredJwtException e) {
+            // 서명 검증 후 만료 검사에서 실패한 경우이므로 claims 는 신뢰 가능
+            if (!acceptsIssuedAt(e.getHeader(), e.getClaims())) {
+                return JwtVerification.invalidSignature();
+            }
+            return JwtVerification.expired(toJwtClaims(e.getClaims()));
+        } catch (SecurityException e) {
+            return JwtVerification.invalidSignature();
+        } catch (JwtException | IllegalArgumentException e) {
+            return JwtVerification.malformed();
         }
     }
 
+    // 설정 파일의 secret 으로 검증한 토큰은, secret 이 현재 서명 키가 아니면 전환 시각 이전에 발급된 것만 인정
+    private boolean acceptsIssuedAt(Header header, Claims claims) {
+        if (!(header instanceof JwsHeader jwsHeader) || !verifiedWithSecret(jwsHeader)) {
+            return true;
+        }
+        if (signsWithSecret(System.currentTimeMillis())) {
+            return true;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null && issuedAt.getTime() < legacyIssuedBefore;
+    }
+
+    // kid 가 키 목록에 없는 HS256 토큰은 설정 파일의 secret 으로 검증됨
+    private boolean verifiedWithSecret(JwsHeader header) {
+        String kid = header.getKeyId();
+        return Jwts.SIG.HS256.getId().equals(header.getAlgorithm()) && (kid == null || keyRing.find(kid) == null);
+    }
+
+    // 비대칭 키도, 활성화된 키 목록의 키도 없으면 secret 이 현재 서명 키
+    private boolean signsWithSecret(long now) {
+        return signingKeys == null && keyRing.signingKey(now) == null;
+    }
+
+    private JwtClaims toJwtClaims(Claims claims) {
+        return new JwtClaims(
+                claims.get("category", String.class),
+                claims.get("username", String.class),
+                claims.get("role", String.class),
+                claims.get("tokenId", String.class),
+                claims.getExpiration().getTime(),
+                claims.get("familyId", String.class)
+        );
+    }
+
     // Jwt 생성
-    public String createJwt(String category, String username, String role, String tokenId,Long expiredMs){
-        return Jwts.builder()
+    public String createJwt(String category, String username, String role, String tokenId, long expiredMs){
+        return createJwt(category, username, role, tokenId, null, expiredMs);
+    }
+
+    // familyId 가 있으면 클레임에 포함 (Refresh Token 로테이션 체인 추적용)
+    public String createJwt(String category, String username, String role, String tokenId, String familyId, long expiredMs){
+        return createJwt(category, username, role, tokenId, familyId, System.currentTimeMillis(), expiredMs);
+    }
+
+    // 발급 시각 지정, 토큰을 만들기 전에 exp 가 필요한 경우 (expiresAt(issuedAt, expiredMs) 가 이 토큰의 exp 와 같음)
+    public String createJwt(String category, String username, String role, String tokenId, String familyId, long issuedAt, long expiredMs){
+        long now = issuedAt;     // iat/exp 가 같은 시각을 기준으로 함
+        JwtBuilder builder = Jwts.builder()
                 .claim("category",category)
                 .claim("username",username)
                 .claim("role",role)
                 .claim("tokenId", tokenId)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiredMs))
-                .signWith(secretKey)
+                .claim("familyId", familyId)            // null 이면 클레임을 만들지 않음
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiredMs));
+
+        JwtKeyRing.RingKey ringKey = keyRing.signingKey(now);
+        if (ringKey != null) {
+            return builder.header().keyId(ringKey.kid()).and()
+                    .signWith(ringKey.signingKey(), signatureAlgorithm(ringKey.algorithm()))
+                    .compact();
+        }
+        if (signingKeys != null) {
+            // 검증 측이 JWKS 에서 공개키를 고를 수 있도록 kid 헤더 포함
+            return builder.header().keyId(signingKeys.keyId()).and()
+                    .signWith(signingKeys.privateKey(), signingKeys.signatureAlgorithm())
+                    .compact();
+        }
+        return builder
+                .signWith(secretKey, Jwts.SIG.HS256)       // 키 길이로 알고리즘을 추론하지 않도록 명시
                 .compact();
     }
 
-    public long getExpiration(String token) {
-        try {
-            // 토큰 검증 + 파싱
-            Jwt<?, Claims> jwt = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+    // 검증 시 JwtClaims.expiresAt() 으로 돌아오는 exp 값 (JWT 의 시각은 초 단위이므로 밀리초는 버려짐)
+    public static long expiresAt(long issuedAt, long expiredMs) {
+        return (issuedAt + expiredMs) / 1000 * 1000;
+    }
 
-            Claims claims = jwt.getPayload();
-            Date exp = claims.getExpiration(); // "exp"를 Date로 가져옴
-            return exp.getTime() - System.currentTimeMillis();
+    @SuppressWarnings("unchecked")
+    private static SecureDigestAlgorithm<Key, ?> signatureAlgorithm(JwtAlgorithm algorithm) {
+        return (SecureDigestAlgorithm<Key, ?>) algorithm.signatureAlgorithm();
+    }
 
-        } catch (ExpiredJwtException e) {
-            // 이미 만료된 경우, 남은 시간은 0
-            return 0;
+    // JWKS 로 공개할 공개키 목록 (키 목록의 비대칭 키 + 설정 파일의 비대칭 키, HS256 키는 공개하지 않음)
+    public List<PublicJwk<?>> publicJwks() {
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        for (JwtKeyRing.RingKey key : keyRing.keys()) {
+            if (key.publicJwk() != null) {
+                jwks.add(key.publicJwk());
+            }
+        }
+        if (signingKeys != null) {
+            jwks.add(signingKeys.publicJwk());
+        }
+        return jwks;
+    }
+
+    // 헤더의 kid/alg 로 검증 키 선택
+    // - kid 가 키 목록에 있으면 해당 키 (alg 가 키의 알고리즘과 다르면 거부)
+    // - 그 외에는 설정 파일의 키, 비대칭/키 목록 서명으로 전환한 뒤의 HS256 토큰은 legacy-hs256 기간 안에서만 검증 (iat 는 파싱 후 확인)
+    private class VerificationKeyLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            String alg = header.getAlgorithm();
+            String kid = header.getKeyId();
+            JwtKeyRing.RingKey ringKey = kid != null ? keyRing.find(kid) : null;
+            if (ringKey != null) {
+                if (!ringKey.algorithm().id().equals(alg)) {
+                    throw new UnsupportedJwtException("JWS algorithm " + alg + " does not match key " + kid);
+                }
+                return ringKey.verificationKey();
+            }
+            if (Jwts.SIG.HS256.getId().equals(alg)) {
+                long now = System.currentTimeMillis();
+                if (!signsWithSecret(now) && now >= legacyAcceptUntil) {
+                    throw new SignatureException("HS256 tokens signed with the configured secret are no longer accepted");
+                }
+                return secretKey;
+            }
+            if (signingKeys != null && signingKeys.algorithm().id().equals(alg)) {
+                return signingKeys.publicKey();
+            }
+            throw new UnsupportedJwtException("Unsupported JWS algorithm: " + alg);
         }
     }
 }
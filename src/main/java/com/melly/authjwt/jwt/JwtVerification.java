@@ -0,0 +1,35 @@
+package com.melly.authjwt.jwt;
+
+// JwtUtil.verify() 의 결과
+// 만료된 토큰도 서명 검증은 끝난 상태이므로 claims 를 함께 돌려줌 (로그아웃 등에서 사용)
+public record JwtVerification(JwtStatus status, JwtClaims claims) {
+
+    public static JwtVerification valid(JwtClaims claims) {
+        return new JwtVerification(JwtStatus.VALID, claims);
+    }
+
+    public static JwtVerification expired(JwtClaims claims) {
+        return new JwtVerification(JwtStatus.EXPIRED, claims);
+    }
+
+    public static JwtVerification malformed() {
+        return new JwtVerification(JwtStatus.MALFORMED, null);
+    }
+
+    public static JwtVerification invalidSignature() {
+        return new JwtVerification(JwtStatus.INVALID_SIGNATURE, null);
+    }
+
+    public boolean isValid() {
+        return status == JwtStatus.VALID;
+    }
+
+    public boolean isExpired() {
+        return status == JwtStatus.EXPIRED;
+    }
+
+    // 해당 category 의 유효한 토큰인지
+    public boolean isValid(String category) {
+        return isValid() && category.equals(claims.category());
+    }
+}
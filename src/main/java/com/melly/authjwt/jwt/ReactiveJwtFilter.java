@@ -0,0 +1,153 @@
+package com.melly.authjwt.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melly.authjwt.common.auth.TokenPrincipalResolver;
+import com.melly.authjwt.common.dto.ResponseDto;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.metrics.AuthMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// reactive 프로필(WebFlux)의 JWT 인증 필터, JwtFilter 와 같은 순서로 검증
+// 1) 검증 캐시 hit 이면 서명 검증/사용자 조회 생략
+// 2) 서명/만료/카테고리 검증 (CPU 작업, event loop 에서 바로 수행)
+// 3) 블랙리스트: 로컬 Bloom filter, 걸린 경우에만 Redis reactive 조회 (ReactiveTokenBlacklist)
+// 4) principal: 계정 상태가 캐시에 있으면(claims-only 모드) 바로 구성, 아니면 DB 조회를 boundedElastic 스케줄러에서 실행
+// 인증 정보는 SecurityContextHolder(ThreadLocal) 대신 Reactor Context 로 전달
+@Slf4j
+public class ReactiveJwtFilter implements WebFilter {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // ErrorType 별 응답 본문은 한 번만 직렬화
+    private static final Map<ErrorType, byte[]> ERROR_BODIES = new EnumMap<>(ErrorType.class);
+
+    static {
+        for (ErrorType errorType : ErrorType.values()) {
+            ResponseDto<Object> responseDto = ResponseDto.builder()
+                    .code(errorType.getStatus().value())
+                    .errorCode(errorType.getErrorCode())
+                    .message(errorType.getMessage())
+                    .data(null)
+                    .build();
+            try {
+                ERROR_BODIES.put(errorType, OBJECT_MAPPER.writeValueAsBytes(responseDto));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private final JwtUtil jwtUtil;
+    private final TokenPrincipalResolver tokenPrincipalResolver;
+    private final ReactiveTokenBlacklist reactiveTokenBlacklist;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
+
+    public ReactiveJwtFilter(JwtUtil jwtUtil, TokenPrincipalResolver tokenPrincipalResolver, ReactiveTokenBlacklist reactiveTokenBlacklist,
+                             VerifiedTokenCache verifiedTokenCache, AuthMetrics authMetrics) {
+        this.jwtUtil = jwtUtil;
+        this.tokenPrincipalResolver = tokenPrincipalResolver;
+        this.reactiveTokenBlacklist = reactiveTokenBlacklist;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        String accessToken = header.substring(7);
+
+        // 거부 시 에러 응답을 쓰고 끝내므로 이후 체인은 실행되지 않음
+        return authenticate(accessToken)
+                .onErrorResume(CustomException.class, e -> {
+                    log.error("Rejected JWT token - {}", e.getErrorType());
+                    authMetrics.recordError(e.getErrorType());
+                    return writeError(exchange.getResponse(), e.getErrorType()).then(Mono.<UserDetails>empty());
+                })
+                .flatMap(principal -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()))));
+    }
+
+    private Mono<UserDetails> authenticate(String accessToken) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            return checkBlacklist(accessToken, cached.claims())
+                    .flatMap(blacklisted -> {
+                        if (blacklisted) {
+                            verifiedTokenCache.evict(accessToken);
+                            return Mono.error(new CustomException(ErrorType.TOKEN_BLACKLISTED));
+                        }
+                        return principal(tokenPrincipalResolver.checksCachedWithoutBlocking(cached.principal().getUsername()), () -> {
+                            tokenPrincipalResolver.checkCachedPrincipal(cached.principal());
+                            return cached.principal();
+                        });
+                    });
+        }
+
+        long parseStart = System.nanoTime();
+        JwtVerification verification = jwtUtil.verify(accessToken);
+        authMetrics.recordStage(AuthMetrics.Stage.PARSE, parseStart);
+        if (verification.isExpired()) {
+            return Mono.error(new CustomException(ErrorType.EXPIRED_ACCESS_TOKEN));
+        }
+        if (!verification.isValid("AccessToken")) {
+            return Mono.error(new CustomException(ErrorType.INVALID_ACCESS_TOKEN));
+        }
+
+        JwtClaims claims = verification.claims();
+        return checkBlacklist(accessToken, claims)
+                .flatMap(blacklisted -> {
+                    if (blacklisted) {
+                        return Mono.error(new CustomException(ErrorType.TOKEN_BLACKLISTED));
+                    }
+                    long principalStart = System.nanoTime();
+                    return principal(tokenPrincipalResolver.resolvesWithoutBlocking(claims.username()),
+                            () -> tokenPrincipalResolver.resolve(claims))
+                            .doOnNext(principal -> {
+                                authMetrics.recordStage(AuthMetrics.Stage.PRINCIPAL, principalStart);
+                                verifiedTokenCache.put(accessToken, claims, principal);
+                            });
+                });
+    }
+
+    private Mono<Boolean> checkBlacklist(String accessToken, JwtClaims claims) {
+        long start = System.nanoTime();
+        return reactiveTokenBlacklist.isBlacklisted(accessToken, claims)
+                .doOnNext(blacklisted -> authMetrics.recordStage(AuthMetrics.Stage.BLACKLIST, start));
+    }
+
+    // DB 조회가 필요한 경우에만 블로킹 전용 스케줄러로 이동
+    private Mono<UserDetails> principal(boolean nonBlocking, Callable<UserDetails> resolve) {
+        Mono<UserDetails> principal = Mono.fromCallable(resolve);
+        return nonBlocking ? principal : principal.subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ReactiveSecurityConfig 의 인증/인가 실패 응답에도 사용
+    public static Mono<Void> writeError(ServerHttpResponse response, ErrorType errorType) {
+        response.setStatusCode(errorType.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (errorType.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(ERROR_BODIES.get(errorType))));
+    }
+}
@@ -0,0 +1,52 @@
+package com.melly.authjwt.jwt;
+
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// reactive 프로필용 블랙리스트 조회
+// 로컬 Bloom filter 판단/등록/pub-sub 동기화는 TokenBlacklist 를 그대로 사용하고,
+// Bloom filter 에 걸린 경우의 Redis 확인만 Lettuce reactive 명령으로 수행 (event loop 스레드를 막지 않음)
+// Redis 장애 시 판단은 servlet 과 같이 RedisCircuitBreaker 상태와 spring.redis-resilience.blacklist-lookup 정책을 따름
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTokenBlacklist {
+    private static final Mono<Boolean> NOT_BLACKLISTED = Mono.just(false);
+    private static final Mono<Boolean> BLACKLISTED = Mono.just(true);
+
+    private final TokenBlacklist tokenBlacklist;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public Mono<Boolean> isBlacklisted(String accessToken, JwtClaims claims) {
+        if (tokenBlacklist.isConfirmed(claims)) {
+            return BLACKLISTED;
+        }
+        if (!tokenBlacklist.requiresLookup(claims)) {
+            return NOT_BLACKLISTED;
+        }
+        if (circuitBreaker.isOpen()) {
+            return Mono.fromCallable(() -> tokenBlacklist.isBlacklistedWithoutRedis(claims));
+        }
+        // 신규/이전 형식 키를 같은 연결에서 동시에 확인
+        return Flux.fromIterable(tokenBlacklist.lookupKeys(accessToken, claims))
+                .flatMap(reactiveStringRedisTemplate::hasKey)
+                .any(Boolean::booleanValue)
+                .doOnNext(blacklisted -> {
+                    circuitBreaker.recordSuccess();
+                    if (blacklisted) {
+                        tokenBlacklist.confirm(claims);
+                    }
+                })
+                .onErrorResume(DataAccessException.class, e -> {
+                    circuitBreaker.recordFailure(e);
+                    return Mono.fromCallable(() -> tokenBlacklist.isBlacklistedWithoutRedis(claims));
+                });
+    }
+}
@@ -0,0 +1,320 @@
+package com.melly.authjwt.jwt;
+
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.dto.response.RefreshTokenDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Redis 에 저장되는 Refresh Token 과 사용자별 세션 인덱스, 로테이션 체인(family) 관리
+// - RefreshToken:{username}:{tokenId} : Refresh Token 정보 (TTL = Refresh Token 수명)
+// - Sessions:{username}               : Hash (tokenId -> "{Refresh Token 만료 시각}:{Access Token 만료 시각}:{familyId}", epoch millis), 사용자별 세션 목록
+//                                       같은 tokenId 로 발급된 Access Token 을 폐기할 때 정확한 만료 시각으로 블랙리스트에 등록하기 위해 함께 보관
+//                                       (이전 형식 값은 Refresh Token 만료 시각 숫자 하나)
+// - RefreshFamily:{familyId}          : 해당 체인에서 현재 유효한 tokenId 하나 (TTL = 마지막 로테이션 기준 Refresh Token 수명)
+// 토큰 키와 인덱스는 항상 Lua 스크립트로 함께 변경하므로 (공유 연결에서 한 번의 왕복, MULTI/EXEC 와 달리 전용 연결이 필요 없음), 세션 조회/전체 로그아웃에 KEYS/SCAN 이 필요 없음
+// 만료된 인덱스 항목은 조회 시점에 지연 삭제 (재처리 큐 정책)
+// Redis 장애 시 (RedisCircuitBreaker) 저장/삭제는 spring.redis-resilience.refresh-write 정책에 따라 재처리 큐에 보관,
+// 로테이션/세션 조회/전체 삭제는 결과가 필요하므로 REDIS_UNAVAILABLE(503)
+// Redis standalone/Sentinel 전용 (Cluster 미지원, 기동 시 확인)
+// - 로테이션 스크립트는 재사용 감지 시 폐기할 토큰 키를, 전체 삭제 스크립트는 세션 인덱스에 있는 토큰/family 키를 스크립트 안에서 만들어 삭제함
+//   (삭제할 tokenId/familyId 는 family/인덱스를 읽어야 알 수 있으므로 KEYS 로 미리 넘길 수 없고, 키가 여러 slot 에 흩어져 있음)
+@Component
+public class RefreshTokenStore {
+    private static final String KEY_PREFIX = "RefreshToken:";
+    private static final String INDEX_PREFIX = "Sessions:";
+    private static final String FAMILY_PREFIX = "RefreshFamily:";
+
+    // KEYS[1] = 세션 인덱스, ARGV[1] = Refresh Token 키 prefix, ARGV[2] = family 키 prefix
+    // (삭제하는 토큰/family 키는 KEYS 로 선언되지 않음 -> Cluster 에서 사용 불가)
+    // 반환: {tokenId, 세션 값, ...} (HGETALL), 세션 값에 familyId 가 있으면 체인 기록도 함께 삭제
+    private static final RedisScript<List> DELETE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                redis.call('DEL', ARGV[1] .. entries[i])
+                local familyId = string.match(entries[i + 1], '^"?%-?%d+:%-?%d+:([^"]+)"?$')
+                if familyId then
+                    redis.call('DEL', ARGV[2] .. familyId)
+                end
+            end
+            redis.call('DEL', KEYS[1])
+            return entries
+            """, List.class);
+
+    // KEYS[1] = 토큰 키, KEYS[2] = 세션 인덱스, KEYS[3] = family (없으면 생략), ARGV[1] = tokenId
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            if KEYS[3] then
+                redis.call('DEL', KEYS[3])
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS[1] = 토큰 키, KEYS[2] = 세션 인덱스, KEYS[3] = family
+    // ARGV[1] = 토큰 값, ARGV[2] = TTL(ms), ARGV[3] = tokenId, ARGV[4] = 세션 값
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            redis.call('HSET', KEYS[2], ARGV[3], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[2])
+            redis.call('SET', KEYS[3], ARGV[3], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS[1] = 기존 토큰 키, KEYS[2] = 새 토큰 키, KEYS[3] = 세션 인덱스, KEYS[4] = family
+    // ARGV[1] = 새 토큰 값, ARGV[2] = TTL(ms), ARGV[3] = 기존 tokenId, ARGV[4] = 새 tokenId, ARGV[5] = 새 세션 값,
+    // ARGV[6] = Refresh Token 키 prefix (폐기할 토큰 키는 KEYS 로 선언되지 않음 -> Cluster 에서 사용 불가)
+    // 반환: {0} = 기존 토큰 없음, {1} = 로테이션 성공, {2, 폐기된 tokenId, 폐기된 세션 값 (없으면 '')} = 재사용 감지로 family 폐기
+    // family 가 없으면 (family 도입 전 발급 토큰) 기존 토큰 키 존재 여부만 확인하고 새 family 를 시작
+    private static final RedisScript<List> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[4])
+            if current and current ~= ARGV[3] then
+                local session = redis.call('HGET', KEYS[3], current)
+                redis.call('DEL', ARGV[6] .. current, KEYS[4])
+                redis.call('HDEL', KEYS[3], current)
+                return {2, current, session or ''}
+            end
+            if redis.call('DEL', KEYS[1]) == 0 then
+                return {0}
+            end
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+            redis.call('HDEL', KEYS[3], ARGV[3])
+            redis.call('HSET', KEYS[3], ARGV[4], ARGV[5])
+            redis.call('PEXPIRE', KEYS[3], ARGV[2])
+            redis.call('SET', KEYS[4], ARGV[4], 'PX', ARGV[2])
+            return {1}
+            """, List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public RefreshTokenStore(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker circuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    // 스크립트가 선언하지 않은 키에 접근하므로 Cluster 연결이면 기동 중단
+    @PostConstruct
+    void requireStandalone() {
+        if (redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory factory && factory.isClusterAware()) {
+            throw new IllegalStateException("RefreshTokenStore scripts access undeclared keys and do not support Redis Cluster");
+        }
+    }
+
+    public static String key(String username, String tokenId) {
+        return KEY_PREFIX + username + ":" + tokenId;
+    }
+
+    private static String indexKey(String username) {
+        return INDEX_PREFIX + username;
+    }
+
+    private static String familyKey(String familyId) {
+        return FAMILY_PREFIX + familyId;
+    }
+
+    // Refresh Token 저장 + 세션 인덱스 등록 + 새 family 시작 (한 번의 왕복)
+    // accessExpiresAt 은 같은 tokenId 로 발급된 Access Token 의 만료 시각 (JwtUtil.expiresAt)
+    public void save(RefreshTokenDto dto, String familyId, long accessExpiresAt, Duration ttl) {
+        long deadline = System.currentTimeMillis() + ttl.toMillis();
+        circuitBreaker.write(RedisCircuitBreaker.Operation.REFRESH_WRITE,
+                circuitBreaker.properties().refreshWrite(),
+                () -> store(dto, familyId, accessExpiresAt, deadline - System.currentTimeMillis()));
+    }
+
+    // 재처리 시에는 남은 수명으로 저장
+    private void store(RefreshTokenDto dto, String familyId, long accessExpiresAt, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        String username = dto.getGetUsername();
+
+        redisTemplate.execute(
+                SAVE_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(key(username, dto.getTokenId()), indexKey(username), familyKey(familyId)),
+                serialize(dto),
+                bytes(String.valueOf(ttlMillis)),
+                bytes(dto.getTokenId()),
+                serialize(new Session(epochMillis(dto), accessExpiresAt, familyId).value())
+        );
+    }
+
+    // 기존 Refresh Token 확인/소비와 새 Refresh Token 저장을 한 번의 왕복으로 원자적으로 수행
+    // 제시된 토큰이 family 의 현재 토큰이 아니면 이미 로테이션된 토큰의 재사용이므로 family 전체를 폐기
+    // family 기록은 체인당 tokenId 하나뿐이므로 로테이션 횟수와 무관하게 메모리 사용량이 일정
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Rotation rotate(String oldTokenId, String familyId, RefreshTokenDto newDto, long accessExpiresAt, Duration ttl) {
+        String username = newDto.getGetUsername();
+
+        List<Object> result = circuitBreaker.call(RedisCircuitBreaker.Operation.REFRESH_ROTATE, () -> redisTemplate.execute(
+                ROTATE_SCRIPT,
+                RedisSerializer.byteArray(),
+                (RedisSerializer) StringRedisSerializer.UTF_8,
+                List.of(key(username, oldTokenId), key(username, newDto.getTokenId()), indexKey(username), familyKey(familyId)),
+                serialize(newDto),
+                bytes(String.valueOf(ttl.toMillis())),
+                bytes(oldTokenId),
+                bytes(newDto.getTokenId()),
+                serialize(new Session(epochMillis(newDto), accessExpiresAt, familyId).value()),
+                bytes(KEY_PREFIX + username + ":")
+        ));
+
+        long outcome = result == null || result.isEmpty() ? 0L : ((Number) result.get(0)).longValue();
+        if (outcome == 1L) {
+            return Rotation.rotated();
+        }
+        if (outcome == 2L) {
+            return Rotation.reused((String) result.get(1), result.size() > 2 ? Session.parse(result.get(2)) : null);
+        }
+        return Rotation.notFound();
+    }
+
+    // 세션 값(String)도 값 직렬화기로 저장하여 opsForHash 조회 시 같은 형식으로 돌아오도록 함
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private static long epochMillis(RefreshTokenDto dto) {
+        return dto.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Refresh Token 삭제 + 세션 인덱스에서 제거, familyId 가 있으면 체인 기록도 함께 삭제
+    public void delete(String username, String tokenId, String familyId) {
+        List<String> keys = familyId != null
+                ? List.of(key(username, tokenId), indexKey(username), familyKey(familyId))
+                : List.of(key(username, tokenId), indexKey(username));
+        circuitBreaker.write(RedisCircuitBreaker.Operation.REFRESH_WRITE,
+                circuitBreaker.properties().refreshWrite(),
+                () -> redisTemplate.execute(
+                        DELETE_SCRIPT,
+                        StringRedisSerializer.UTF_8,
+                        new GenericToStringSerializer<>(Long.class),
+                        keys,
+                        tokenId
+                ));
+    }
+
+    // 사용자의 활성 세션 목록 (tokenId -> 만료 시각), 만료된 항목은 이때 인덱스에서 정리
+    public Map<String, Long> sessions(String username) {
+        Map<Object, Object> entries = circuitBreaker.call(RedisCircuitBreaker.Operation.SESSIONS,
+                () -> redisTemplate.opsForHash().entries(indexKey(username)));
+        long now = System.currentTimeMillis();
+
+        Map<String, Long> sessions = new LinkedHashMap<>();
+        List<Object> expired = new ArrayList<>();
+        entries.forEach((tokenId, value) -> {
+            Session session = Session.parse(value);
+            if (session != null && session.expiresAt() > now) {
+                sessions.put((String) tokenId, session.expiresAt());
+            } else {
+                expired.add(tokenId);
+            }
+        });
+
+        if (!expired.isEmpty()) {
+            // 정리는 결과와 무관하므로 Redis 장애 시에도 조회를 실패시키지 않고 재처리 큐로 미룸
+            circuitBreaker.write(RedisCircuitBreaker.Operation.SESSIONS, RedisResilienceProperties.WritePolicy.QUEUE,
+                    () -> redisTemplate.opsForHash().delete(indexKey(username), expired.toArray()));
+        }
+        return sessions;
+    }
+
+    // 사용자의 모든 Refresh Token, 세션 인덱스, 체인 기록을 한 번에(원자적으로) 삭제하고, 삭제된 세션 (tokenId -> 세션) 을 반환
+    // 스크립트 결과가 리스트이면 resultSerializer 는 각 원소에 적용됨
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<String, Session> deleteAll(String username) {
+        List<String> entries = circuitBreaker.call(RedisCircuitBreaker.Operation.SESSIONS, () -> redisTemplate.execute(
+                DELETE_ALL_SCRIPT,
+                StringRedisSerializer.UTF_8,
+                (RedisSerializer) StringRedisSerializer.UTF_8,
+                List.of(indexKey(username)),
+                KEY_PREFIX + username + ":",
+                FAMILY_PREFIX
+        ));
+
+        Map<String, Session> sessions = new LinkedHashMap<>();
+        if (entries != null) {
+            for (int i = 0; i + 1 < entries.size(); i += 2) {
+                sessions.put(entries.get(i), Session.parse(entries.get(i + 1)));
+            }
+        }
+        return sessions;
+    }
+
+    // 세션 인덱스 값
+    // accessExpiresAt 은 같은 tokenId 로 발급된 Access Token 의 만료 시각, 이전 형식 값이면 0 (familyId 는 null)
+    public record Session(long expiresAt, long accessExpiresAt, String familyId) {
+        public boolean hasAccessExpiresAt() {
+            return accessExpiresAt > 0;
+        }
+
+        String value() {
+            return expiresAt + ":" + accessExpiresAt + ":" + familyId;
+        }
+
+        // opsForHash 로 읽은 값 (Number = 이전 형식, String) 또는 스크립트가 반환한 원본 값 (JSON 문자열이면 따옴표 포함)
+        static Session parse(Object value) {
+            if (value instanceof Number number) {
+                return new Session(number.longValue(), 0, null);
+            }
+            if (!(value instanceof String raw) || raw.isEmpty()) {
+                return null;
+            }
+            String text = raw.length() > 1 && raw.startsWith("\"") && raw.endsWith("\"")
+                    ? raw.substring(1, raw.length() - 1)
+                    : raw;
+            try {
+                String[] parts = text.split(":", 3);
+                if (parts.length < 3) {
+                    return new Session(Long.parseLong(parts[0]), 0, null);
+                }
+                return new Session(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    // 로테이션 결과, 재사용이 감지된 경우 폐기된 현재 tokenId 와 그 세션을 함께 반환 (해당 Access Token 차단용, 세션을 찾지 못하면 null)
+    public record Rotation(Outcome outcome, String revokedTokenId, Session revokedSession) {
+        public enum Outcome {
+            ROTATED,        // 로테이션 성공
+            NOT_FOUND,      // 만료/로그아웃 등으로 저장된 토큰이 없음
+            REUSED          // 이미 로테이션된 토큰이 다시 제시됨 -> family 전체 폐기
+        }
+
+        public static Rotation rotated() {
+            return new Rotation(Outcome.ROTATED, null, null);
+        }
+
+        public static Rotation notFound() {
+            return new Rotation(Outcome.NOT_FOUND, null, null);
+        }
+
+        public static Rotation reused(String revokedTokenId, Session revokedSession) {
+            return new Rotation(Outcome.REUSED, revokedTokenId, revokedSession);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.melly.authjwt.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.common.util.ExpiringBloomFilter;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+// Access Token 블랙리스트
+// Redis 가 원본 저장소이고, 각 노드는 블랙리스트에 등록된 토큰을 로컬 Bloom filter 에도 보관함
+// 키는 토큰 전체 대신 tokenId 클레임을 사용 (BLACKLIST:{tokenId}) 하여 Redis 메모리와 조회 시 전송량을 줄임
+// - 조회 : 로컬 Bloom filter 에 없으면 Redis 조회 없이 즉시 통과 (대부분의 요청)
+//          있을 수도 있다고 나오면(실제 등록 or 오탐) 그때만 Redis 로 확인
+// - 등록 : Redis 저장 + 로컬 Bloom filter 추가 + Redis pub/sub 으로 다른 노드에 전파 (저장/전파는 스크립트 한 번의 왕복)
+// - 확인 캐시 : Redis 에서 블랙리스트로 확인된 tokenId 는 토큰 만료 시각까지 로컬에 보관하여 같은 토큰의 재시도는 Redis 조회 없이 거부
+//              Bloom filter 보다 먼저 확인 (이 노드에서 등록/확인된 토큰은 slice 와 무관하게 거부)
+//              블랙리스트 키는 만료 전에 삭제되지 않으므로 무효화가 필요 없음 (오탐으로 Redis 에 없다고 확인된 경우는 보관하지 않음)
+// - 시작 : 구독 후 기존 블랙리스트 키를 한 번 읽어 Bloom filter 를 채우기 전까지는 항상 Redis 로 확인
+//          만료 시각은 키 값({expiresAt} 또는 범위 {earliest}-{latest})에서 읽음 (TTL 로 역산하면 노드 간 시계 차이로 slice 가 어긋날 수 있음)
+//          (Redis 장애로 실패하면 Redis 조회 모드로 동작하며 스케줄러에서 주기적으로 다시 시도, spring.jwt.blacklist.warm-up-retry-interval)
+// - 재구독 : pub/sub 은 연결이 끊긴 동안의 메시지를 다시 보내지 않으므로, 구독이 다시 맺어지면 다시 워밍업할 때까지 모든 조회를 Redis 로 확인
+//           (다시 워밍업은 같은 스케줄러에서 실행, 그동안 Redis 장애 시에는 기존 Bloom filter 로 판단)
+// - Redis 장애 : RedisCircuitBreaker 가 차단하면 Redis 없이 로컬 상태(확인 캐시 + Bloom filter)로 판단
+//               등록은 로컬에 바로 반영하고 Redis 저장/전파는 재처리 큐에서 복구 후 실행 (spring.redis-resilience.*)
+// - 이전 형식(BLACKLIST_{accessToken}) 키는 legacy-keys 옵션이 켜져 있으면 만료될 때까지 함께 인정
+@Slf4j
+@Component
+public class TokenBlacklist implements MessageListener, SubscriptionListener {
+    private static final String KEY_PREFIX = "BLACKLIST:";
+    private static final String LEGACY_KEY_PREFIX = "BLACKLIST_";
+    private static final String CHANNEL = "blacklist";
+    private static final int SCAN_BATCH = 1000;
+    // 값에 만료 시각이 없는 이전 키는 TTL 로 역산하고, 시계 차이/지연만큼 앞뒤 slice 에도 등록
+    private static final long TTL_ESTIMATE_MARGIN_MILLIS = 60_000L;
+
+    // KEYS[1] = 블랙리스트 키, ARGV[1] = 값, ARGV[2] = TTL(ms), ARGV[3] = 채널, ARGV[4..] = 메시지 ({expiresAt}:{tokenId}, slice 마다 하나)
+    private static final RedisScript<Long> BLACKLIST_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            for i = 4, #ARGV do
+                redis.call('PUBLISH', ARGV[3], ARGV[i])
+            end
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtUtil jwtUtil;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ExpiringBloomFilter bloomFilter;
+    private final boolean legacyKeys;
+    private final Cache<String, Long> confirmed;     // tokenId -> 토큰 만료 시각
+    private volatile boolean warmedUp = false;
+    private final AtomicBoolean warmingUp = new AtomicBoolean(false);
+    private volatile boolean warmUpAttempted = false;
+    // 구독(재구독 포함) 횟수와, 마지막으로 워밍업을 마친 시점의 구독 횟수 -> 다르면 그 사이 메시지를 놓쳤을 수 있음
+    private final AtomicLong subscriptions = new AtomicLong();
+    private volatile long warmedUpSubscriptions = 0L;
+
+    public TokenBlacklist(RedisTemplate<String, Object> redisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          JwtUtil jwtUtil,
+                          RedisCircuitBreaker circuitBreaker,
+                          @Value("${spring.jwt.blacklist.slice-millis:600000}") long sliceMillis,
+                          @Value("${spring.jwt.blacklist.expected-per-slice:100000}") long expectedPerSlice,
+                          @Value("${spring.jwt.blacklist.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${spring.jwt.blacklist.legacy-keys:true}") boolean legacyKeys,
+                          @Value("${spring.jwt.blacklist.confirmed-cache-size:10000}") long confirmedCacheSize) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.jwtUtil = jwtUtil;
+        this.circuitBreaker = circuitBreaker;
+        this.bloomFilter = new ExpiringBloomFilter(sliceMillis, expectedPerSlice, falsePositiveRate);
+        this.legacyKeys = legacyKeys;
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(confirmedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 로그아웃 등으로 토큰을 블랙리스트에 등록 (토큰 만료 시각까지만 유지)
+    // 이 노드는 Redis 결과와 무관하게 바로 거부하도록 로컬에 먼저 반영
+    public void blacklist(String tokenId, long expiresAt) {
+        blacklist(tokenId, expiresAt, expiresAt);
+    }
+
+    // 만료 시각을 정확히 알 수 없는 토큰 (만료 시각이 earliestExpiresAt ~ latestExpiresAt 중 하나)
+    // Bloom filter 는 만료 시각의 slice 하나만 확인하므로 범위에 걸친 slice 모두에 등록, 블랙리스트 키는 가장 늦은 만료 시각까지 유지
+    public void blacklist(String tokenId, long earliestExpiresAt, long latestExpiresAt) {
+        long now = System.currentTimeMillis();
+        if (latestExpiresAt <= now) {
+            return;
+        }
+        bloomFilter.put(tokenId, earliestExpiresAt, latestExpiresAt, now);
+        confirmed.put(tokenId, latestExpiresAt);
+        circuitBreaker.write(RedisCircuitBreaker.Operation.BLACKLIST_WRITE,
+                circuitBreaker.properties().blacklistWrite(),
+                () -> store(tokenId, earliestExpiresAt, latestExpiresAt));
+    }
+
+    // 재처리 시에도 남은 수명으로 TTL 을 다시 계산
+    private void store(String tokenId, long earliestExpiresAt, long latestExpiresAt) {
+        long now = System.currentTimeMillis();
+        long ttl = latestExpiresAt - now;
+        if (ttl <= 0) {
+            return;
+        }
+        // 값/메시지는 RedisTemplate 의 값 직렬화 형식 그대로 전달 (onMessage 에서 같은 직렬화기로 읽음)
+        // 범위 등록은 slice 마다 메시지 하나씩 보내 메시지 형식은 그대로 유지
+        List<Object> args = new ArrayList<>();
+        args.add(serialize(value(earliestExpiresAt, latestExpiresAt)));
+        args.add(bytes(String.valueOf(ttl)));
+        args.add(bytes(CHANNEL));
+        for (long expiresAt : bloomFilter.sliceExpiries(earliestExpiresAt, latestExpiresAt, now)) {
+            args.add(serialize(expiresAt + ":" + tokenId));
+        }
+        redisTemplate.execute(
+                BLACKLIST_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(KEY_PREFIX + tokenId),
+                args.toArray()
+        );
+    }
+
+    public boolean isBlacklisted(String accessToken, JwtClaims claims) {
+        if (isConfirmed(claims)) {
+            return true;
+        }
+        if (!requiresLookup(claims)) {
+            return false;
+        }
+
+        return circuitBreaker.read(RedisCircuitBreaker.Operation.BLACKLIST_LOOKUP,
+                () -> lookup(accessToken, claims),
+                () -> isBlacklistedWithoutRedis(claims));
+    }
+
+    // Redis 로 확인된 결과만 확인 캐시에 보관 (로컬 판단 결과는 복구 후 다시 확인)
+    private boolean lookup(String accessToken, JwtClaims claims) {
+        boolean blacklisted;
+        if (!legacyKeys) {
+            blacklisted = Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + claims.tokenId()));
+        } else {
+            // 신규 키와 이전 형식 키를 EXISTS 한 번으로 함께 확인
+            Long count = redisTemplate.countExistingKeys(lookupKeys(accessToken, claims));
+            blacklisted = count != null && count > 0;
+        }
+        if (blacklisted) {
+            confirm(claims);
+        }
+        return blacklisted;
+    }
+
+    // Redis 로 확인할 수 없을 때 (requiresLookup 이 true 이고 확인 캐시에 없는 토큰)
+    // - fail-open   : 통과 (확인 캐시에 있는 토큰만 거부)
+    // - fail-closed : Bloom filter 가 마지막으로 알고 있는 블랙리스트이므로 걸린 토큰은 거부 (오탐 비율만큼 정상 토큰도 거부)
+    //                 워밍업 전이라 로컬 상태가 없으면 판단할 수 없으므로 REDIS_UNAVAILABLE
+    public boolean isBlacklistedWithoutRedis(JwtClaims claims) {
+        if (circuitBreaker.properties().blacklistLookup() == RedisResilienceProperties.LookupPolicy.FAIL_OPEN) {
+            return false;
+        }
+        if (warmedUp) {
+            // 재구독 후 다시 워밍업하기 전이면 Bloom filter 에 없는 토큰도 조회 대상이므로 다시 확인
+            return bloomFilter.mightContain(claims.tokenId(), claims.expiresAt());
+        }
+        throw new CustomException(ErrorType.REDIS_UNAVAILABLE);
+    }
+
+    // 로컬 Bloom filter 만으로 판단, false 면 확실히 블랙리스트가 아님
+    // 워밍업 전, 또는 재구독 후 다시 워밍업하기 전에는 판단 불가 -> 항상 true
+    // Redis 조회는 호출하는 쪽에서 수행 (servlet: isBlacklisted, reactive: ReactiveTokenBlacklist)
+    public boolean requiresLookup(JwtClaims claims) {
+        return !warmedUp || missedMessages() || bloomFilter.mightContain(claims.tokenId(), claims.expiresAt());
+    }
+
+    private boolean missedMessages() {
+        return subscriptions.get() != warmedUpSubscriptions;
+    }
+
+    // 구독이 (다시) 맺어짐, 연결 복구 후 재구독이면 끊긴 동안의 메시지는 유실되었으므로 다시 워밍업 필요
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (CHANNEL.equals(new String(channel, StandardCharsets.UTF_8))) {
+            long current = subscriptions.incrementAndGet();
+            if (warmedUp) {
+                log.info("Token blacklist channel resubscribed, re-warming bloom filter (subscription #{})", current);
+            }
+        }
+    }
+
+    // 이전에 Redis 에서 블랙리스트로 확인된 토큰
+    public boolean isConfirmed(JwtClaims claims) {
+        return confirmed.getIfPresent(claims.tokenId()) != null;
+    }
+
+    // Redis 조회로 블랙리스트임이 확인된 경우 호출
+    public void confirm(JwtClaims claims) {
+        confirmed.put(claims.tokenId(), claims.expiresAt());
+    }
+
+    // 하나라도 존재하면 블랙리스트에 등록된 토큰
+    public List<String> lookupKeys(String accessToken, JwtClaims claims) {
+        if (!legacyKeys) {
+            return List.of(KEY_PREFIX + claims.tokenId());
+        }
+        return List.of(KEY_PREFIX + claims.tokenId(), LEGACY_KEY_PREFIX + accessToken);
+    }
+
+    // 다른 노드에서 등록된 블랙리스트 수신 ("{expiresAt}:{tokenId}")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String payload)) {
+            return;
+        }
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            long expiresAt = Long.parseLong(payload.substring(0, separator));
+            bloomFilter.put(payload.substring(separator + 1), expiresAt, System.currentTimeMillis());
+        } catch (NumberFormatException e) {
+            log.warn("Ignored malformed blacklist message");
+        }
+    }
+
+    // 블랙리스트 키 값: 만료 시각 (만료 시각을 범위로만 아는 경우 "{earliest}-{latest}")
+    private static String value(long earliestExpiresAt, long latestExpiresAt) {
+        return earliestExpiresAt == latestExpiresAt
+                ? String.valueOf(latestExpiresAt)
+                : earliestExpiresAt + "-" + latestExpiresAt;
+    }
+
+    // 기동 시 기존 블랙리스트 키로 Bloom filter 채우기 (SCAN 은 워밍업 시 한 번만 수행)
+    // 스캔 중에 다른 노드에서 등록된 토큰을 놓치지 않도록 구독을 먼저 시작
+    // 기동 시 워밍업과 재시도가 겹치면 나중 호출은 건너뜀
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmingUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            doWarmUp();
+        } finally {
+            warmUpAttempted = true;
+            warmingUp.set(false);
+        }
+    }
+
+    private void doWarmUp() {
+        try {
+            if (!listenerContainer.isRunning()) {
+                listenerContainer.start();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token blacklist subscription failed, falling back to Redis lookups - {}", e.getMessage());
+            return;
+        }
+
+        // 스캔 전에 구독 횟수를 읽어 둠 -> 스캔 중에 다시 재구독되면 다음 재시도에서 한 번 더 채움
+        long subscribed = subscriptions.get();
+        try {
+            int count = scan(KEY_PREFIX, this::load);
+            if (legacyKeys) {
+                count += scan(LEGACY_KEY_PREFIX, this::loadLegacyTokenKeys);
+            }
+            warmedUpSubscriptions = subscribed;
+            warmedUp = true;
+            log.info("Token blacklist bloom filter warmed up - {} entries", count);
+        } catch (RuntimeException e) {
+            // 워밍업 실패 시 Bloom filter 를 신뢰하지 않고 모든 조회를 Redis 로 확인
+            log.warn("Token blacklist warm-up failed, falling back to Redis lookups - {}", e.getMessage());
+        }
+    }
+
+    // SCAN 결과를 묶음 단위로 loader 에 전달
+    private int scan(String prefix, ToIntFunction<List<String>> loader) {
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH).build();
+        int count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(SCAN_BATCH);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH) {
+                    count += loader.applyAsInt(batch);
+                    batch.clear();
+                }
+            }
+            count += loader.applyAsInt(batch);
+        }
+        return count;
+    }
+
+    // BLACKLIST:{tokenId} 키, 값의 만료 시각으로 등록 (MGET 한 번으로 묶음 전체를 읽음)
+    private int load(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        int count = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String tokenId = key.substring(KEY_PREFIX.length());
+            Object value = values != null ? values.get(i) : null;
+            long now = System.currentTimeMillis();
+            long[] range = parseValue(value);
+            if (range == null) {
+                // 만료 시각이 없는 이전 값("logout"), 키를 읽을 때마다 현재 시각을 다시 읽어 TTL 로 역산
+                Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                if (ttl == null || ttl <= 0) {
+                    continue;
+                }
+                now = System.currentTimeMillis();
+                range = new long[]{now + ttl - TTL_ESTIMATE_MARGIN_MILLIS, now + ttl + TTL_ESTIMATE_MARGIN_MILLIS};
+            }
+            if (range[1] > now) {
+                bloomFilter.put(tokenId, range[0], range[1], now);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 이전 형식 BLACKLIST_{accessToken} 키, 토큰을 검증하여 tokenId 와 만료 시각으로 등록
+    private int loadLegacyTokenKeys(List<String> keys) {
+        int count = 0;
+        for (String key : keys) {
+            JwtClaims claims = jwtUtil.verify(key.substring(LEGACY_KEY_PREFIX.length())).claims();
+            long now = System.currentTimeMillis();
+            if (claims != null && claims.expiresAt() > now) {
+                bloomFilter.put(claims.tokenId(), claims.expiresAt(), now);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 키 값 -> {earliest, latest}, 만료 시각이 없는 값이면 null
+    private static long[] parseValue(Object value) {
+        if (value instanceof Number number) {
+            return new long[]{number.longValue(), number.longValue()};
+        }
+        if (!(value instanceof String text)) {
+            return null;
+        }
+        int separator = text.indexOf('-');
+        try {
+            if (separator < 0) {
+                long expiresAt = Long.parseLong(text);
+                return new long[]{expiresAt, expiresAt};
+            }
+            return new long[]{Long.parseLong(text.substring(0, separator)), Long.parseLong(text.substring(separator + 1))};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 기동 시 워밍업이 실패했거나 재구독 후 아직 다시 채우지 않았다면 일정 간격으로 다시 시도
+    // (요청 처리 스레드와 무관하게 스케줄러에서 실행)
+    @Scheduled(fixedDelayString = "${spring.jwt.blacklist.warm-up-retry-interval:PT30S}",
+            initialDelayString = "${spring.jwt.blacklist.warm-up-retry-interval:PT30S}")
+    public void retryWarmUp() {
+        if (warmUpAttempted && (!warmedUp || missedMessages())) {
+            warmUp();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Long> {
+        @Override
+        public long expireAfterCreate(String tokenId, Long expiresAt, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Long expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Long expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.melly.authjwt.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+// 한 번 검증을 통과한 Access Token 을 exp 까지 메모리에 보관하는 로컬 캐시
+// 같은 토큰으로 들어오는 반복 요청은 서명 검증, 블랙리스트 조회(Redis), 사용자 조회(DB)를 모두 건너뜀
+// 원본 토큰 대신 SHA-256 다이제스트를 키로 사용하여 메모리에 토큰 문자열을 남기지 않음
+// 캐시된 principal 은 사용자 변경 시 UserCache 가 evictUser 로 제거 (그 전까지는 이전 역할/상태가 유지됨)
+@Component
+public class VerifiedTokenCache {
+    // 요청마다 새 스레드인 가상 스레드 모드에서는 ThreadLocal 재사용이 되지 않으므로, 미리 만든 인스턴스를 복제해서 사용
+    // (복제는 provider 조회 없이 내부 상태 배열만 복사)
+    private static final MessageDigest SHA256;
+
+    static {
+        try {
+            SHA256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final boolean enabled;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${spring.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${spring.jwt.cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)           // 크기 기반 제거
+                .expireAfter(new UntilTokenExpiry()) // 엔트리마다 토큰의 exp 시점에 만료
+                .recordStats()
+                .build();
+
+        // hit/miss/eviction 지표 등록 (cache.gets{result=hit|miss} 등)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-token");
+    }
+
+    // 캐시에 없거나 비활성화 상태면 null
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, JwtClaims claims, UserDetails principal) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(digest(token), new VerifiedToken(claims, principal));
+    }
+
+    // 로그아웃 시 즉시 제거
+    public void evict(String token) {
+        if (token == null) {
+            return;
+        }
+        cache.invalidate(digest(token));
+    }
+
+    // 역할/상태가 바뀐 사용자의 토큰을 모두 제거 (UserCache 무효화 시), 드문 작업이므로 전체를 훑음
+    public void evictUser(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(verified -> username.equals(verified.claims().username()));
+    }
+
+    private TokenDigest digest(String token) {
+        MessageDigest md;
+        try {
+            md = (MessageDigest) SHA256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    // 검증된 토큰의 클레임과, 이를 기반으로 만들어둔 principal
+    public record VerifiedToken(JwtClaims claims, UserDetails principal) {
+    }
+
+    // SHA-256 (256bit) 다이제스트를 long 4개로 보관 (equals/hashCode 자동 생성)
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(value.claims().remainingMillis(System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.melly.authjwt.service;
 import com.melly.authjwt.dto.request.LoginRequestDto;
 import com.melly.authjwt.dto.response.LoginResponseDto;
 import com.melly.authjwt.dto.response.ReIssueTokenDto;
+import com.melly.authjwt.dto.response.SessionDto;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.List;
+
 public interface AuthService {
-    LoginResponseDto login(LoginRequestDto dto, HttpServletResponse response);
+    LoginResponseDto login(LoginRequestDto dto, HttpServletRequest request, HttpServletResponse response);
     ReIssueTokenDto reissueToken(HttpServletRequest request, HttpServletResponse response);
     void logout(HttpServletRequest request, HttpServletResponse response);
+    List<SessionDto> getSessions(String username, HttpServletRequest request);
+    void logoutAll(String username, HttpServletRequest request, HttpServletResponse response);
 }
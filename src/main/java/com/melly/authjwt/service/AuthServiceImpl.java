@@ -1,24 +1,30 @@
 package com.melly.authjwt.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melly.authjwt.common.auth.LoginRateLimiter;
 import com.melly.authjwt.common.auth.PrincipalDetails;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.metrics.AuthMetrics;
 import com.melly.authjwt.common.util.CookieUtil;
 import com.melly.authjwt.domain.entity.UserEntity;
 import com.melly.authjwt.dto.request.LoginRequestDto;
 import com.melly.authjwt.dto.response.LoginResponseDto;
 import com.melly.authjwt.dto.response.ReIssueTokenDto;
 import com.melly.authjwt.dto.response.RefreshTokenDto;
+import com.melly.authjwt.dto.response.SessionDto;
 import com.melly.authjwt.jwt.JwtUtil;
-import io.lettuce.core.RedisCommandTimeoutException;
+import com.melly.authjwt.jwt.JwtVerification;
+import com.melly.authjwt.jwt.RefreshTokenStore;
+import com.melly.authjwt.jwt.TokenBlacklist;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.RedisSystemException;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -28,36 +34,101 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
+// 로그인/재발급/로그아웃은 servlet 배포에서만 제공 (AuthController)
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RefreshTokenStore refreshTokenStore;
     private final CookieUtil cookieUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklist tokenBlacklist;
+    private final LoginRateLimiter loginRateLimiter;
+    private final AuthMetrics authMetrics;
 
+    // 처리 시간은 성공/실패(outcome)로 나누어 기록 (auth.operation)
     @Override
-    public LoginResponseDto login(LoginRequestDto dto, HttpServletResponse response) {
+    public LoginResponseDto login(LoginRequestDto dto, HttpServletRequest request, HttpServletResponse response) {
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword())
-            );
+            LoginResponseDto result = doLogin(dto, request, response);
+            success = true;
+            return result;
+        } finally {
+            authMetrics.recordOperation(AuthMetrics.Operation.LOGIN, start, success);
+        }
+    }
+
+    @Override
+    public ReIssueTokenDto reissueToken(HttpServletRequest request, HttpServletResponse response) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ReIssueTokenDto result = doReissueToken(request, response);
+            success = true;
+            return result;
+        } finally {
+            authMetrics.recordOperation(AuthMetrics.Operation.REISSUE, start, success);
+        }
+    }
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            doLogout(request, response);
+            success = true;
+        } finally {
+            authMetrics.recordOperation(AuthMetrics.Operation.LOGOUT, start, success);
+        }
+    }
+
+    private LoginResponseDto doLogin(LoginRequestDto dto, HttpServletRequest request, HttpServletResponse response) {
+        // 시도 제한 초과 시 해시/DB 조회 없이 거부 (429)
+        String ip = request.getRemoteAddr();
+        loginRateLimiter.check(dto.getUsername(), ip);
+        try {
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword())
+                );
+            } catch (BadCredentialsException e) {
+                loginRateLimiter.onFailure(dto.getUsername(), ip);
+                throw e;
+            } catch (CustomException e) {
+                if (e.getErrorType() == ErrorType.USER_NOT_FOUND) {
+                    loginRateLimiter.onFailure(dto.getUsername(), ip);
+                }
+                throw e;
+            }
+            loginRateLimiter.onSuccess(dto.getUsername(), ip);
 
             UserEntity user = ((PrincipalDetails) authentication.getPrincipal()).getUserEntity();
             String tokenId = UUID.randomUUID().toString();
 
-            String accessToken = jwtUtil.createJwt("AccessToken", user.getUsername(), user.getRole().name(), tokenId,600000L);
-            String refreshToken = jwtUtil.createJwt("RefreshToken", user.getUsername(), user.getRole().name(), tokenId, 86400000L);
+            // Access Token 만료 시각은 세션에 함께 보관 (전체 로그아웃/재사용 감지 시 정확한 만료 시각으로 블랙리스트 등록)
+            long issuedAt = System.currentTimeMillis();
+            String accessToken = jwtUtil.createJwt("AccessToken", user.getUsername(), user.getRole().name(), tokenId, null, issuedAt, 600000L);
+            // 로그인마다 새 로테이션 체인(family)을 시작, familyId 는 첫 tokenId 를 그대로 사용
+            String refreshToken = jwtUtil.createJwt("RefreshToken", user.getUsername(), user.getRole().name(), tokenId, tokenId, 86400000L);
 
 
             RefreshTokenDto refreshTokenDto = new RefreshTokenDto(tokenId, user.getUsername(), user.getRole().name(), LocalDateTime.now(), LocalDateTime.now().plus(Duration.ofMillis(86400000L)));
-            redisTemplate.opsForValue().set("RefreshToken:" + user.getUsername() + ":" + tokenId, refreshTokenDto, Duration.ofDays(1));
+            refreshTokenStore.save(refreshTokenDto, tokenId, JwtUtil.expiresAt(issuedAt, 600000L), Duration.ofDays(1));
 
             // 쿠키 생성
             Cookie refreshCookie = cookieUtil.createCookie("RefreshToken", refreshToken);
@@ -80,61 +151,65 @@ public class AuthServiceImpl implements AuthService {
             throw new CustomException(ErrorType.USER_INACTIVE);
         } catch (AuthenticationException e) {
             throw new CustomException(ErrorType.INTERNAL_ERROR);
-        } catch (RedisConnectionFailureException | RedisCommandTimeoutException e) {
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
             throw new CustomException(ErrorType.REDIS_CONNECTION_ERROR);
         } catch (RedisSystemException e) {
             throw new CustomException(ErrorType.REDIS_COMMAND_ERROR);
         }
     }
 
-    @Override
-    public ReIssueTokenDto reissueToken(HttpServletRequest request, HttpServletResponse response) {
+    private ReIssueTokenDto doReissueToken(HttpServletRequest request, HttpServletResponse response) {
         // 쿠키에서 refresh 토큰 추출
         String refreshToken = cookieUtil.getValue(request);
         if (refreshToken == null) {
             throw new CustomException(ErrorType.REFRESH_TOKEN_NOT_FOUND);
         }
 
+        // 토큰을 한 번만 파싱하여 서명/만료/형식을 함께 검증
+        JwtVerification verification = jwtUtil.verify(refreshToken);
+
         // 토큰 만료 확인
-        if (jwtUtil.isExpired(refreshToken)) {
+        if (verification.isExpired()) {
             throw new CustomException(ErrorType.EXPIRED_REFRESH_TOKEN);
         }
 
-        // 카테고리 확인
-        if (!"RefreshToken".equals(jwtUtil.getCategory(refreshToken))) {
+        // 서명/형식 + 카테고리 확인
+        if (!verification.isValid("RefreshToken")) {
             throw new CustomException(ErrorType.INVALID_REFRESH_TOKEN);
         }
 
-        String username = jwtUtil.getUsername(refreshToken);
-        String tokenId = jwtUtil.getTokenId(refreshToken);
-
-        String key = "RefreshToken:" + username + ":" + tokenId;
-        Object redisValue = redisTemplate.opsForValue().get(key);
-
-        if (redisValue == null) {
-            throw new CustomException(ErrorType.REFRESH_TOKEN_NOT_FOUND_IN_REDIS);
-        }
-
-        // Object -> DTO 변환
-        RefreshTokenDto refreshTokenDto = objectMapper.convertValue(redisValue, RefreshTokenDto.class);
+        String username = verification.claims().username();
+        String tokenId = verification.claims().tokenId();
+        String role = verification.claims().role();       // 서명 검증된 클레임이므로 Redis 값을 다시 읽지 않음
+        // familyId 클레임이 없는 이전 형식 토큰은 자신의 tokenId 로 새 체인을 시작
+        String familyId = verification.claims().familyId() != null ? verification.claims().familyId() : tokenId;
 
         // 새로운 tokenId 생성
         String newTokenId = UUID.randomUUID().toString();
 
-        // 새로운 accessToken, refreshToken 생성
-        String newAccessToken = jwtUtil.createJwt("AccessToken", username, refreshTokenDto.getRole(), newTokenId, 600000L);
-        String newRefreshToken = jwtUtil.createJwt("RefreshToken", username, refreshTokenDto.getRole(), newTokenId, 86400000L);
-
-        // Redis에 새로운 refreshToken 저장
+        // 기존 refresh token 소비 + 새로운 refresh token 저장을 한 번에 수행
+        // 이미 로테이션된 토큰이 다시 제시되면 탈취로 보고 같은 체인의 현재 토큰까지 모두 폐기
         RefreshTokenDto newRefreshTokenDto = new RefreshTokenDto(
-                newTokenId, username, refreshTokenDto.getRole(),
+                newTokenId, username, role,
                 LocalDateTime.now(),
                 LocalDateTime.now().plus(Duration.ofMillis(86400000L))
         );
-        redisTemplate.opsForValue().set("RefreshToken:" + username + ":" + newTokenId, newRefreshTokenDto, Duration.ofDays(1));
+        long issuedAt = System.currentTimeMillis();
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(tokenId, familyId, newRefreshTokenDto,
+                JwtUtil.expiresAt(issuedAt, 600000L), Duration.ofDays(1));
+        switch (rotation.outcome()) {
+            case NOT_FOUND -> throw new CustomException(ErrorType.REFRESH_TOKEN_NOT_FOUND_IN_REDIS);
+            case REUSED -> {
+                // 폐기된 현재 Refresh Token 과 같은 tokenId 로 발급된 Access Token 도 차단
+                blacklistAccessToken(rotation.revokedTokenId(), rotation.revokedSession());
+                throw new CustomException(ErrorType.REFRESH_TOKEN_REUSED);
+            }
+            case ROTATED -> { }
+        }
 
-        // 기존 refresh token 삭제
-        redisTemplate.delete(key);
+        // 새로운 accessToken, refreshToken 생성 (Access Token 은 세션에 저장한 만료 시각과 같도록 같은 발급 시각 사용)
+        String newAccessToken = jwtUtil.createJwt("AccessToken", username, role, newTokenId, null, issuedAt, 600000L);
+        String newRefreshToken = jwtUtil.createJwt("RefreshToken", username, role, newTokenId, familyId, 86400000L);
 
         // 쿠키에 새로운 refreshToken 저장
         Cookie refreshCookie = cookieUtil.createCookie("RefreshToken", newRefreshToken);
@@ -143,35 +218,77 @@ public class AuthServiceImpl implements AuthService {
         return new ReIssueTokenDto(newAccessToken, newRefreshToken);
     }
 
-    @Override
-    public void logout(HttpServletRequest request, HttpServletResponse response) {
+    private void doLogout(HttpServletRequest request, HttpServletResponse response) {
         String accessToken = request.getHeader("Authorization");
         if (accessToken != null && accessToken.startsWith("Bearer ")) {
             accessToken = accessToken.substring(7); // "Bearer " 제거
         }
 
-        // 토큰에서 남은 만료 시간 계산
-        long expiration = jwtUtil.getExpiration(accessToken);
-
-        // Redis 블랙리스트에 저장 (TTL 설정)
-        if (expiration > 0) {
-            redisTemplate.opsForValue().set(
-                    "BLACKLIST_" + accessToken,
-                    "logout",
-                    expiration,
-                    TimeUnit.MILLISECONDS
-            );
+        // 로컬 검증 캐시에서 즉시 제거 (이후 요청은 다시 블랙리스트 검사를 거침)
+        verifiedTokenCache.evict(accessToken);
+
+        // 블랙리스트에 저장 (토큰의 남은 만료 시간만큼 유지, 이미 만료/위조된 토큰이면 등록 불필요)
+        JwtVerification access = jwtUtil.verify(accessToken);
+        if (access.isValid()) {
+            tokenBlacklist.blacklist(access.claims().tokenId(), access.claims().expiresAt());
         }
 
-        String refreshToken = cookieUtil.getValue(request);
-        String username = jwtUtil.getUsername(refreshToken);
-        String tokenId = jwtUtil.getTokenId(refreshToken);
+        // 만료된 Refresh Token 이라도 서명이 검증되었다면 Redis 의 키는 정리
+        JwtVerification refresh = jwtUtil.verify(cookieUtil.getValue(request));
+        if (refresh.claims() != null) {
+            refreshTokenStore.delete(refresh.claims().username(), refresh.claims().tokenId(), refresh.claims().familyId());
+        }
 
-        String key = "RefreshToken:" + username + ":" + tokenId;
+        clearRefreshCookie(response);
+    }
+
+    @Override
+    public List<SessionDto> getSessions(String username, HttpServletRequest request) {
+        // 현재 요청의 Refresh Token 세션 표시용 (쿠키가 없거나 검증 실패면 표시하지 않음)
+        JwtVerification refresh = jwtUtil.verify(cookieUtil.getValue(request));
+        String currentTokenId = refresh.isValid("RefreshToken") ? refresh.claims().tokenId() : null;
 
-        redisTemplate.delete(key);
+        List<SessionDto> sessions = new ArrayList<>();
+        refreshTokenStore.sessions(username).forEach((tokenId, expiresAt) -> sessions.add(
+                new SessionDto(
+                        tokenId,
+                        tokenId.equals(currentTokenId),
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault())
+                )
+        ));
+        return sessions;
+    }
+
+    @Override
+    public void logoutAll(String username, HttpServletRequest request, HttpServletResponse response) {
+        // 모든 Refresh Token 과 세션 인덱스를 원자적으로 삭제 -> 더 이상 재발급 불가
+        Map<String, RefreshTokenStore.Session> sessions = refreshTokenStore.deleteAll(username);
+
+        // 같은 tokenId 로 발급된 Access Token 도 즉시 차단
+        sessions.forEach(this::blacklistAccessToken);
+
+        // 요청한 Access Token 은 로컬 검증 캐시에서도 즉시 제거
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            verifiedTokenCache.evict(header.substring(7));
+        }
+
+        clearRefreshCookie(response);
+    }
+
+    // 세션에 보관된 Access Token 만료 시각으로 블랙리스트 등록
+    // 만료 시각이 없는 이전 형식 세션은 지금부터 최대 수명 사이의 어느 만료 시각이든 걸리도록 범위로 등록
+    private void blacklistAccessToken(String tokenId, RefreshTokenStore.Session session) {
+        if (session != null && session.hasAccessExpiresAt()) {
+            tokenBlacklist.blacklist(tokenId, session.accessExpiresAt());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        tokenBlacklist.blacklist(tokenId, now, now + 600000L);
+    }
 
-        // 쿠키에서 refresh token 제거
+    // 쿠키에서 refresh token 제거
+    private void clearRefreshCookie(HttpServletResponse response) {
         Cookie refreshCookie = new Cookie("RefreshToken", null);
         refreshCookie.setHttpOnly(true);
         refreshCookie.setPath("/");
@@ -0,0 +1,10 @@
+package com.melly.authjwt.service;
+
+import com.melly.authjwt.dto.response.JwtKeyDto;
+
+import java.util.List;
+
+public interface JwtKeyService {
+    List<JwtKeyDto> getKeys();
+    JwtKeyDto rotate();
+}
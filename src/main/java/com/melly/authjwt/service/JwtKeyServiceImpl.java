@@ -0,0 +1,381 @@
+package com.melly.authjwt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.dto.response.JwtKeyDto;
+import com.melly.authjwt.jwt.JwtAlgorithm;
+import com.melly.authjwt.jwt.JwtKeyRecord;
+import com.melly.authjwt.jwt.JwtKeyRing;
+import com.melly.authjwt.jwt.JwtSigningKeys;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 서명 키 로테이션
+// - 키 목록은 Redis Hash (JwtKeyRing: kid -> JwtKeyRecord) 에 두고 모든 노드가 같은 목록을 사용
+//   서명 키는 별도의 KEK(spring.jwt.key-ring.kek) 로 암호화하여 저장하므로 Redis 만으로는 키를 알 수 없고,
+//   spring.jwt.secret 이 노출되어도 Redis 에 임의의 서명 키를 넣을 수 없음
+// - KEK 교체: kek 에 새 KEK, previous-kek 에 이전 KEK 를 배포하면 이전 KEK 로 암호화된 키도 읽고,
+//   다음 로테이션에서 모든 키를 새 KEK 로 다시 암호화 -> 이후 previous-kek 제거
+// - 로테이션: 새 키를 activation-delay 뒤에 활성화되도록 추가하고 pub/sub 으로 전파
+//   pub/sub 은 최대 한 번 전달이므로 sync-interval(< activation-delay) 마다 키 목록을 다시 읽어,
+//   메시지를 놓친 노드도 활성화 전에 새 키를 받음 -> 어느 노드가 서명한 토큰이든 검증 가능
+// - 이전 키는 다음 키가 활성화된 뒤 retention(최대 토큰 수명) 이 지나면 삭제
+//   -> 기존 토큰은 만료될 때까지 유효하므로 로테이션해도 로그아웃/재로그인이 몰리지 않음
+// - 주기 작업은 check-interval 마다 최신 키가 rotation-interval 보다 오래되었으면 로테이션
+@Slf4j
+@Service
+public class JwtKeyServiceImpl implements JwtKeyService, MessageListener {
+    private static final String RING_KEY = "JwtKeyRing";
+    private static final String LOCK_KEY = "JwtKeyRing:lock";
+    private static final String CHANNEL = "jwt-keys";
+    private static final int GCM_IV_LENGTH = 12;
+
+    // KEYS[1] = 잠금 키, ARGV[1] = 잠금 토큰, 자신이 건 잠금일 때만 해제 (만료 후 다른 노드가 건 잠금은 유지)
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    private static final int GCM_TAG_BITS = 128;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtKeyRing keyRing;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec kek;
+    private final SecretKeySpec previousKek;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final boolean enabled;
+    private final JwtAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final Duration activationDelay;
+    private final Duration retention;
+
+    public JwtKeyServiceImpl(RedisTemplate<String, Object> redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             JwtKeyRing keyRing,
+                             ObjectMapper objectMapper,
+                             @Value("${spring.jwt.key-ring.enabled:false}") boolean enabled,
+                             @Value("${spring.jwt.key-ring.kek:}") String kek,
+                             @Value("${spring.jwt.key-ring.previous-kek:}") String previousKek,
+                             @Value("${spring.jwt.algorithm:HS256}") JwtAlgorithm algorithm,
+                             @Value("${spring.jwt.key-ring.rotation-interval:P30D}") Duration rotationInterval,
+                             @Value("${spring.jwt.key-ring.activation-delay:PT1M}") Duration activationDelay,
+                             @Value("${spring.jwt.key-ring.sync-interval:PT15S}") Duration syncInterval,
+                             @Value("${spring.jwt.key-ring.retention:P1D}") Duration retention) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.keyRing = keyRing;
+        this.objectMapper = objectMapper;
+        if (enabled && kek.isBlank()) {
+            throw new IllegalStateException("spring.jwt.key-ring.kek is required when spring.jwt.key-ring.enabled=true");
+        }
+        if (enabled && syncInterval.compareTo(activationDelay) >= 0) {
+            // 동기화 주기가 활성화 대기보다 길면 새 키를 받기 전에 그 키로 서명된 토큰이 들어올 수 있음
+            throw new IllegalStateException("spring.jwt.key-ring.sync-interval must be shorter than activation-delay");
+        }
+        this.kek = kek.isBlank() ? null : aesKey("spring.jwt.key-ring.kek", kek);
+        this.previousKek = previousKek.isBlank() ? null : aesKey("spring.jwt.key-ring.previous-kek", previousKek);
+        this.enabled = enabled;
+        this.algorithm = algorithm;
+        this.rotationInterval = rotationInterval;
+        this.activationDelay = activationDelay;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    // 기동 시 키 목록을 읽고, 아직 키가 없으면 첫 키를 바로 활성화
+    // Redis 장애로 실패하면 설정 파일의 키로 서명하며, 다음 주기 작업에서 다시 시도
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+            if (keyRing.keys().isEmpty()) {
+                rotate(Duration.ZERO);
+            }
+        } catch (RuntimeException e) {
+            log.warn("JWT key ring initialization failed, signing with the configured key - {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spring.jwt.key-ring.check-interval:PT1H}",
+            initialDelayString = "${spring.jwt.key-ring.check-interval:PT1H}")
+    public void rotateIfDue() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+            long newest = keyRing.keys().stream().mapToLong(JwtKeyRing.RingKey::createdAt).max().orElse(0L);
+            if (System.currentTimeMillis() - newest >= rotationInterval.toMillis()) {
+                rotate(activationDelay);
+            }
+        } catch (CustomException e) {
+            log.info("Scheduled JWT key rotation skipped - {}", e.getErrorType());
+        } catch (RuntimeException e) {
+            log.warn("Scheduled JWT key rotation failed - {}", e.getMessage());
+        }
+    }
+
+    // pub/sub 메시지를 놓친 노드도 새 키가 활성화되기 전에 목록을 맞춤
+    @Scheduled(fixedDelayString = "${spring.jwt.key-ring.sync-interval:PT15S}",
+            initialDelayString = "${spring.jwt.key-ring.sync-interval:PT15S}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("JWT key ring sync failed - {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<JwtKeyDto> getKeys() {
+        JwtKeyRing.RingKey signing = keyRing.signingKey(System.currentTimeMillis());
+        return keyRing.keys().stream()
+                .map(key -> toDto(key, key == signing))
+                .toList();
+    }
+
+    @Override
+    public JwtKeyDto rotate() {
+        if (!enabled) {
+            throw new CustomException(ErrorType.KEY_RING_DISABLED);
+        }
+        return rotate(activationDelay);
+    }
+
+    private JwtKeyDto rotate(Duration delay) {
+        // 여러 노드의 주기 작업이 동시에 로테이션하지 않도록 잠금
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, lockToken, 10, TimeUnit.SECONDS))) {
+            throw new CustomException(ErrorType.KEY_ROTATION_IN_PROGRESS);
+        }
+        try {
+            long now = System.currentTimeMillis();
+            JwtKeyRecord record = newRecord(now, now + delay.toMillis());
+            redisTemplate.opsForHash().put(RING_KEY, record.kid(), record);
+            pruneRetired(now);
+            rewrapPrevious();
+            redisTemplate.convertAndSend(CHANNEL, record.kid());
+            reload();
+
+            log.info("JWT signing key {} added, active from {}", record.kid(), Instant.ofEpochMilli(record.activatesAt()));
+            return toDto(keyRing.find(record.kid()), false);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), lockToken);
+        }
+    }
+
+    // 다른 노드에서 키가 추가/삭제됨
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("JWT key ring reload failed - {}", e.getMessage());
+        }
+    }
+
+    private void reload() {
+        List<JwtKeyRing.RingKey> keys = new ArrayList<>();
+        for (JwtKeyRecord record : records()) {
+            try {
+                keys.add(toRingKey(record));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                // kek/previous-kek 가 아닌 KEK 로 암호화된 키 등은 건너뜀 (해당 kid 토큰은 검증 실패)
+                log.warn("Skipped unreadable JWT key {} - {}", record.kid(), e.getMessage());
+            }
+        }
+        keyRing.replace(keys);
+    }
+
+    private List<JwtKeyRecord> records() {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(RING_KEY);
+        return entries.values().stream()
+                .map(value -> objectMapper.convertValue(value, JwtKeyRecord.class))
+                .toList();
+    }
+
+    // 다음 키가 활성화된 지 retention 이 지난 키는 그 키로 발급된 토큰이 모두 만료되었으므로 삭제
+    private void pruneRetired(long now) {
+        List<JwtKeyRecord> records = new ArrayList<>(records());
+        records.sort(Comparator.comparingLong(JwtKeyRecord::activatesAt));
+        for (int i = 0; i < records.size() - 1; i++) {
+            long supersededAt = records.get(i + 1).activatesAt();
+            if (supersededAt + retention.toMillis() < now) {
+                redisTemplate.opsForHash().delete(RING_KEY, records.get(i).kid());
+            }
+        }
+    }
+
+    // 이전 KEK 로 암호화된 키를 현재 KEK 로 다시 암호화 (다른 노드는 pub/sub 으로 다시 읽음)
+    private void rewrapPrevious() {
+        if (previousKek == null) {
+            return;
+        }
+        for (JwtKeyRecord record : records()) {
+            try {
+                decrypt(kek, record.kid(), record.secret());
+                continue;
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                // 현재 KEK 로 읽을 수 없는 키만 다시 암호화
+            }
+            try {
+                byte[] secret = decrypt(previousKek, record.kid(), record.secret());
+                redisTemplate.opsForHash().put(RING_KEY, record.kid(), new JwtKeyRecord(
+                        record.kid(), record.algorithm(), encrypt(record.kid(), secret),
+                        record.publicKey(), record.createdAt(), record.activatesAt()));
+                log.info("JWT signing key {} re-encrypted with the current KEK", record.kid());
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipped re-encryption of unreadable JWT key {} - {}", record.kid(), e.getMessage());
+            }
+        }
+    }
+
+    private JwtKeyRecord newRecord(long createdAt, long activatesAt) {
+        String kid = UUID.randomUUID().toString();
+        if (!algorithm.isAsymmetric()) {
+            byte[] secret = new byte[32];
+            secureRandom.nextBytes(secret);
+            return new JwtKeyRecord(kid, algorithm, encrypt(kid, secret), null, createdAt, activatesAt);
+        }
+        JwtSigningKeys keys = JwtSigningKeys.generate(algorithm);
+        return new JwtKeyRecord(
+                kid, algorithm,
+                encrypt(kid, keys.privateKey().getEncoded()),
+                Base64.getEncoder().encodeToString(keys.publicKey().getEncoded()),
+                createdAt, activatesAt
+        );
+    }
+
+    private JwtKeyRing.RingKey toRingKey(JwtKeyRecord record) throws GeneralSecurityException {
+        byte[] secret = decrypt(record.kid(), record.secret());
+        JwtAlgorithm alg = record.algorithm();
+        if (!alg.isAsymmetric()) {
+            SecretKeySpec key = new SecretKeySpec(secret, "HmacSHA256");
+            return new JwtKeyRing.RingKey(record.kid(), alg, key, key, null, record.createdAt(), record.activatesAt());
+        }
+
+        KeyFactory keyFactory = KeyFactory.getInstance(alg.keyFactoryAlgorithm());
+        PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(secret));
+        PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(record.publicKey())));
+        return new JwtKeyRing.RingKey(
+                record.kid(), alg, privateKey, publicKey,
+                Jwks.builder().key(publicKey).id(record.kid()).algorithm(alg.id()).publicKeyUse("sig").build(),
+                record.createdAt(), record.activatesAt()
+        );
+    }
+
+    // AES-GCM, kid 를 AAD 로 묶어 다른 항목의 값으로 바꿔치기할 수 없도록 함
+    private String encrypt(String kid, byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, kek, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(plain);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt JWT key", e);
+        }
+    }
+
+    // 현재 KEK 로 읽을 수 없으면(인증 태그 불일치) 이전 KEK 로 시도
+    private byte[] decrypt(String kid, String encoded) throws GeneralSecurityException {
+        try {
+            return decrypt(kek, kid, encoded);
+        } catch (AEADBadTagException e) {
+            if (previousKek == null) {
+                throw e;
+            }
+            return decrypt(previousKek, kid, encoded);
+        }
+    }
+
+    private static byte[] decrypt(SecretKeySpec key, String kid, String encoded) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, bytes, 0, GCM_IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(bytes, GCM_IV_LENGTH, bytes.length - GCM_IV_LENGTH);
+    }
+
+    // KEK 는 base64 로 인코딩한 256비트 AES 키 (예: openssl rand -base64 32)
+    private static SecretKeySpec aesKey(String property, String encoded) {
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(property + " must be a base64-encoded 256-bit key", e);
+        }
+        if (key.length != 32) {
+            throw new IllegalStateException(property + " must be a base64-encoded 256-bit key (got " + key.length + " bytes)");
+        }
+        return new SecretKeySpec(key, "AES");
+    }
+
+    private static JwtKeyDto toDto(JwtKeyRing.RingKey key, boolean signing) {
+        Objects.requireNonNull(key);
+        return new JwtKeyDto(
+                key.kid(),
+                key.algorithm().id(),
+                signing,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(key.createdAt()), ZoneId.systemDefault()),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(key.activatesAt()), ZoneId.systemDefault())
+        );
+    }
+}
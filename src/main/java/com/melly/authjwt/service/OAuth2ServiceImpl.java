@@ -10,11 +10,11 @@ import com.melly.authjwt.domain.repository.UserAuthProviderRepository;
 import com.melly.authjwt.dto.response.OAuth2LoginResponseDto;
 import com.melly.authjwt.dto.response.RefreshTokenDto;
 import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.RefreshTokenStore;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -27,7 +27,7 @@ public class OAuth2ServiceImpl implements OAuth2Service {
 
     private final UserAuthProviderRepository userAuthProviderRepository;
     private final JwtUtil jwtUtil;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RefreshTokenStore refreshTokenStore;
     private final CookieUtil cookieUtil;
 
     @Override
@@ -40,12 +40,13 @@ public class OAuth2ServiceImpl implements OAuth2Service {
         // JWT 발급
         String tokenId = UUID.randomUUID().toString();
 
-        String accessToken = jwtUtil.createJwt("AccessToken", user.getUsername(), user.getRole().name(), tokenId, 600000L);
-        String refreshToken = jwtUtil.createJwt("RefreshToken", user.getUsername(), user.getRole().name(), tokenId, 86400000L);
+        long issuedAt = System.currentTimeMillis();
+        String accessToken = jwtUtil.createJwt("AccessToken", user.getUsername(), user.getRole().name(), tokenId, null, issuedAt, 600000L);
+        String refreshToken = jwtUtil.createJwt("RefreshToken", user.getUsername(), user.getRole().name(), tokenId, tokenId, 86400000L);
 
 
         RefreshTokenDto refreshTokenDto = new RefreshTokenDto(tokenId, user.getUsername(), user.getRole().name(), LocalDateTime.now(), LocalDateTime.now().plus(Duration.ofMillis(86400000L)));
-        redisTemplate.opsForValue().set("RefreshToken:" + user.getUsername() + ":" + tokenId, refreshTokenDto, Duration.ofDays(1));
+        refreshTokenStore.save(refreshTokenDto, tokenId, JwtUtil.expiresAt(issuedAt, 600000L), Duration.ofDays(1));
 
         // 쿠키 생성
         Cookie refreshCookie = cookieUtil.createCookie("RefreshToken", refreshToken);
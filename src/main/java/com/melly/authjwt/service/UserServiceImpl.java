@@ -1,5 +1,6 @@
 package com.melly.authjwt.service;
 
+import com.melly.authjwt.common.auth.UserExistenceFilter;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
 import com.melly.authjwt.domain.entity.UserEntity;
@@ -8,6 +9,8 @@ import com.melly.authjwt.domain.enums.UserStatus;
 import com.melly.authjwt.domain.repository.UserRepository;
 import com.melly.authjwt.dto.request.SignUpRequestDto;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -16,14 +19,16 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserExistenceFilter userExistenceFilter;
 
     @Override
     public void signUp(SignUpRequestDto dto) {
-        if(userRepository.existsByUsername(dto.getUsername())){
+        // filter 에서 확실히 없는 값이면 중복 확인 쿼리 생략
+        if(userExistenceFilter.mightContainUsername(dto.getUsername()) && userRepository.existsByUsername(dto.getUsername())){
             throw new CustomException(ErrorType.DUPLICATE_USERNAME);
         }
 
-        if(userRepository.existsByEmail(dto.getEmail())){
+        if(userExistenceFilter.mightContainEmail(dto.getEmail()) && userRepository.existsByEmail(dto.getEmail())){
             throw new CustomException(ErrorType.DUPLICATE_EMAIL);
         }
 
@@ -38,6 +43,29 @@ public class UserServiceImpl implements UserService {
                 .role(UserRole.USER)
                 .status(UserStatus.ACTIVE)
                 .build();
-        userRepository.save(userEntity);
+        try {
+            userRepository.save(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            // 중복 확인 후 저장 전에 같은 아이디/이메일로 가입한 경우 (unique key 위반)
+            throw duplicateKey(e);
+        }
+        userExistenceFilter.add(userEntity);
+    }
+
+    // 위반한 unique key 이름으로 중복 항목 구분 (MySQL: 'user_tbl.username', 'user_tbl.email'), 그 외 제약 위반은 그대로 전달
+    private static RuntimeException duplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String constraintName = violation.getConstraintName();
+                String key = constraintName.substring(constraintName.lastIndexOf('.') + 1);
+                if (key.equalsIgnoreCase("username")) {
+                    return new CustomException(ErrorType.DUPLICATE_USERNAME);
+                }
+                if (key.equalsIgnoreCase("email")) {
+                    return new CustomException(ErrorType.DUPLICATE_EMAIL);
+                }
+            }
+        }
+        return e;
     }
 }
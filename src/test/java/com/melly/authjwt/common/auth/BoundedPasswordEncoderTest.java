@@ -0,0 +1,113 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder 단위 테스트")
+public class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    // release 전까지 해시가 끝나지 않는 PasswordEncoder (풀 포화 재현용)
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("no hash");
+            }
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("성공 - 전용 스레드에서 해시하고 결과 반환")
+    void delegates() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 1000, meterRegistry);
+
+        assertThat(encoder.encode("pw")).isEqualTo("hash:pw");
+        assertThat(encoder.matches("pw", "hash:pw")).isTrue();
+        assertThat(meterRegistry.get("password.hash.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공 - 해시 중 발생한 예외는 그대로 전달")
+    void propagatesException() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 1000, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("pw", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("실패 - 스레드와 대기열이 가득 차면 즉시 503")
+    void rejectsWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.PASSWORD_HASHING_BUSY);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+
+    @Test
+    @DisplayName("실패 - max-wait 안에 끝나지 않으면 503")
+    void rejectsOnTimeout() {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 50, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("pw", "hash:pw"))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.PASSWORD_HASHING_BUSY);
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("executor.queued").tag("name", "password.hash").gauge().value() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
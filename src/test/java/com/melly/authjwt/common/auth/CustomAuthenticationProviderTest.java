@@ -0,0 +1,164 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserRole;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomAuthenticationProvider 단위 테스트")
+public class CustomAuthenticationProviderTest {
+    @Mock private UserRepository userRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private UserExistenceFilter userExistenceFilter;
+    @Mock private UserCache userCache;
+
+    private UserEntity user(String password) {
+        return UserEntity.builder()
+                .userId(1L)
+                .username("user1")
+                .password(password)
+                .role(UserRole.USER)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+
+    private Authentication authenticate(String rawPassword) {
+        return new CustomAuthenticationProvider(userRepository, passwordEncoder, userExistenceFilter, userCache)
+                .authenticate(new UsernamePasswordAuthenticationToken("user1", rawPassword));
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userExistenceFilter.mightContainUsername(any())).thenReturn(true);
+    }
+
+    @Nested
+    @DisplayName("존재하지 않는 사용자")
+    class unknownUser {
+        @Test
+        @DisplayName("실패 - filter 에서 확실히 없는 아이디면 DB 조회 없이 더미 해시 검증 후 예외")
+        void filterNegative() {
+            when(userExistenceFilter.mightContainUsername("user1")).thenReturn(false);
+            when(passwordEncoder.encode(any())).thenReturn("{bcrypt}dummy");
+
+            assertThatThrownBy(() -> authenticate("pw"))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.USER_NOT_FOUND);
+            verify(userCache, never()).findByUsername(any());
+            verify(passwordEncoder).matches("pw", "{bcrypt}dummy");
+        }
+
+        @Test
+        @DisplayName("실패 - DB 에 없는 아이디도 더미 해시 검증 (더미 해시는 한 번만 생성)")
+        void dbNegative() {
+            CustomAuthenticationProvider provider = new CustomAuthenticationProvider(userRepository, passwordEncoder, userExistenceFilter, userCache);
+            when(userCache.findByUsername("user1")).thenReturn(Optional.empty());
+            when(passwordEncoder.encode(any())).thenReturn("{bcrypt}dummy");
+
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> provider.authenticate(new UsernamePasswordAuthenticationToken("user1", "pw")))
+                        .isInstanceOf(CustomException.class);
+            }
+            verify(passwordEncoder, times(1)).encode(any());
+            verify(passwordEncoder, times(2)).matches("pw", "{bcrypt}dummy");
+        }
+    }
+
+    @Nested
+    @DisplayName("비밀번호 해시 업그레이드")
+    class upgrade {
+        @Test
+        @DisplayName("성공 - 이전 형식 해시는 로그인 성공 시 새 형식으로 다시 저장")
+        void upgradeOnLogin() {
+            UserEntity user = user("$2a$10$legacy");
+            when(userCache.findByUsername("user1")).thenReturn(Optional.of(user));
+            when(passwordEncoder.matches("pw", "$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.encode("pw")).thenReturn("{bcrypt}$2a$12$upgraded");
+            when(userRepository.updatePassword(1L, "{bcrypt}$2a$12$upgraded", "$2a$10$legacy")).thenReturn(1);
+
+            Authentication result = authenticate("pw");
+
+            assertThat(result.isAuthenticated()).isTrue();
+            // 캐시의 엔티티를 병합하지 않고 해시만 변경한 뒤 캐시 무효화
+            verify(userRepository, never()).save(any());
+            verify(userCache).invalidate(user);
+        }
+
+        @Test
+        @DisplayName("성공 - 그 사이 해시가 바뀌었으면 덮어쓰지 않음")
+        void concurrentChange() {
+            UserEntity user = user("$2a$10$legacy");
+            when(userCache.findByUsername("user1")).thenReturn(Optional.of(user));
+            when(passwordEncoder.matches("pw", "$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.encode("pw")).thenReturn("{bcrypt}$2a$12$upgraded");
+            when(userRepository.updatePassword(1L, "{bcrypt}$2a$12$upgraded", "$2a$10$legacy")).thenReturn(0);
+
+            assertThat(authenticate("pw").isAuthenticated()).isTrue();
+            verify(userCache, never()).invalidate(any());
+        }
+
+        @Test
+        @DisplayName("성공 - 최신 형식 해시는 다시 해시하지 않음")
+        void noUpgrade() {
+            UserEntity user = user("{bcrypt}$2a$12$current");
+            when(userCache.findByUsername("user1")).thenReturn(Optional.of(user));
+            when(passwordEncoder.matches("pw", "{bcrypt}$2a$12$current")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("{bcrypt}$2a$12$current")).thenReturn(false);
+
+            authenticate("pw");
+
+            verify(passwordEncoder, never()).encode(any());
+            verify(userRepository, never()).updatePassword(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("성공 - 업그레이드 저장에 실패해도 로그인은 성공")
+        void upgradeFailureIgnored() {
+            UserEntity user = user("$2a$10$legacy");
+            when(userCache.findByUsername("user1")).thenReturn(Optional.of(user));
+            when(passwordEncoder.matches("pw", "$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+            when(passwordEncoder.encode("pw")).thenReturn("{bcrypt}$2a$12$upgraded");
+            when(userRepository.updatePassword(any(), any(), any())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+            assertThat(authenticate("pw").isAuthenticated()).isTrue();
+        }
+
+        @Test
+        @DisplayName("실패 - 비밀번호가 틀리면 업그레이드하지 않음")
+        void badCredentials() {
+            UserEntity user = user("$2a$10$legacy");
+            when(userCache.findByUsername("user1")).thenReturn(Optional.of(user));
+            when(passwordEncoder.matches("wrong", "$2a$10$legacy")).thenReturn(false);
+
+            assertThatThrownBy(() -> authenticate("wrong")).isInstanceOf(BadCredentialsException.class);
+            verify(passwordEncoder, never()).upgradeEncoding(any());
+            verify(userRepository, never()).updatePassword(any(), any(), any());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginRateLimiter 단위 테스트")
+public class LoginRateLimiterTest {
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginRateLimiter limiter(int ipLimit, int usernameLimit) {
+        return new LoginRateLimiter(redisTemplate, meterRegistry, true, Duration.ofMinutes(1), ipLimit, usernameLimit,
+                5, Duration.ofSeconds(30), Duration.ofMinutes(15), Duration.ofMinutes(15), 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clusterReturns(List<?> result) {
+        doReturn(result).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(Object[].class));
+    }
+
+    private void assertRejected(Runnable check, String reason) {
+        assertThatThrownBy(check::run)
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.TOO_MANY_LOGIN_ATTEMPTS);
+        assertThat(meterRegistry.get("auth.login.rejected").tag("reason", reason).counter().count()).isPositive();
+    }
+
+    @Nested
+    @DisplayName("check() 메서드 테스트")
+    class check {
+        @Test
+        @DisplayName("성공 - 제한 이내면 통과")
+        void allowed() {
+            clusterReturns(List.of(0L));
+
+            limiter(30, 10).check("user1", "10.0.0.1");
+
+            assertThat(meterRegistry.find("auth.login.rejected").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("실패 - 로컬 token bucket 이 비면 Redis 조회 없이 거부")
+        @SuppressWarnings("unchecked")
+        void localBucket() {
+            clusterReturns(List.of(0L));
+            LoginRateLimiter limiter = limiter(30, 2);
+            limiter.check("user1", "10.0.0.1");
+            limiter.check("User1 ", "10.0.0.2");     // 같은 아이디로 취급
+            clearInvocations(redisTemplate);
+
+            assertRejected(() -> limiter.check("user1", "10.0.0.3"), "local_username");
+            verifyNoInteractions(redisTemplate);
+        }
+
+        @Test
+        @DisplayName("실패 - 다른 노드에서 건 잠금은 Redis 로 확인하고 이후에는 로컬에서 거부")
+        @SuppressWarnings("unchecked")
+        void clusterLockout() {
+            clusterReturns(List.of(1L, 60000L));
+            LoginRateLimiter limiter = limiter(30, 10);
+
+            assertThatThrownBy(() -> limiter.check("user1", "10.0.0.1"))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("retryAfterSeconds")
+                    .isEqualTo(60L);
+            clearInvocations(redisTemplate);
+
+            assertRejected(() -> limiter.check("user1", "10.0.0.1"), "local_lockout");
+            verifyNoInteractions(redisTemplate);
+        }
+
+        @Test
+        @DisplayName("실패 - 클러스터 sliding window 초과")
+        void clusterWindow() {
+            clusterReturns(List.of(2L));
+
+            assertRejected(() -> limiter(30, 10).check("user1", "10.0.0.1"), "ip");
+        }
+
+        @Test
+        @DisplayName("성공 - Redis 장애 시 로컬 단계만 적용")
+        @SuppressWarnings("unchecked")
+        void redisDown() {
+            when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(Object[].class)))
+                    .thenThrow(new RedisConnectionFailureException("down"));
+
+            limiter(30, 10).check("user1", "10.0.0.1");
+        }
+
+        @Test
+        @DisplayName("성공 - 비활성화 시 제한 없음")
+        void disabled() {
+            LoginRateLimiter limiter = new LoginRateLimiter(redisTemplate, meterRegistry, false, Duration.ofMinutes(1), 1, 1,
+                    5, Duration.ofSeconds(30), Duration.ofMinutes(15), Duration.ofMinutes(15), 1000);
+            for (int i = 0; i < 5; i++) {
+                limiter.check("user1", "10.0.0.1");
+            }
+            verifyNoInteractions(redisTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("onFailure() 메서드 테스트")
+    class onFailure {
+        @Test
+        @DisplayName("성공 - 잠금이 걸리면 이후 시도는 로컬에서 즉시 거부")
+        @SuppressWarnings("unchecked")
+        void lockout() {
+            LoginRateLimiter limiter = limiter(30, 10);
+            doReturn(30000L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                    eq(List.of("LoginFail:user1:10.0.0.1", "LoginLock:user1:10.0.0.1")), eq("5"), eq("30000"), eq("900000"), eq("900000"));
+
+            limiter.onFailure("user1", "10.0.0.1");
+
+            assertThat(meterRegistry.get("auth.login.lockouts").counter().count()).isEqualTo(1);
+            assertRejected(() -> limiter.check("user1", "10.0.0.1"), "local_lockout");
+        }
+
+        @Test
+        @DisplayName("성공 - 다른 IP 에서 걸린 잠금은 정상 사용자의 IP 를 막지 않음")
+        @SuppressWarnings("unchecked")
+        void lockoutIsPerIp() {
+            LoginRateLimiter limiter = limiter(30, 10);
+            doReturn(30000L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                    eq(List.of("LoginFail:user1:10.0.0.9", "LoginLock:user1:10.0.0.9")), eq("5"), eq("30000"), eq("900000"), eq("900000"));
+            limiter.onFailure("user1", "10.0.0.9");
+            clusterReturns(List.of(0L));
+
+            limiter.check("user1", "10.0.0.1");
+
+            verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                    argThat((List<String> keys) -> keys.get(0).equals("LoginLock:user1:10.0.0.1")), any(Object[].class));
+        }
+
+        @Test
+        @DisplayName("성공 - 로그인 성공 시 실패 횟수 초기화")
+        void resetOnSuccess() {
+            limiter(30, 10).onSuccess("User1", "10.0.0.1");
+
+            verify(redisTemplate).delete("LoginFail:user1:10.0.0.1");
+        }
+    }
+}
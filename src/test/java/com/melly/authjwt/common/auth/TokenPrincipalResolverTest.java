@@ -0,0 +1,75 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.jwt.JwtClaims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenPrincipalResolver 단위 테스트")
+public class TokenPrincipalResolverTest {
+    @Mock private UserCache userCache;
+    @Mock private UserStatusCache userStatusCache;
+
+    private final JwtClaims claims = new JwtClaims("AccessToken", "user1", "ADMIN", "token-id", System.currentTimeMillis() + 60000L);
+
+    @Nested
+    @DisplayName("claims-only 모드")
+    class claimsOnly {
+        @Test
+        @DisplayName("성공 - DB 조회 없이 클레임으로 principal 구성")
+        void resolveWithoutDb() {
+            TokenPrincipalResolver resolver = new TokenPrincipalResolver(userCache, userStatusCache, true);
+            when(userStatusCache.get("user1")).thenReturn(Optional.of(UserStatus.ACTIVE));
+
+            UserDetails principal = resolver.resolve(claims);
+
+            assertThat(principal).isInstanceOf(JwtPrincipal.class);
+            assertThat(principal.getUsername()).isEqualTo("user1");
+            assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+            verifyNoInteractions(userCache);
+        }
+
+        @Test
+        @DisplayName("예외 - 비활성화된 계정")
+        void resolveInactive() {
+            TokenPrincipalResolver resolver = new TokenPrincipalResolver(userCache, userStatusCache, true);
+            when(userStatusCache.get("user1")).thenReturn(Optional.of(UserStatus.INACTIVE));
+
+            assertThatThrownBy(() -> resolver.resolve(claims))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.USER_INACTIVE);
+        }
+    }
+
+    @Nested
+    @DisplayName("기본 모드")
+    class database {
+        @Test
+        @DisplayName("예외 - DB 에 없는 사용자")
+        void resolveUserNotFound() {
+            TokenPrincipalResolver resolver = new TokenPrincipalResolver(userCache, userStatusCache, false);
+            when(userCache.findByUsername("user1")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> resolver.resolve(claims))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.USER_NOT_FOUND);
+            verifyNoInteractions(userStatusCache);
+        }
+    }
+}
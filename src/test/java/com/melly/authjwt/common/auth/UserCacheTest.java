@@ -0,0 +1,190 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.enums.UserRole;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.domain.repository.UserRepository;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCache 단위 테스트")
+public class UserCacheTest {
+    @Mock private UserRepository userRepository;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+    @Mock private UserStatusCache userStatusCache;
+    @Mock private VerifiedTokenCache verifiedTokenCache;
+    @Mock private Message message;
+
+    private RedisCircuitBreaker circuitBreaker;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UserEntity user = UserEntity.builder()
+            .userId(1L)
+            .username("user1")
+            .password("{bcrypt}hash")
+            .email("user1@test.com")
+            .role(UserRole.USER)
+            .status(UserStatus.ACTIVE)
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(null, null, null, null, null, null, null), meterRegistry);
+    }
+
+    private UserCache userCache(boolean redisEnabled) {
+        return userCache(redisEnabled, Duration.ZERO);
+    }
+
+    private UserCache userCache(boolean redisEnabled, Duration changeSettle) {
+        return new UserCache(userRepository, redisTemplate, listenerContainer, circuitBreaker, userStatusCache,
+                verifiedTokenCache, meterRegistry, true, Duration.ofSeconds(30), 100, redisEnabled, Duration.ofMinutes(5), changeSettle);
+    }
+
+    @Test
+    @DisplayName("로컬 캐시 hit - 두 번째 조회부터 DB 조회 없음, 대소문자가 달라도 같은 사용자")
+    void localHit() {
+        UserCache userCache = userCache(false);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        assertThat(userCache.findByUsername("user1")).get().extracting(UserEntity::getUserId).isEqualTo(1L);
+        assertThat(userCache.findByUsername("USER1 ")).get().extracting(UserEntity::getUserId).isEqualTo(1L);
+
+        verify(userRepository, times(1)).findByUsername(any());
+        assertThat(userCache.containsLocally("user1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("조회마다 새 엔티티 반환 - 호출하는 쪽의 변경이 캐시에 섞이지 않음, 생성 시각도 유지")
+    void returnsCopies() {
+        UserCache userCache = userCache(false);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        UserEntity first = userCache.findByUsername("user1").orElseThrow();
+        first.updatePassword("{bcrypt}changed");
+
+        UserEntity second = userCache.findByUsername("user1").orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(second.getCreatedAt()).isEqualTo(user.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐싱하지 않음 - 가입 직후 조회가 막히지 않도록")
+    void doesNotCacheMissing() {
+        UserCache userCache = userCache(false);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.empty()).thenReturn(Optional.of(user));
+
+        assertThat(userCache.findByUsername("user1")).isEmpty();
+        assertThat(userCache.findByUsername("user1")).isPresent();
+    }
+
+    @Test
+    @DisplayName("무효화 - 로컬/상태 캐시 제거 후 다른 노드에 전파, 다음 조회는 DB 에서 다시 읽음")
+    void invalidate() {
+        UserCache userCache = userCache(false);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        userCache.findByUsername("user1");
+
+        userCache.invalidate(user);
+
+        verify(userStatusCache).evict("user1");
+        verify(verifiedTokenCache).evictUser("user1");
+        verify(redisTemplate).convertAndSend("user-cache", Map.of("username", "user1", "email", "user1@test.com"));
+        assertThat(userCache.containsLocally("user1")).isFalse();
+        userCache.findByUsername("user1");
+        verify(userRepository, times(2)).findByUsername("user1");
+    }
+
+    @Test
+    @DisplayName("무효화 직후 change-settle 동안은 캐싱하지 않음 - replica 에서 읽은 이전 값이 남지 않도록")
+    void changeSettle() {
+        UserCache userCache = userCache(false, Duration.ofMinutes(1));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        userCache.invalidate(user);
+        userCache.findByUsername("user1");
+        userCache.findByUsername("user1");
+
+        verify(userRepository, times(2)).findByUsername("user1");
+        assertThat(userCache.containsLocally("user1")).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @DisplayName("다른 노드의 무효화 메시지 수신 - 아이디/이메일 키 모두 제거")
+    void onMessage() {
+        UserCache userCache = userCache(false);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("user1@test.com")).thenReturn(Optional.of(user));
+        userCache.findByUsername("user1");
+        userCache.findByEmail("user1@test.com");
+
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) mock(RedisSerializer.class));
+        when(redisTemplate.getValueSerializer().deserialize(any())).thenReturn(Map.of("username", "user1", "email", "user1@test.com"));
+        userCache.onMessage(message, null);
+
+        verify(verifiedTokenCache).evictUser("user1");
+        userCache.findByUsername("user1");
+        userCache.findByEmail("user1@test.com");
+        verify(userRepository, times(2)).findByUsername("user1");
+        verify(userRepository, times(2)).findByEmail("user1@test.com");
+    }
+
+    @Test
+    @DisplayName("Redis 공유 계층 - 다른 노드가 저장한 사용자는 DB 대신 Redis 에서 읽음")
+    void sharedTier() {
+        UserCache userCache = userCache(true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("UserCache:u:user1")).thenReturn(Map.of(
+                "userId", 1, "username", "user1", "password", "{bcrypt}hash", "email", "user1@test.com",
+                "role", "USER", "status", "INACTIVE", "createdAt", "2024-01-01T00:00"));
+
+        UserEntity cached = userCache.findByUsername("user1").orElseThrow();
+
+        assertThat(cached.getStatus()).isEqualTo(UserStatus.INACTIVE);
+        assertThat(cached.getCreatedAt()).isEqualTo(user.getCreatedAt());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Redis 공유 계층 - DB 에서 읽은 사용자는 아이디/이메일 키로 함께 저장")
+    void sharedTierWrite() {
+        UserCache userCache = userCache(true);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        userCache.findByUsername("user1");
+
+        verify(valueOperations).set(eq("UserCache:u:user1"), any(), eq(Duration.ofMinutes(5)));
+        verify(valueOperations).set(eq("UserCache:e:user1@test.com"), any(), eq(Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,230 @@
+package com.melly.authjwt.common.auth;
+
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.domain.entity.UserEntity;
+import com.melly.authjwt.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("UserExistenceFilter 단위 테스트")
+public class UserExistenceFilterTest {
+    @Mock private UserRepository userRepository;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private StreamOperations<String, Object, Object> streamOperations;
+
+    private UserExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(null, null, null, null, null, null, null), new SimpleMeterRegistry());
+        filter = new UserExistenceFilter(userRepository, redisTemplate, circuitBreaker, true, 1000, 0.01);
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        // 빈 stream: 처음부터 읽고, 읽을 항목 없음
+        when(streamOperations.reverseRange(eq("UserIdentities"), any(), any(Limit.class))).thenReturn(List.of());
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class))).thenReturn(List.of());
+    }
+
+    private static MapRecord<String, Object, Object> signUp(String id, String username, String email) {
+        return MapRecord.create("UserIdentities", Map.<Object, Object>of("username", username, "email", email))
+                .withId(RecordId.of(id));
+    }
+
+    private static UserRepository.UserIdentity identity(long userId, String username, String email) {
+        return new UserRepository.UserIdentity() {
+            public Long getUserId() { return userId; }
+            public String getUsername() { return username; }
+            public String getEmail() { return email; }
+        };
+    }
+
+    @Test
+    @DisplayName("성공 - 채우기 전에는 항상 있을 수 있음 (DB 로 확인)")
+    void notWarmedUp() {
+        assertThat(filter.mightContainUsername("nobody")).isTrue();
+        assertThat(filter.mightContainEmail("nobody@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - DB 를 userId 기준으로 나누어 읽어 채우고, 없는 값은 확실히 없음")
+    void rebuildPaged() {
+        List<UserRepository.UserIdentity> firstPage = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            firstPage.add(identity(i, "user" + i, "user" + i + "@example.com"));
+        }
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(firstPage);
+        when(userRepository.findIdentitiesAfter(eq(1000L), any())).thenReturn(List.of(identity(1001, "last", "last@example.com")));
+
+        filter.warmUp();
+
+        assertThat(filter.mightContainUsername("user1")).isTrue();
+        assertThat(filter.mightContainUsername("last")).isTrue();
+        assertThat(filter.mightContainEmail("user500@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+        assertThat(filter.mightContainEmail("nobody@example.com")).isFalse();
+        verify(userRepository, times(2)).findIdentitiesAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("성공 - 대소문자/후행 공백이 달라도 있을 수 있음 (MySQL collation 과 동일)")
+    void caseInsensitive() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of(identity(1, "User1", "User1@Example.com")));
+        filter.warmUp();
+
+        assertThat(filter.mightContainUsername("user1 ")).isTrue();
+        assertThat(filter.mightContainEmail("USER1@EXAMPLE.COM")).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - 가입 시 추가하고 stream 에 기록, 다른 노드의 가입은 stream 에서 이어서 반영")
+    void addAndReceive() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+
+        filter.add(UserEntity.builder().username("new").email("new@example.com").build());
+        verify(streamOperations).add(eq("UserIdentities"), eq(Map.of("username", "new", "email", "new@example.com")),
+                any(RedisStreamCommands.XAddOptions.class));
+
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenReturn(List.of(signUp("100-0", "remote", "remote@example.com")))
+                .thenReturn(List.of(signUp("100-0", "remote", "remote@example.com"), signUp("101-0", "remote2", "remote2@example.com")));
+        filter.poll();
+        filter.poll();
+
+        assertThat(filter.mightContainUsername("new")).isTrue();
+        assertThat(filter.mightContainUsername("remote")).isTrue();
+        assertThat(filter.mightContainEmail("remote@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("remote2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - stream 기록에 실패한 가입은 버리지 않고 다음 poll 에서 다시 기록")
+    void republishesFailedAdd() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(false, null, null, null, null, null, null), new SimpleMeterRegistry());
+        UserExistenceFilter filter = new UserExistenceFilter(userRepository, redisTemplate, circuitBreaker, true, 1000, 0.01);
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+        Map<String, String> identity = Map.of("username", "new", "email", "new@example.com");
+        when(streamOperations.add(eq("UserIdentities"), eq(identity), any(RedisStreamCommands.XAddOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(RecordId.of("100-0"));
+
+        filter.add(UserEntity.builder().username("new").email("new@example.com").build());
+        filter.poll();
+        filter.poll();
+
+        verify(streamOperations, times(2)).add(eq("UserIdentities"), eq(identity), any(RedisStreamCommands.XAddOptions.class));
+        assertThat(filter.mightContainUsername("new")).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - 없다고 답하기 전에 아직 읽지 않은 다른 노드의 가입을 반영")
+    void catchesUpBeforeNegative() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+
+        // 다른 노드에서 방금 가입 (poll 전)
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenReturn(List.of(signUp("100-0", "just-joined", "just-joined@example.com")));
+
+        assertThat(filter.mightContainUsername("just-joined")).isTrue();
+        verify(userRepository, times(1)).findIdentitiesAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("성공 - Redis 장애로 stream 을 읽을 수 없으면 DB 로 확인")
+    void untrustedWhileRedisDown() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(filter.mightContainUsername("nobody")).isTrue();
+        assertThat(filter.mightContainEmail("nobody@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - 읽은 위치 이후가 stream 에서 잘렸으면 DB 로 확인하고, 다음 poll 에서 DB 로 재구성")
+    void rebuildsAfterGap() {
+        when(streamOperations.reverseRange(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenReturn(List.of(signUp("50-0", "old", "old@example.com")));
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+
+        // 50-0 이 잘리고 그 뒤 항목만 남음
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenReturn(List.of(signUp("80-0", "other", "other@example.com")));
+        assertThat(filter.mightContainUsername("nobody")).isTrue();
+
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of(identity(1, "missed", "missed@example.com")));
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenReturn(List.of(signUp("50-0", "old", "old@example.com")));
+        filter.poll();
+
+        verify(userRepository, times(2)).findIdentitiesAfter(any(), any());
+        assertThat(filter.mightContainUsername("missed")).isTrue();
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공 - 기동 시 Redis 장애로 읽을 위치를 모르면 DB 로 확인하고, 복구 후 재구성")
+    @SuppressWarnings("unchecked")
+    void rebuildsAfterRedisRecovers() {
+        when(streamOperations.reverseRange(eq("UserIdentities"), any(), any(Limit.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of());
+        filter.warmUp();
+
+        assertThat(filter.mightContainUsername("nobody")).isTrue();
+        filter.poll();
+        verify(userRepository, times(1)).findIdentitiesAfter(any(), any());
+
+        reset(streamOperations);
+        when(streamOperations.reverseRange(eq("UserIdentities"), any(), any(Limit.class))).thenReturn(List.of());
+        when(streamOperations.range(eq("UserIdentities"), any(), any(Limit.class))).thenReturn(List.of());
+        filter.poll();
+
+        verify(userRepository, times(2)).findIdentitiesAfter(any(), any());
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공 - 재구성 실패 시 이전 filter 유지")
+    void rebuildFailureKeepsPrevious() {
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenReturn(List.of(identity(1, "user1", "user1@example.com")));
+        filter.warmUp();
+
+        when(userRepository.findIdentitiesAfter(eq(0L), any())).thenThrow(new IllegalStateException("db down"));
+        filter.rebuild();
+
+        assertThat(filter.mightContainUsername("user1")).isTrue();
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+    }
+}
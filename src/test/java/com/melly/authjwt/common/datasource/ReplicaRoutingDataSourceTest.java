@@ -0,0 +1,141 @@
+package com.melly.authjwt.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReplicaRoutingDataSource 단위 테스트")
+public class ReplicaRoutingDataSourceTest {
+    @Mock private DataSource primary;
+    @Mock private DataSource replica1;
+    @Mock private DataSource replica2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(1), meterRegistry);
+    }
+
+    // SHOW REPLICA STATUS 결과 (lag 이 null 이면 복제 중단)
+    private void replicaStatus(DataSource replica, Long lag) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong("Seconds_Behind_Source")).thenReturn(lag != null ? lag : 0L);
+        when(resultSet.wasNull()).thenReturn(lag == null);
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("db.read.route").tag("route", route).counter().count();
+    }
+
+    @Test
+    @DisplayName("복제 지연 확인 전에는 primary 로 조회")
+    void primaryBeforeFirstCheck() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routed(ReplicaRoutingDataSource.PRIMARY)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지연이 max-lag 이하인 replica 를 돌아가며 사용")
+    void roundRobin() throws SQLException {
+        replicaStatus(replica1, 0L);
+        replicaStatus(replica2, 1L);
+
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(meterRegistry.get("db.replica.lag").tag("replica", "replica-2").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지연이 max-lag 를 넘거나 복제가 중단된 replica 는 제외")
+    void excludesLaggingReplica() throws SQLException {
+        replicaStatus(replica1, 5L);
+        replicaStatus(replica2, null);
+
+        routingDataSource.checkReplicas();
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value()).isZero();
+        assertThat(meterRegistry.get("db.replica.lag").tag("replica", "replica-2").gauge().value()).isNaN();
+    }
+
+    @Test
+    @DisplayName("연결 실패한 replica 는 제외, 다음 확인에서 복구되면 다시 사용")
+    void recoversAfterConnectionFailure() throws SQLException {
+        replicaStatus(replica2, 0L);
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        routingDataSource.checkReplicas();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+
+        reset(replica1);
+        replicaStatus(replica1, 0L);
+        routingDataSource.checkReplicas();
+        assertThat(meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SHOW REPLICA STATUS 를 지원하지 않는 이전 MySQL 은 SHOW SLAVE STATUS 로 확인")
+    void legacyStatusQuery() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica1.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenThrow(new SQLSyntaxErrorException("syntax"));
+        when(statement.executeQuery("SHOW SLAVE STATUS")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong("Seconds_Behind_Master")).thenReturn(3L);
+
+        assertThat(ReplicaRoutingDataSource.replicationLag(replica1)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("복제 상태가 없는 서버는 지연 0 으로 간주")
+    void noReplicationStatus() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica1.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        assertThat(ReplicaRoutingDataSource.replicationLag(replica1)).isZero();
+    }
+}
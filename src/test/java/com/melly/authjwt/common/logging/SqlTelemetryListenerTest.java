@@ -0,0 +1,81 @@
+package com.melly.authjwt.common.logging;
+
+import com.p6spy.engine.common.StatementInformation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SqlTelemetryListener 단위 테스트")
+public class SqlTelemetryListenerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SqlTelemetryListener listener(int maxShapes) {
+        return new SqlTelemetryListener(meterRegistry, true, Duration.ofMillis(200), 0.0, maxShapes, 5);
+    }
+
+    private void execute(SqlTelemetryListener listener, String sql, long elapsedMillis) {
+        StatementInformation statementInformation = mock(StatementInformation.class);
+        when(statementInformation.getSql()).thenReturn(sql);
+        listener.onAfterAnyExecute(statementInformation, TimeUnit.MILLISECONDS.toNanos(elapsedMillis), (SQLException) null);
+    }
+
+    @Nested
+    @DisplayName("쿼리 형태 정규화")
+    class normalize {
+        @Test
+        @DisplayName("리터럴과 IN 목록 길이, 공백/대소문자 차이를 제거")
+        void removesLiteralsAndInLists() {
+            assertThat(SqlTelemetryListener.normalize("SELECT * FROM user_tbl  WHERE user_id IN (?, ?, ?) AND username = 'a''b' LIMIT 10"))
+                    .isEqualTo("select * from user_tbl where user_id in (?) and username = ? limit ?");
+        }
+
+        @Test
+        @DisplayName("Hibernate 별칭의 숫자는 유지")
+        void keepsAliases() {
+            assertThat(SqlTelemetryListener.normalize("select ue1_0.user_id from user_tbl ue1_0 where ue1_0.username=?"))
+                    .isEqualTo("select ue1_0.user_id from user_tbl ue1_0 where ue1_0.username=?");
+        }
+
+        @Test
+        @DisplayName("작업 종류와 대상 테이블 추출")
+        void extractsOperationAndTable() {
+            assertThat(SqlTelemetryListener.operation("insert into user_tbl (username) values (?)")).isEqualTo("insert");
+            assertThat(SqlTelemetryListener.table("insert into user_tbl (username) values (?)")).isEqualTo("user_tbl");
+            assertThat(SqlTelemetryListener.table("update user_tbl set password=? where user_id=?")).isEqualTo("user_tbl");
+            assertThat(SqlTelemetryListener.operation("commit")).isEqualTo(SqlTelemetryListener.OTHER);
+        }
+    }
+
+    @Test
+    @DisplayName("리터럴만 다른 쿼리는 같은 shape 의 Timer 에 기록")
+    void recordsByShape() {
+        SqlTelemetryListener listener = listener(10);
+
+        execute(listener, "select * from user_tbl where user_id = 1", 3);
+        execute(listener, "select * from user_tbl where user_id = 2", 500);
+
+        assertThat(meterRegistry.get("db.query").tags("operation", "select", "table", "user_tbl").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("shape 수가 max-shapes 를 넘으면 other 로 묶음")
+    void limitsShapeCardinality() {
+        SqlTelemetryListener listener = listener(1);
+
+        execute(listener, "select * from user_tbl where username = ?", 1);
+        execute(listener, "select * from user_auth_provider_tbl where user_id = ?", 1);
+
+        assertThat(meterRegistry.find("db.query").timers()).hasSize(2);
+        assertThat(meterRegistry.get("db.query").tag("shape", SqlTelemetryListener.OTHER).timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.melly.authjwt.common.metrics;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthMetrics 단위 테스트")
+public class AuthMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthMetrics authMetrics = new AuthMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("모든 Meter 를 생성 시점에 고정된 태그로 미리 등록")
+    void preRegistersMeters() {
+        assertThat(meterRegistry.find("auth.filter.stage").timers()).hasSize(AuthMetrics.Stage.values().length);
+        assertThat(meterRegistry.find("auth.operation").timers()).hasSize(AuthMetrics.Operation.values().length * 2);
+        assertThat(meterRegistry.find("auth.errors").counters()).hasSize(ErrorType.values().length);
+    }
+
+    @Test
+    @DisplayName("단계/작업 시간은 해당 태그의 Timer 에 기록")
+    void recordsTimers() {
+        authMetrics.recordStage(AuthMetrics.Stage.BLACKLIST, System.nanoTime());
+        authMetrics.recordOperation(AuthMetrics.Operation.LOGIN, System.nanoTime(), false);
+
+        assertThat(meterRegistry.get("auth.filter.stage").tag("stage", "blacklist").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.filter.stage").tag("stage", "parse").timer().count()).isZero();
+        assertThat(meterRegistry.get("auth.operation").tags("operation", "login", "outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.operation").tags("operation", "login", "outcome", "success").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("거부/실패는 errorCode 태그별로 집계")
+    void countsErrorsByType() {
+        authMetrics.recordError(ErrorType.TOKEN_BLACKLISTED);
+        authMetrics.recordError(ErrorType.TOKEN_BLACKLISTED);
+
+        assertThat(meterRegistry.get("auth.errors").tag("error", ErrorType.TOKEN_BLACKLISTED.getErrorCode()).counter().count())
+                .isEqualTo(2);
+    }
+}
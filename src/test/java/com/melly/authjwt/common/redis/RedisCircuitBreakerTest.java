@@ -0,0 +1,126 @@
+package com.melly.authjwt.common.redis;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisCircuitBreaker 단위 테스트")
+public class RedisCircuitBreakerTest {
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        RedisResilienceProperties properties = new RedisResilienceProperties(true, 2, Duration.ZERO,
+                RedisResilienceProperties.LookupPolicy.FAIL_CLOSED,
+                RedisResilienceProperties.WritePolicy.QUEUE,
+                RedisResilienceProperties.WritePolicy.QUEUE, 10);
+        circuitBreaker = new RedisCircuitBreaker(redisTemplate, properties, meterRegistry);
+    }
+
+    private Boolean failingLookup() {
+        throw new QueryTimeoutException("Redis command timed out");
+    }
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 도달하면 차단 - 이후 조회는 Redis 호출 없이 대체 값")
+    void opensAfterConsecutiveFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            boolean result = circuitBreaker.read(RedisCircuitBreaker.Operation.BLACKLIST_LOOKUP, () -> {
+                calls.incrementAndGet();
+                return failingLookup();
+            }, () -> true);
+            assertThat(result).isTrue();
+        }
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("redis.breaker.fallbacks").tag("operation", "blacklist_lookup").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("성공하면 연속 실패 횟수 초기화")
+    void successResetsFailures() {
+        circuitBreaker.read(RedisCircuitBreaker.Operation.BLACKLIST_LOOKUP, this::failingLookup, () -> false);
+        circuitBreaker.read(RedisCircuitBreaker.Operation.BLACKLIST_LOOKUP, () -> false, () -> true);
+        circuitBreaker.read(RedisCircuitBreaker.Operation.BLACKLIST_LOOKUP, this::failingLookup, () -> false);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("차단 중 쓰기는 큐에 보관 - 복구 확인(PING) 성공 시 순서대로 재실행")
+    void replaysQueuedWritesAfterRecovery() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        List<String> executed = new ArrayList<>();
+
+        circuitBreaker.write(RedisCircuitBreaker.Operation.REFRESH_WRITE, RedisResilienceProperties.WritePolicy.QUEUE, () -> executed.add("save"));
+        circuitBreaker.write(RedisCircuitBreaker.Operation.REFRESH_WRITE, RedisResilienceProperties.WritePolicy.QUEUE, () -> executed.add("delete"));
+        assertThat(executed).isEmpty();
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<String>>any())).thenReturn("PONG");
+        circuitBreaker.probe();
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        assertThat(executed).containsExactly("save", "delete");
+        assertThat(meterRegistry.get("redis.breaker.replay.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("복구 확인 실패 - 차단과 재처리 큐 유지")
+    void staysOpenWhenProbeFails() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        circuitBreaker.write(RedisCircuitBreaker.Operation.BLACKLIST_WRITE, RedisResilienceProperties.WritePolicy.QUEUE, () -> {});
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<String>>any())).thenThrow(new RedisConnectionFailureException("down"));
+        circuitBreaker.probe();
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(meterRegistry.get("redis.breaker.replay.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fail-closed 쓰기와 대체 동작이 없는 명령은 REDIS_UNAVAILABLE")
+    void failClosedRejects() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+
+        assertThatThrownBy(() -> circuitBreaker.write(RedisCircuitBreaker.Operation.REFRESH_WRITE,
+                RedisResilienceProperties.WritePolicy.FAIL_CLOSED, () -> {}))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType").isEqualTo(ErrorType.REDIS_UNAVAILABLE);
+        assertThatThrownBy(() -> circuitBreaker.call(RedisCircuitBreaker.Operation.REFRESH_ROTATE, () -> "rotated"))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType").isEqualTo(ErrorType.REDIS_UNAVAILABLE);
+        verifyNoInteractions(redisTemplate);
+    }
+}
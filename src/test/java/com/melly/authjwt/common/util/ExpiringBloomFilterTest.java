@@ -0,0 +1,78 @@
+package com.melly.authjwt.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringBloomFilter 단위 테스트")
+public class ExpiringBloomFilterTest {
+    private static final long SLICE = 600_000L;
+
+    @Test
+    @DisplayName("성공 - 등록된 항목은 항상 조회되고, 미등록 항목은 대부분 걸러짐")
+    void noFalseNegatives() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(SLICE, 10_000, 0.01);
+        long now = 1_000_000_000L;
+        long exp = now + 300_000L;
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i, exp, now);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("token-" + i, exp)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString(), exp)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);   // 설정 오탐률 1% 의 여유 범위
+    }
+
+    @Test
+    @DisplayName("만료 - 구간의 모든 항목이 만료되면 slice 가 제거됨")
+    void dropExpiredSlices() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(SLICE, 1_000, 0.01);
+        long now = 1_000_000_000L;
+
+        filter.put("old", now + 1_000L, now);
+        filter.put("new", now + SLICE * 2, now);
+        assertThat(filter.sliceCount()).isEqualTo(2);
+
+        filter.purgeExpired(now + SLICE + 1_000L);
+
+        assertThat(filter.sliceCount()).isEqualTo(1);
+        assertThat(filter.mightContain("old", now + 1_000L)).isFalse();
+        assertThat(filter.mightContain("new", now + SLICE * 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공 - 만료 시각 범위로 등록하면 범위 안의 어느 만료 시각으로도 조회됨")
+    void putRange() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(SLICE, 1_000, 0.01);
+        long now = SLICE * 10 + 500_000L;
+
+        filter.put("token", now, now + SLICE, now);
+
+        assertThat(filter.sliceCount()).isEqualTo(2);
+        assertThat(filter.mightContain("token", now + 1_000L)).isTrue();
+        assertThat(filter.mightContain("token", now + 200_000L)).isTrue();
+        assertThat(filter.mightContain("token", now + SLICE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("무시 - 이미 만료된 항목은 등록하지 않음")
+    void ignoreExpired() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(SLICE, 1_000, 0.01);
+
+        filter.put("expired", 100L, 200L);
+
+        assertThat(filter.sliceCount()).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.melly.authjwt.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.melly.authjwt.dto.response.RefreshTokenDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RefreshTokenRedisSerializer 단위 테스트")
+public class RefreshTokenRedisSerializerTest {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    // RedisConfig 와 같은 설정의 JSON 직렬화기
+    private final GenericJackson2JsonRedisSerializer json = jsonSerializer();
+    private final RefreshTokenRedisSerializer serializer = new RefreshTokenRedisSerializer(json, ZONE);
+
+    @Test
+    @DisplayName("성공 - 바이너리로 저장한 Refresh Token 을 그대로 복원")
+    void roundTrip() {
+        RefreshTokenDto dto = refreshToken(UUID.randomUUID().toString());
+
+        RefreshTokenDto restored = (RefreshTokenDto) serializer.deserialize(serializer.serialize(dto));
+
+        assertThat(restored).usingRecursiveComparison().isEqualTo(dto);
+    }
+
+    @Test
+    @DisplayName("성공 - UUID 형식이 아닌 tokenId 와 null 필드도 복원")
+    void roundTripNonUuid() {
+        RefreshTokenDto dto = new RefreshTokenDto("legacy-token", "사용자", null, null, LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MILLIS));
+
+        RefreshTokenDto restored = (RefreshTokenDto) serializer.deserialize(serializer.serialize(dto));
+
+        assertThat(restored).usingRecursiveComparison().isEqualTo(dto);
+    }
+
+    @Test
+    @DisplayName("성공 - 이전 JSON 형식으로 저장된 값도 RefreshTokenDto 로 읽음")
+    void readsLegacyJson() {
+        RefreshTokenDto dto = refreshToken(UUID.randomUUID().toString());
+
+        RefreshTokenDto restored = (RefreshTokenDto) serializer.deserialize(json.serialize(dto));
+
+        // 이전 JSON 형식은 초 단위까지만 저장
+        assertThat(restored.getTokenId()).isEqualTo(dto.getTokenId());
+        assertThat(restored.getGetUsername()).isEqualTo(dto.getGetUsername());
+        assertThat(restored.getRole()).isEqualTo(dto.getRole());
+        assertThat(restored.getExpiresAt()).isEqualTo(dto.getExpiresAt().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("성공 - RefreshTokenDto 가 아닌 값은 JSON 으로 위임")
+    void delegatesOtherValues() {
+        assertThat(serializer.serialize(1234L)).isEqualTo(json.serialize(1234L));
+        assertThat(serializer.deserialize(json.serialize(Map.of("key", "value")))).isEqualTo(Map.of("key", "value"));
+        assertThat(serializer.deserialize("1700000000000".getBytes())).isEqualTo(1700000000000L);
+    }
+
+    @Test
+    @DisplayName("성능 - 바이너리 값이 JSON 값보다 작음")
+    void smallerThanJson() {
+        RefreshTokenDto dto = refreshToken(UUID.randomUUID().toString());
+
+        int binary = serializer.serialize(dto).length;
+        int legacy = json.serialize(dto).length;
+
+        assertThat(binary).isLessThan(legacy / 2);
+    }
+
+    private static RefreshTokenDto refreshToken(String tokenId) {
+        LocalDateTime now = LocalDateTime.now(ZONE).truncatedTo(ChronoUnit.MILLIS);
+        return new RefreshTokenDto(tokenId, "testuser", "USER", now, now.plusDays(1));
+    }
+
+    private static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+}
@@ -0,0 +1,46 @@
+package com.melly.authjwt.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// actuator 를 내부 인터페이스(127.0.0.1)에 바인딩한 별도 관리 포트로 제공하는 기본 설정
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.health.redis.enabled=false"
+})
+@AutoConfigureObservability    // 테스트에서도 prometheus endpoint 제공
+@DisplayName("actuator 노출 범위 테스트")
+public class ActuatorSecurityTest {
+    @LocalServerPort private int serverPort;
+    @LocalManagementPort private int managementPort;
+    @Autowired private TestRestTemplate restTemplate;
+
+    private HttpStatus get(int port, String path) {
+        return HttpStatus.valueOf(restTemplate.getForEntity("http://127.0.0.1:" + port + path, String.class).getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("서비스 포트 - actuator 는 제공하지 않고, 헬스 체크(/livez, /readyz)만 인증 없이 허용")
+    void servicePort() {
+        assertThat(get(serverPort, "/actuator/prometheus")).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(get(serverPort, "/actuator/metrics")).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(get(serverPort, "/livez")).isEqualTo(HttpStatus.OK);
+        assertThat(get(serverPort, "/readyz")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("관리 포트 - 내부 인터페이스에서만 열리며 prometheus/health 를 인증 없이 수집")
+    void managementPort() {
+        assertThat(get(managementPort, "/actuator/prometheus")).isEqualTo(HttpStatus.OK);
+        assertThat(get(managementPort, "/actuator/health")).isEqualTo(HttpStatus.OK);
+    }
+}
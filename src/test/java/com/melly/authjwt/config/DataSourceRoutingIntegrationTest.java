@@ -0,0 +1,124 @@
+package com.melly.authjwt.config;
+
+import com.melly.authjwt.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// H2 DB 두 개(primary, replica)로 라우팅을 켜고, 요청 안에서 읽기 전용 조회 뒤의 쓰기가 primary 로 가는지 확인
+// H2 는 SHOW REPLICA STATUS 를 지원하지 않으므로 읽기 전용 조회는 항상 replica 로 보내도록 라우팅 DataSource 만 대체
+@SpringBootTest(properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "spring.datasource.url=" + DataSourceRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource-routing.enabled=true",
+        "spring.datasource-routing.replicas[0].name=replica-1",
+        "spring.datasource-routing.replicas[0].url=" + DataSourceRoutingIntegrationTest.REPLICA_URL,
+        "spring.user-filter.enabled=false"      // 중복 확인 쿼리가 항상 실행되도록
+})
+@AutoConfigureMockMvc
+@DisplayName("replica 라우팅 통합 테스트")
+public class DataSourceRoutingIntegrationTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired private MockMvc mockMvc;
+
+    @TestConfiguration
+    static class AlwaysReplicaConfig {
+        @Bean
+        public DataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                   MeterRegistry meterRegistry) throws SQLException {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(REPLICA_URL);
+            replica.setUsername("sa");
+            replica.setPoolName("replica-1");
+            replica.setReadOnly(true);
+            return new ReplicaRoutingDataSource(primaryDataSource.unwrap(HikariDataSource.class),
+                    Map.of("replica-1", replica), Duration.ofSeconds(1), meterRegistry) {
+                @Override
+                protected Object determineCurrentLookupKey() {
+                    return "replica-1";
+                }
+            };
+        }
+    }
+
+    // replica 스키마를 primary(Hibernate 가 생성)와 같게 맞추고 데이터는 비움
+    @BeforeEach
+    void copySchemaToReplica() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement script = primary.createStatement();
+             Statement replicaStatement = replica.createStatement()) {
+            replicaStatement.execute("DROP ALL OBJECTS");
+            try (ResultSet statements = script.executeQuery("SCRIPT NODATA")) {
+                while (statements.next()) {
+                    replicaStatement.execute(statements.getString(1));
+                }
+            }
+        }
+    }
+
+    private static long countUsers(String url, String username) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM user_tbl WHERE username = ?")) {
+            statement.setString(1, username);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("회원가입 - 중복 확인(읽기 전용)은 replica, 저장은 primary")
+    void signUpInsertsIntoPrimary() throws Exception {
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"routing-user","password":"Password1!","confirmPassword":"Password1!","email":"routing@example.com"}
+                                """))
+                .andExpect(status().isOk());
+
+        assertThat(countUsers(PRIMARY_URL, "routing-user")).isEqualTo(1);
+        assertThat(countUsers(REPLICA_URL, "routing-user")).isZero();
+    }
+
+    @Test
+    @DisplayName("기동 실패 - 라우팅을 켰는데 open-in-view 가 켜져 있으면 기동 중단")
+    void failsWithOpenInView() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(DataSourceRoutingConfig.class)
+                .withPropertyValues("spring.datasource-routing.enabled=true", "spring.jpa.open-in-view=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("spring.jpa.open-in-view=false"));
+    }
+}
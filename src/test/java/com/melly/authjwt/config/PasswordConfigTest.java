@@ -0,0 +1,83 @@
+package com.melly.authjwt.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordConfig 단위 테스트")
+public class PasswordConfigTest {
+    private final PasswordConfig passwordConfig = new PasswordConfig();
+
+    @Nested
+    @DisplayName("delegatingPasswordEncoder() 메서드 테스트")
+    class passwordEncoder {
+        private final PasswordEncoder encoder = passwordConfig.delegatingPasswordEncoder("bcrypt", 5, 250, 4, 14);
+
+        @Test
+        @DisplayName("성공 - 접두사 없는 기존 bcrypt 해시를 검증하고 업그레이드 대상으로 판단")
+        void legacyHash() {
+            String legacy = new BCryptPasswordEncoder(4).encode("pw");
+
+            assertThat(encoder.matches("pw", legacy)).isTrue();
+            assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - 새 해시는 {bcrypt} 접두사 + 설정 cost, 업그레이드 대상 아님")
+        void currentHash() {
+            String hash = encoder.encode("pw");
+
+            assertThat(hash).startsWith("{bcrypt}$2a$05$");
+            assertThat(encoder.matches("pw", hash)).isTrue();
+            assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        }
+
+        @Test
+        @DisplayName("성공 - 낮은 cost 의 {bcrypt} 해시는 업그레이드 대상")
+        void lowerCost() {
+            assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - 다른 형식으로 전환해도 기존 bcrypt 해시 검증")
+        void migrateToPbkdf2() {
+            String bcryptHash = encoder.encode("pw");
+            PasswordEncoder pbkdf2 = passwordConfig.delegatingPasswordEncoder("pbkdf2", 5, 250, 4, 14);
+
+            assertThat(pbkdf2.matches("pw", bcryptHash)).isTrue();
+            assertThat(pbkdf2.upgradeEncoding(bcryptHash)).isTrue();
+            assertThat(pbkdf2.encode("pw")).startsWith("{pbkdf2}");
+        }
+
+        @Test
+        @DisplayName("실패 - 지원하지 않는 encoding-id")
+        void unsupportedId() {
+            assertThatThrownBy(() -> passwordConfig.delegatingPasswordEncoder("md5", 5, 250, 4, 14))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("chooseStrength() 메서드 테스트")
+    class chooseStrength {
+        @Test
+        @DisplayName("성공 - 목표 시간을 넘지 않는 최대 cost")
+        void withinTarget() {
+            // cost 8 에서 4ms -> 9: 8ms, 10: 16ms, ..., 14: 256ms
+            assertThat(PasswordConfig.chooseStrength(4_000_000L, 250_000_000L, 4, 31)).isEqualTo(13);
+            assertThat(PasswordConfig.chooseStrength(4_000_000L, 256_000_000L, 4, 31)).isEqualTo(14);
+        }
+
+        @Test
+        @DisplayName("성공 - min/max 범위로 제한")
+        void clamped() {
+            assertThat(PasswordConfig.chooseStrength(100_000_000L, 250_000_000L, 10, 14)).isEqualTo(10);
+            assertThat(PasswordConfig.chooseStrength(1_000L, 250_000_000L, 10, 14)).isEqualTo(14);
+        }
+    }
+}
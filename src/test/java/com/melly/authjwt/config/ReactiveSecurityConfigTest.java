@@ -0,0 +1,98 @@
+package com.melly.authjwt.config;
+
+import com.melly.authjwt.common.auth.UserStatusCache;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.domain.enums.UserStatus;
+import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.ReactiveTokenBlacklist;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.jwt.claims-principal.enabled=true"
+})
+@AutoConfigureWebTestClient
+@DisplayName("reactive 프로필 보안 설정 테스트")
+public class ReactiveSecurityConfigTest {
+    @Autowired private WebTestClient webTestClient;
+    @Autowired private JwtUtil jwtUtil;
+
+    @MockitoBean private ReactiveTokenBlacklist reactiveTokenBlacklist;
+    @MockitoBean private UserStatusCache userStatusCache;
+
+    @Test
+    @DisplayName("토큰 없이 인증이 필요한 API 호출 시 401")
+    void rejectsWithoutToken() {
+        webTestClient.get().uri("/api/v1/users/test")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.errorCode").isEqualTo(ErrorType.UNAUTHORIZED.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("서명이 올바르지 않은 토큰은 필터에서 거부")
+    void rejectsInvalidToken() {
+        webTestClient.get().uri("/api/v1/users/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid.token.value")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.errorCode").isEqualTo(ErrorType.INVALID_ACCESS_TOKEN.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("블랙리스트 토큰은 거부")
+    void rejectsBlacklistedToken() {
+        String accessToken = jwtUtil.createJwt("AccessToken", "testuser", "USER", "token-id", 600000L);
+        when(reactiveTokenBlacklist.isBlacklisted(anyString(), any())).thenReturn(Mono.just(true));
+
+        webTestClient.get().uri("/api/v1/users/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isEqualTo(ErrorType.TOKEN_BLACKLISTED.getStatus())
+                .expectBody().jsonPath("$.errorCode").isEqualTo(ErrorType.TOKEN_BLACKLISTED.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("유효한 토큰이면 블로킹 컨트롤러까지 인증된 상태로 전달")
+    void authenticatesValidToken() {
+        String accessToken = jwtUtil.createJwt("AccessToken", "testuser", "USER", "token-id-2", 600000L);
+        when(reactiveTokenBlacklist.isBlacklisted(anyString(), any())).thenReturn(Mono.just(false));
+        when(userStatusCache.contains("testuser")).thenReturn(true);
+        when(userStatusCache.get("testuser")).thenReturn(Optional.of(UserStatus.ACTIVE));
+
+        webTestClient.get().uri("/api/v1/users/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data").isEqualTo("users ok");
+    }
+
+    @Test
+    @DisplayName("USER 권한으로 관리자 API 호출 시 403")
+    void forbidsNonAdmin() {
+        String accessToken = jwtUtil.createJwt("AccessToken", "testuser", "USER", "token-id-3", 600000L);
+        when(reactiveTokenBlacklist.isBlacklisted(anyString(), any())).thenReturn(Mono.just(false));
+        when(userStatusCache.contains("testuser")).thenReturn(true);
+        when(userStatusCache.get("testuser")).thenReturn(Optional.of(UserStatus.ACTIVE));
+
+        webTestClient.get().uri("/api/v1/admins/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().jsonPath("$.errorCode").isEqualTo(ErrorType.FORBIDDEN.getErrorCode());
+    }
+}
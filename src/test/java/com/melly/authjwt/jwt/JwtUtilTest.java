@@ -0,0 +1,282 @@
+package com.melly.authjwt.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtil 단위 테스트")
+public class JwtUtilTest {
+    private static final String SECRET = "test-secret-key-test-secret-key-test-secret-key";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 0);
+
+    @Nested
+    @DisplayName("verify() 메서드 테스트")
+    class verify {
+        @Test
+        @DisplayName("성공 - 한 번의 검증으로 모든 클레임 반환")
+        void verifySuccess() {
+            String token = jwtUtil.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            JwtVerification result = jwtUtil.verify(token);
+
+            assertThat(result.status()).isEqualTo(JwtStatus.VALID);
+            assertThat(result.isValid("AccessToken")).isTrue();
+            assertThat(result.isValid("RefreshToken")).isFalse();
+            assertThat(result.claims().username()).isEqualTo("user1");
+            assertThat(result.claims().role()).isEqualTo("USER");
+            assertThat(result.claims().tokenId()).isEqualTo("token-id");
+            assertThat(result.claims().remainingMillis(System.currentTimeMillis())).isPositive();
+        }
+
+        @Test
+        @DisplayName("만료 - 만료된 토큰도 클레임은 함께 반환")
+        void verifyExpired() {
+            String token = jwtUtil.createJwt("RefreshToken", "user1", "USER", "token-id", -1000L);
+
+            JwtVerification result = jwtUtil.verify(token);
+
+            assertThat(result.status()).isEqualTo(JwtStatus.EXPIRED);
+            assertThat(result.claims().tokenId()).isEqualTo("token-id");
+        }
+
+        @Test
+        @DisplayName("서명 불일치 - 다른 키로 서명된 토큰")
+        void verifyInvalidSignature() {
+            String token = new JwtUtil(SECRET + "-other", 0).createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            JwtVerification result = jwtUtil.verify(token);
+
+            assertThat(result.status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+            assertThat(result.claims()).isNull();
+        }
+
+        @Test
+        @DisplayName("시계 오차 - 허용 범위 안의 만료 토큰은 유효")
+        void verifyWithinClockSkew() {
+            JwtUtil skewTolerant = new JwtUtil(SECRET, 60);
+            String token = skewTolerant.createJwt("AccessToken", "user1", "USER", "token-id", -5000L);
+
+            assertThat(skewTolerant.verify(token).isValid()).isTrue();
+            assertThat(jwtUtil.verify(token).isExpired()).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - familyId 는 지정한 경우에만 클레임에 포함")
+        void verifyFamilyId() {
+            String refreshToken = jwtUtil.createJwt("RefreshToken", "user1", "USER", "token-id", "family-id", 86400000L);
+            String accessToken = jwtUtil.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(jwtUtil.verify(refreshToken).claims().familyId()).isEqualTo("family-id");
+            assertThat(jwtUtil.verify(accessToken).claims().familyId()).isNull();
+        }
+
+        @Test
+        @DisplayName("성공 - 발급 시각을 지정하면 토큰을 만들기 전에 exp 를 알 수 있음")
+        void verifyExpiresAtBeforeIssue() {
+            long issuedAt = System.currentTimeMillis();
+            String token = jwtUtil.createJwt("AccessToken", "user1", "USER", "token-id", null, issuedAt, 600000L);
+
+            assertThat(jwtUtil.verify(token).claims().expiresAt()).isEqualTo(JwtUtil.expiresAt(issuedAt, 600000L));
+        }
+
+        @Test
+        @DisplayName("형식 오류 - null 또는 JWT 가 아닌 문자열")
+        void verifyMalformed() {
+            assertThat(jwtUtil.verify(null).status()).isEqualTo(JwtStatus.MALFORMED);
+            assertThat(jwtUtil.verify("not-a-jwt").status()).isEqualTo(JwtStatus.MALFORMED);
+        }
+    }
+
+    @Nested
+    @DisplayName("비대칭 서명 테스트")
+    class asymmetric {
+        @Test
+        @DisplayName("성공 - ES256/EdDSA 로 서명한 토큰을 공개키로 검증하고 kid 를 JWKS 와 일치시킴")
+        void signAndVerify() throws Exception {
+            for (JwtAlgorithm algorithm : List.of(JwtAlgorithm.ES256, JwtAlgorithm.EdDSA)) {
+                JwtUtil signer = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(algorithm));
+                String token = signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+                assertThat(signer.verify(token).isValid("AccessToken")).isTrue();
+
+                Map<?, ?> header = new ObjectMapper().readValue(Base64.getUrlDecoder().decode(token.split("\\.")[0]), Map.class);
+                assertThat(header.get("alg")).isEqualTo(algorithm.id());
+                assertThat(header.get("kid")).isEqualTo(signer.publicJwks().get(0).getId());
+            }
+        }
+
+        @Test
+        @DisplayName("성공 - 비대칭 서명으로 전환해도 전환 시각 이전에 발급된 HS256 토큰은 기간 안에서 검증 가능")
+        void acceptsLegacyHs256() {
+            JwtUtil signer = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256), new JwtKeyRing(),
+                    Instant.now().plusSeconds(60), Duration.ofDays(1));
+            String legacy = jwtUtil.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(signer.verify(legacy).isValid()).isTrue();
+        }
+
+        @Test
+        @DisplayName("서명 불일치 - 전환 시각 이후에 발급된 HS256 토큰")
+        void rejectsHs256IssuedAfterCutover() {
+            JwtUtil signer = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256), new JwtKeyRing(),
+                    Instant.now().minusSeconds(60), Duration.ofDays(1));
+            String forged = jwtUtil.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(signer.verify(forged).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+        }
+
+        @Test
+        @DisplayName("서명 불일치 - 전환 기간이 지났거나 설정하지 않으면 HS256 토큰 거부")
+        void rejectsHs256OutsideWindow() {
+            String legacy = new JwtUtil(SECRET, 0).createJwt("AccessToken", "user1", "USER", "token-id",
+                    null, System.currentTimeMillis() - Duration.ofDays(2).toMillis(), Duration.ofDays(3).toMillis());
+            JwtUtil expiredWindow = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256), new JwtKeyRing(),
+                    Instant.now().minus(Duration.ofDays(1)), Duration.ofHours(12));
+            JwtUtil noWindow = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256));
+
+            assertThat(expiredWindow.verify(legacy).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+            assertThat(noWindow.verify(legacy).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+        }
+
+        @Test
+        @DisplayName("실패 - 키 쌍이 없으면 allow-ephemeral 없이는 기동 실패")
+        void requiresConfiguredKeyPair() {
+            assertThatThrownBy(() -> JwtSigningKeys.load(JwtAlgorithm.ES256, "", "", false))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(JwtSigningKeys.load(JwtAlgorithm.ES256, "", "", true).algorithm()).isEqualTo(JwtAlgorithm.ES256);
+        }
+
+        @Test
+        @DisplayName("서명 불일치 - 다른 키 쌍으로 서명된 토큰")
+        void rejectsOtherKeyPair() {
+            JwtUtil signer = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256));
+            String forged = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256))
+                    .createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(signer.verify(forged).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+        }
+
+        @Test
+        @DisplayName("형식 오류 - 설정하지 않은 알고리즘의 토큰")
+        void rejectsUnconfiguredAlgorithm() {
+            String edToken = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.EdDSA))
+                    .createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(jwtUtil.verify(edToken).status()).isEqualTo(JwtStatus.MALFORMED);
+        }
+
+        @Test
+        @DisplayName("성공 - JWKS 에는 공개키 파라미터만 포함")
+        void publicJwkJson() throws Exception {
+            JwtUtil signer = new JwtUtil(SECRET, 0, JwtSigningKeys.generate(JwtAlgorithm.ES256));
+
+            String json = new ObjectMapper().writeValueAsString(Map.of("keys", signer.publicJwks()));
+            Map<?, ?> jwk = (Map<?, ?>) ((List<?>) new ObjectMapper().readValue(json, Map.class).get("keys")).get(0);
+
+            assertThat(jwk.get("kty")).isEqualTo("EC");
+            assertThat(jwk.get("crv")).isEqualTo("P-256");
+            assertThat(jwk.get("alg")).isEqualTo("ES256");
+            assertThat(jwk.get("x")).isInstanceOf(String.class);
+            assertThat(jwk.containsKey("d")).isFalse();
+            assertThat(jwtUtil.publicJwks()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("서명 키 로테이션 테스트")
+    class keyRing {
+        private final JwtKeyRing ring = new JwtKeyRing();
+        private final JwtUtil signer = new JwtUtil(SECRET, 0, null, ring);
+
+        private JwtKeyRing.RingKey hsKey(String kid, long activatesAt) {
+            SecretKeySpec key = new SecretKeySpec(("ring-secret-" + kid + "-ring-secret-ring-secret").getBytes(), "HmacSHA256");
+            return new JwtKeyRing.RingKey(kid, JwtAlgorithm.HS256, key, key, null, activatesAt, activatesAt);
+        }
+
+        private String kidOf(String token) throws Exception {
+            Map<?, ?> header = new ObjectMapper().readValue(Base64.getUrlDecoder().decode(token.split("\\.")[0]), Map.class);
+            return (String) header.get("kid");
+        }
+
+        @Test
+        @DisplayName("성공 - 활성화된 최신 키로 서명하고, 이전 키로 발급된 토큰도 검증")
+        void rotatesSigningKey() throws Exception {
+            long now = System.currentTimeMillis();
+            ring.replace(List.of(hsKey("k1", now - 10000)));
+            String old = signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            ring.replace(List.of(hsKey("k1", now - 10000), hsKey("k2", now - 1000)));
+            String rotated = signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(kidOf(old)).isEqualTo("k1");
+            assertThat(kidOf(rotated)).isEqualTo("k2");
+            assertThat(signer.verify(old).isValid("AccessToken")).isTrue();
+            assertThat(signer.verify(rotated).isValid("AccessToken")).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - 활성화 전 키는 검증에만 쓰이고 서명에는 쓰이지 않음")
+        void pendingKeyOnlyVerifies() throws Exception {
+            long now = System.currentTimeMillis();
+            ring.replace(List.of(hsKey("k1", now - 10000), hsKey("k2", now + 60000)));
+
+            assertThat(kidOf(signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L))).isEqualTo("k1");
+
+            // 다른 노드가 먼저 k2 를 활성화하여 서명한 토큰
+            JwtKeyRing other = new JwtKeyRing();
+            other.replace(List.of(hsKey("k2", now - 1000)));
+            String fromOtherNode = new JwtUtil(SECRET, 0, null, other).createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(signer.verify(fromOtherNode).isValid("AccessToken")).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - 키 목록이 비어 있으면 설정 키로 서명하고, 이전 토큰은 전환 기간 동안 검증")
+        void fallsBackToConfiguredKey() throws Exception {
+            JwtUtil legacySigner = new JwtUtil(SECRET, 0, null, ring, Instant.now().plusSeconds(60), Duration.ofDays(1));
+            String token = legacySigner.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+            assertThat(kidOf(token)).isNull();
+
+            ring.replace(List.of(hsKey("k1", System.currentTimeMillis() - 1000)));
+            assertThat(legacySigner.verify(token).isValid("AccessToken")).isTrue();
+            // 전환 기간을 설정하지 않으면 키 목록이 활성화된 뒤 설정 키로 서명된 토큰은 거부
+            assertThat(signer.verify(token).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+        }
+
+        @Test
+        @DisplayName("서명 불일치 - 목록에서 삭제된 키의 kid 를 가진 토큰")
+        void rejectsRetiredKey() {
+            long now = System.currentTimeMillis();
+            ring.replace(List.of(hsKey("k1", now - 1000)));
+            String token = signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            ring.replace(List.of(hsKey("k2", now - 500)));
+
+            // kid 를 찾지 못하면 설정 키(HS256)로 검증하므로 서명 불일치
+            assertThat(signer.verify(token).status()).isEqualTo(JwtStatus.INVALID_SIGNATURE);
+        }
+
+        @Test
+        @DisplayName("형식 오류 - kid 의 키와 다른 alg 헤더")
+        void rejectsAlgorithmMismatch() {
+            JwtSigningKeys es = JwtSigningKeys.generate(JwtAlgorithm.ES256);
+            ring.replace(List.of(hsKey(es.keyId(), System.currentTimeMillis() - 1000)));
+
+            String token = new JwtUtil(SECRET, 0, es).createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            assertThat(signer.verify(token).status()).isEqualTo(JwtStatus.MALFORMED);
+        }
+    }
+}
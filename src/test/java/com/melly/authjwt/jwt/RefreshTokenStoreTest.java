@@ -0,0 +1,167 @@
+package com.melly.authjwt.jwt;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.common.util.RefreshTokenRedisSerializer;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import com.melly.authjwt.dto.response.RefreshTokenDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenStoreTest {
+
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private HashOperations<String, Object, Object> hashOperations;
+
+    private RedisCircuitBreaker circuitBreaker;
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(true, 1, null, null, null, null, null), new SimpleMeterRegistry());
+        refreshTokenStore = new RefreshTokenStore(redisTemplate, circuitBreaker);
+    }
+
+    @Nested
+    @DisplayName("sessions() 메서드 테스트")
+    class sessions {
+        @Test
+        @DisplayName("성공 - 만료된 세션은 제외하고 인덱스에서 지연 삭제")
+        void sessions_trimsExpired() {
+            long now = System.currentTimeMillis();
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            entries.put("active", now + 60000L + ":" + (now + 60000L) + ":family-1");
+            entries.put("legacy", now + 60000L);     // 이전 형식 (Refresh Token 만료 시각만)
+            entries.put("expired", (int) 1000);     // JSON 역직렬화 시 작은 값은 Integer 로 돌아올 수 있음
+
+            when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+            when(hashOperations.entries("Sessions:user1")).thenReturn(entries);
+
+            Map<String, Long> result = refreshTokenStore.sessions("user1");
+
+            assertThat(result).containsOnlyKeys("active", "legacy");
+            assertThat(result.get("active")).isEqualTo(now + 60000L);
+            verify(hashOperations).delete("Sessions:user1", "expired");
+        }
+
+        @Test
+        @DisplayName("성공 - 만료 항목 정리가 실패해도 조회 결과는 반환하고 정리는 재처리 큐로 미룸")
+        void sessions_trimDeferredWhileRedisDown() {
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            entries.put("active", System.currentTimeMillis() + 60000L);
+            entries.put("expired", 1000L);
+
+            when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+            when(hashOperations.entries("Sessions:user1")).thenReturn(entries);
+            when(hashOperations.delete("Sessions:user1", "expired")).thenThrow(new RedisConnectionFailureException("down"));
+
+            assertThat(refreshTokenStore.sessions("user1")).containsOnlyKeys("active");
+            assertThat(circuitBreaker.isOpen()).isTrue();
+        }
+
+        @Test
+        @DisplayName("성공 - 만료된 세션이 없으면 삭제 명령을 보내지 않음")
+        void sessions_noExpired() {
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            entries.put("active", System.currentTimeMillis() + 60000L);
+
+            when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+            when(hashOperations.entries("Sessions:user1")).thenReturn(entries);
+
+            assertThat(refreshTokenStore.sessions("user1")).containsOnlyKeys("active");
+            verify(hashOperations, never()).delete(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("실패 - Redis 차단 중에는 호출 없이 REDIS_UNAVAILABLE")
+        void sessions_circuitOpen() {
+            circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+
+            assertThatThrownBy(() -> refreshTokenStore.sessions("user1"))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType").isEqualTo(ErrorType.REDIS_UNAVAILABLE);
+            verifyNoInteractions(redisTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteAll() 메서드 테스트")
+    class deleteAll {
+        @Test
+        @DisplayName("성공 - 삭제된 세션의 Access Token 만료 시각 반환 (이전 형식 값은 만료 시각 없음)")
+        @SuppressWarnings("unchecked")
+        void deleteAll_returnsSessions() {
+            // 스크립트는 HGETALL 결과를 그대로 반환 (값은 JSON 직렬화된 원본)
+            doReturn(List.of("token-1", "\"86400000:600000:family-1\"", "token-2", "86400000"))
+                    .when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                            anyList(), any(Object[].class));
+
+            Map<String, RefreshTokenStore.Session> result = refreshTokenStore.deleteAll("user1");
+
+            assertThat(result).containsExactly(
+                    Map.entry("token-1", new RefreshTokenStore.Session(86400000L, 600000L, "family-1")),
+                    Map.entry("token-2", new RefreshTokenStore.Session(86400000L, 0, null)));
+            assertThat(result.get("token-2").hasAccessExpiresAt()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("rotate() 메서드 테스트")
+    class rotate {
+        @Test
+        @DisplayName("재사용 감지 - 폐기된 현재 토큰의 세션(Access Token 만료 시각)을 함께 반환")
+        @SuppressWarnings("unchecked")
+        void rotate_reusedReturnsRevokedSession() {
+            doReturn(new RefreshTokenRedisSerializer(RedisSerializer.json())).when(redisTemplate).getValueSerializer();
+            doReturn(List.of(2L, "token-3", "\"86400000:600000:family-1\""))
+                    .when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                            anyList(), any(Object[].class));
+            RefreshTokenDto dto = new RefreshTokenDto("token-4", "user1", "USER", LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+
+            RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate("token-1", "family-1", dto, 600000L, Duration.ofDays(1));
+
+            assertThat(rotation.outcome()).isEqualTo(RefreshTokenStore.Rotation.Outcome.REUSED);
+            assertThat(rotation.revokedTokenId()).isEqualTo("token-3");
+            assertThat(rotation.revokedSession().accessExpiresAt()).isEqualTo(600000L);
+        }
+    }
+
+    @Test
+    @DisplayName("실패 - Redis Cluster 연결이면 기동 중단 (스크립트가 선언하지 않은 키에 접근)")
+    void rejectsCluster() {
+        LettuceConnectionFactory factory = mock(LettuceConnectionFactory.class);
+        when(factory.isClusterAware()).thenReturn(true);
+        when(redisTemplate.getConnectionFactory()).thenReturn(factory);
+
+        assertThatThrownBy(refreshTokenStore::requireStandalone)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Redis Cluster");
+    }
+}
@@ -0,0 +1,317 @@
+package com.melly.authjwt.jwt;
+
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.redis.RedisCircuitBreaker;
+import com.melly.authjwt.config.RedisResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklist 단위 테스트")
+public class TokenBlacklistTest {
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+    @Mock private JwtUtil jwtUtil;
+    @Mock private Cursor<String> emptyCursor;
+    @Mock private Cursor<String> cursor;
+    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private Message message;
+
+    private RedisCircuitBreaker circuitBreaker;
+    private TokenBlacklist tokenBlacklist;
+    private final JwtClaims claims = new JwtClaims("AccessToken", "user1", "USER", "token-id", System.currentTimeMillis() + 60000L);
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new RedisCircuitBreaker(redisTemplate,
+                new RedisResilienceProperties(true, 1, Duration.ZERO, null, null, null, null), new SimpleMeterRegistry());
+        tokenBlacklist = new TokenBlacklist(redisTemplate, listenerContainer, jwtUtil, circuitBreaker, 600000L, 1000L, 0.01, true, 1000L);
+    }
+
+    private void warmUpWithNoKeys() {
+        when(emptyCursor.hasNext()).thenReturn(false);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(emptyCursor);
+        tokenBlacklist.warmUp();
+    }
+
+    @Test
+    @DisplayName("워밍업 전 - 신규/이전 형식 키를 Redis 에서 한 번에 확인")
+    void beforeWarmUpChecksRedis() {
+        when(redisTemplate.countExistingKeys(List.of("BLACKLIST:token-id", "BLACKLIST_access-token"))).thenReturn(1L);
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis 에서 확인된 토큰 - 다음 조회는 Redis 없이 거부")
+    void confirmedTokenSkipsRedis() {
+        when(redisTemplate.countExistingKeys(anyCollection())).thenReturn(1L);
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+
+        verify(redisTemplate, times(1)).countExistingKeys(anyCollection());
+    }
+
+    @Test
+    @DisplayName("워밍업 후 - Bloom filter 에 없는 토큰은 Redis 조회 없이 통과")
+    void afterWarmUpSkipsRedis() {
+        warmUpWithNoKeys();
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isFalse();
+        verify(redisTemplate, never()).countExistingKeys(any());
+    }
+
+    @Test
+    @DisplayName("등록 - tokenId 키로 저장하고, 이 노드의 이후 조회는 Redis 없이 거부")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void blacklistByTokenId() {
+        warmUpWithNoKeys();
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+
+        tokenBlacklist.blacklist("token-id", claims.expiresAt());
+
+        // 저장(SET PX)과 전파(PUBLISH)를 스크립트 한 번으로 실행
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("BLACKLIST:token-id")),
+                eq(bytes(String.valueOf(claims.expiresAt()))), any(byte[].class), eq(bytes("blacklist")), eq(bytes(claims.expiresAt() + ":token-id")));
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+        verify(redisTemplate, never()).countExistingKeys(any());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @DisplayName("Redis 장애 - Bloom filter 에 걸린 토큰은 fail-closed 정책으로 거부하고, 복구 후 다시 Redis 로 확인")
+    void redisDownUsesBloomFilter() {
+        warmUpWithNoKeys();
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(message.getBody()).thenReturn(bytes(claims.expiresAt() + ":token-id"));
+        tokenBlacklist.onMessage(message, null);
+        when(redisTemplate.countExistingKeys(anyCollection()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(0L);
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+        verify(redisTemplate, times(1)).countExistingKeys(anyCollection());
+
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+        circuitBreaker.probe();
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 - 워밍업 전이라 로컬 상태가 없으면 REDIS_UNAVAILABLE")
+    void redisDownBeforeWarmUp() {
+        when(redisTemplate.countExistingKeys(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> tokenBlacklist.isBlacklisted("access-token", claims))
+                .isInstanceOf(CustomException.class)
+                .extracting("errorType").isEqualTo(ErrorType.REDIS_UNAVAILABLE);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @DisplayName("Redis 장애 중 등록 - 로컬에 바로 반영하고 Redis 저장은 복구 후 재실행")
+    void blacklistQueuedWhileRedisDown() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+
+        tokenBlacklist.blacklist("token-id", claims.expiresAt());
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+        circuitBreaker.probe();
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("BLACKLIST:token-id")),
+                eq(bytes(String.valueOf(claims.expiresAt()))), any(byte[].class), eq(bytes("blacklist")), eq(bytes(claims.expiresAt() + ":token-id")));
+    }
+
+    @Test
+    @DisplayName("등록 - 몇 분 전에 발급된 토큰도 실제 만료 시각의 slice 로 등록되어 Bloom filter 에 걸림")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void blacklistTokenIssuedMinutesAgo() {
+        warmUpWithNoKeys();
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        // 전체 로그아웃 7분 전에 발급된 Access Token (남은 수명 3분)
+        long expiresAt = JwtUtil.expiresAt(System.currentTimeMillis() - 420000L, 600000L);
+        JwtClaims issuedEarlier = new JwtClaims("AccessToken", "user1", "USER", "token-id", expiresAt);
+
+        tokenBlacklist.blacklist("token-id", expiresAt);
+
+        assertThat(tokenBlacklist.requiresLookup(issuedEarlier)).isTrue();
+        assertThat(tokenBlacklist.isBlacklisted("access-token", issuedEarlier)).isTrue();
+    }
+
+    @Test
+    @DisplayName("범위 등록 - 만료 시각을 모르는 토큰은 범위 안의 어느 만료 시각으로 조회해도 걸리고, slice 마다 전파")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void blacklistRange() {
+        warmUpWithNoKeys();
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        long now = System.currentTimeMillis();
+
+        tokenBlacklist.blacklist("token-id", now, now + 600000L);
+
+        for (long remaining : new long[]{1000L, 180000L, 420000L, 600000L}) {
+            JwtClaims token = new JwtClaims("AccessToken", "user1", "USER", "token-id", now + remaining);
+            assertThat(tokenBlacklist.requiresLookup(token)).isTrue();
+        }
+        // 범위가 slice 두 개에 걸치므로 메시지 두 개 (다른 노드는 기존 형식 그대로 읽음)
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("BLACKLIST:token-id")),
+                eq(bytes(now + "-" + (now + 600000L))), any(byte[].class), eq(bytes("blacklist")),
+                argThat((byte[] first) -> new String(first, StandardCharsets.UTF_8).endsWith(":token-id")),
+                eq(bytes((now + 600000L) + ":token-id")));
+    }
+
+    @Test
+    @DisplayName("확인 캐시 - Bloom filter 보다 먼저 확인하여 Bloom filter 에 없어도 거부")
+    void confirmedCheckedBeforeBloomFilter() {
+        when(redisTemplate.countExistingKeys(anyCollection())).thenReturn(1L);
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+
+        // 워밍업 시점에는 키가 보이지 않았더라도 (Bloom filter 비어 있음) 확인된 토큰은 계속 거부
+        warmUpWithNoKeys();
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isTrue();
+        verify(redisTemplate, times(1)).countExistingKeys(anyCollection());
+    }
+
+    @Test
+    @DisplayName("워밍업 - 블랙리스트 키 값의 만료 시각으로 Bloom filter 를 채움 (TTL 역산 없음)")
+    void warmUpReadsExpiryFromValue() {
+        long expiresAt = System.currentTimeMillis() + 180000L;
+        long from = System.currentTimeMillis();
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("BLACKLIST:token-id", "BLACKLIST:range-id");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("BLACKLIST:token-id", "BLACKLIST:range-id")))
+                .thenReturn(List.of(String.valueOf(expiresAt), from + "-" + (from + 600000L)));
+
+        tokenBlacklist.warmUp();
+
+        assertThat(tokenBlacklist.requiresLookup(new JwtClaims("AccessToken", "user1", "USER", "token-id", expiresAt))).isTrue();
+        assertThat(tokenBlacklist.requiresLookup(new JwtClaims("AccessToken", "user1", "USER", "range-id", from + 420000L))).isTrue();
+        verify(redisTemplate, never()).getExpire(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("워밍업 - 만료 시각이 없는 이전 값은 TTL 로 역산하고, 시계 차이만큼 이웃 slice 에도 등록")
+    void warmUpLegacyValueUsesTtl() {
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn("BLACKLIST:token-id");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("BLACKLIST:token-id"))).thenReturn(List.of("logout"));
+        when(redisTemplate.getExpire("BLACKLIST:token-id", TimeUnit.MILLISECONDS)).thenReturn(60000L);
+
+        // slice 를 10초로 잡아 역산 오차가 slice 경계를 넘는 경우를 확인
+        TokenBlacklist smallSlices = new TokenBlacklist(redisTemplate, listenerContainer, jwtUtil, circuitBreaker, 10000L, 1000L, 0.01, true, 1000L);
+        smallSlices.warmUp();
+
+        // 다른 노드 시계 기준 만료 시각이 몇 초 어긋나도 조회됨
+        long now = System.currentTimeMillis();
+        assertThat(smallSlices.requiresLookup(new JwtClaims("AccessToken", "user1", "USER", "token-id", now + 60000L))).isTrue();
+        assertThat(smallSlices.requiresLookup(new JwtClaims("AccessToken", "user1", "USER", "token-id", now + 50000L))).isTrue();
+        assertThat(smallSlices.requiresLookup(new JwtClaims("AccessToken", "user1", "USER", "token-id", now + 70000L))).isTrue();
+    }
+
+    @Test
+    @DisplayName("워밍업 실패 - 조회 경로에서는 재시도하지 않고, 스케줄된 재시도에서 다시 채움")
+    void warmUpRetriedBySchedule() {
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(emptyCursor);
+        tokenBlacklist.warmUp();
+
+        assertThat(tokenBlacklist.requiresLookup(claims)).isTrue();
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+
+        tokenBlacklist.retryWarmUp();
+
+        assertThat(tokenBlacklist.requiresLookup(claims)).isFalse();
+        // 워밍업이 끝난 뒤의 재시도는 아무 것도 하지 않음 (실패 1회 + 성공 시 신규/이전 형식 키 스캔 2회)
+        tokenBlacklist.retryWarmUp();
+        verify(redisTemplate, times(3)).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    @DisplayName("재구독 - 연결이 끊긴 동안 놓친 등록은 다시 워밍업할 때까지 Redis 로 확인하고, 재워밍업으로 Bloom filter 에 채움")
+    void resubscribeRecoversMissedMessage() {
+        warmUpWithNoKeys();
+        JwtClaims other = new JwtClaims("AccessToken", "user2", "USER", "other-id", claims.expiresAt());
+        assertThat(tokenBlacklist.requiresLookup(claims)).isFalse();
+
+        // 연결이 끊긴 동안 다른 노드에서 token-id 를 등록 (메시지 유실) 후 재구독
+        tokenBlacklist.onChannelSubscribed(bytes("blacklist"), 1);
+        assertThat(tokenBlacklist.requiresLookup(claims)).isTrue();
+        assertThat(tokenBlacklist.requiresLookup(other)).isTrue();
+
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn("BLACKLIST:token-id");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor).thenReturn(emptyCursor);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("BLACKLIST:token-id"))).thenReturn(List.of(String.valueOf(claims.expiresAt())));
+        tokenBlacklist.retryWarmUp();
+
+        assertThat(tokenBlacklist.requiresLookup(claims)).isTrue();
+        assertThat(tokenBlacklist.requiresLookup(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("재구독 후 Redis 장애 - 다시 워밍업하기 전에도 Bloom filter 에 없는 토큰은 거부하지 않음")
+    void resubscribeThenRedisDown() {
+        warmUpWithNoKeys();
+        tokenBlacklist.onChannelSubscribed(bytes("blacklist"), 1);
+        when(redisTemplate.countExistingKeys(anyCollection())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(tokenBlacklist.isBlacklisted("access-token", claims)).isFalse();
+        verify(redisTemplate, times(1)).countExistingKeys(anyCollection());
+    }
+
+    @Test
+    @DisplayName("워밍업 전 - 기동 시 워밍업이 시도되기 전에는 스케줄된 재시도가 실행되지 않음")
+    void retryWaitsForStartupWarmUp() {
+        tokenBlacklist.retryWarmUp();
+
+        verifyNoInteractions(listenerContainer);
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
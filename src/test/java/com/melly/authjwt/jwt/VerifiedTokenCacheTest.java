@@ -0,0 +1,57 @@
+package com.melly.authjwt.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache 단위 테스트")
+public class VerifiedTokenCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, meterRegistry);
+    private final UserDetails principal = User.withUsername("user1").password("").roles("USER").build();
+
+    @Test
+    @DisplayName("성공 - 저장한 토큰은 조회되고, 로그아웃(evict) 시 즉시 제거")
+    void putGetEvict() {
+        JwtClaims claims = new JwtClaims("AccessToken", "user1", "USER", "token-id", System.currentTimeMillis() + 60000L);
+
+        assertThat(cache.get("token")).isNull();
+        cache.put("token", claims, principal);
+
+        assertThat(cache.get("token").principal()).isSameAs(principal);
+        assertThat(cache.get("other-token")).isNull();
+
+        cache.evict("token");
+        assertThat(cache.get("token")).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료 - exp 가 지난 토큰은 캐시에 남지 않음")
+    void expiredTokenIsNotServed() {
+        JwtClaims claims = new JwtClaims("AccessToken", "user1", "USER", "token-id", System.currentTimeMillis() - 1L);
+
+        cache.put("token", claims, principal);
+
+        assertThat(cache.get("token")).isNull();
+    }
+
+    @Test
+    @DisplayName("성공 - 사용자 변경 시 그 사용자의 토큰만 제거")
+    void evictUser() {
+        long exp = System.currentTimeMillis() + 60000L;
+        cache.put("token-1", new JwtClaims("AccessToken", "user1", "USER", "token-1", exp), principal);
+        cache.put("token-2", new JwtClaims("AccessToken", "user1", "USER", "token-2", exp), principal);
+        cache.put("token-3", new JwtClaims("AccessToken", "user2", "USER", "token-3", exp), principal);
+
+        cache.evictUser("user1");
+
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.get("token-2")).isNull();
+        assertThat(cache.get("token-3")).isNotNull();
+    }
+}
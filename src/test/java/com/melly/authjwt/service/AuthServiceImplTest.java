@@ -1,9 +1,10 @@
 package com.melly.authjwt.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melly.authjwt.common.auth.LoginRateLimiter;
 import com.melly.authjwt.common.auth.PrincipalDetails;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.common.metrics.AuthMetrics;
 import com.melly.authjwt.common.util.CookieUtil;
 import com.melly.authjwt.domain.entity.UserEntity;
 import com.melly.authjwt.domain.enums.UserRole;
@@ -11,7 +12,13 @@ import com.melly.authjwt.dto.request.LoginRequestDto;
 import com.melly.authjwt.dto.response.LoginResponseDto;
 import com.melly.authjwt.dto.response.ReIssueTokenDto;
 import com.melly.authjwt.dto.response.RefreshTokenDto;
+import com.melly.authjwt.dto.response.SessionDto;
+import com.melly.authjwt.jwt.JwtClaims;
 import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.JwtVerification;
+import com.melly.authjwt.jwt.RefreshTokenStore;
+import com.melly.authjwt.jwt.TokenBlacklist;
+import com.melly.authjwt.jwt.VerifiedTokenCache;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -23,8 +30,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.RedisConnectionFailureException;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -32,7 +37,9 @@ import org.springframework.security.core.Authentication;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,15 +51,17 @@ import static org.mockito.Mockito.*;
 public class AuthServiceImplTest {
     @Mock private JwtUtil jwtUtil;
     @Mock private AuthenticationManager authenticationManager;
-    @Mock private RedisTemplate<String, Object> redisTemplate;
-    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private RefreshTokenStore refreshTokenStore;
     @Mock private HttpServletRequest request;
     @Mock private HttpServletResponse response;
     @Mock private Authentication authentication;
     @Mock private PrincipalDetails principalDetails;
     @Mock private UserEntity userEntity;
     @Mock private CookieUtil cookieUtil;
-    @Mock private ObjectMapper objectMapper;
+    @Mock private VerifiedTokenCache verifiedTokenCache;
+    @Mock private TokenBlacklist tokenBlacklist;
+    @Mock private LoginRateLimiter loginRateLimiter;
+    @Mock private AuthMetrics authMetrics;
 
     @InjectMocks AuthServiceImpl authServiceImpl;
 
@@ -65,20 +74,18 @@ public class AuthServiceImplTest {
 
             // given
             LoginRequestDto dto = new LoginRequestDto("testuser", "password");
+            when(request.getRemoteAddr()).thenReturn("10.0.0.1");
             when(authenticationManager.authenticate(any())).thenReturn(authentication);
             when(authentication.getPrincipal()).thenReturn(principalDetails);
             when(principalDetails.getUserEntity()).thenReturn(userEntity);
             when(userEntity.getUsername()).thenReturn("testuser");
             when(userEntity.getRole()).thenReturn(UserRole.USER);
-            when(jwtUtil.createJwt(eq("AccessToken"), anyString(), anyString(), anyString(), anyLong()))
+            when(jwtUtil.createJwt(eq("AccessToken"), anyString(), anyString(), anyString(), isNull(), anyLong(), eq(600000L)))
                     .thenReturn("access-token");
-            when(jwtUtil.createJwt(eq("RefreshToken"), anyString(), anyString(), anyString(), anyLong()))
+            when(jwtUtil.createJwt(eq("RefreshToken"), anyString(), anyString(), anyString(), anyString(), anyLong()))
                     .thenReturn("refresh-token");
-            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-            doNothing().when(valueOperations).set(anyString(), any(), any(Duration.class));
-
             // when
-            LoginResponseDto result = authServiceImpl.login(dto, response);
+            LoginResponseDto result = authServiceImpl.login(dto, request, response);
 
             // then
             assertThat(result).isNotNull();
@@ -89,7 +96,44 @@ public class AuthServiceImplTest {
 
             // 쿠키가 response에 추가되었는지 확인
             verify(response, times(1)).addCookie(any());
-            verify(valueOperations).set(anyString(), any(), any(Duration.class));
+            // 새 로테이션 체인은 첫 tokenId 를 familyId 로 사용, Access Token 만료 시각을 세션에 함께 보관
+            verify(refreshTokenStore).save(
+                    argThat(saved -> "testuser".equals(saved.getGetUsername())),
+                    argThat(familyId -> familyId != null),
+                    longThat(accessExpiresAt -> accessExpiresAt > System.currentTimeMillis()),
+                    eq(Duration.ofDays(1)));
+            verify(loginRateLimiter).onSuccess("testuser", "10.0.0.1");
+            verify(authMetrics).recordOperation(eq(AuthMetrics.Operation.LOGIN), anyLong(), eq(true));
+        }
+
+        @Test
+        @DisplayName("예외 - 시도 제한 초과 시 인증(해시/DB 조회) 없이 거부")
+        void loginRateLimited() {
+            LoginRequestDto dto = new LoginRequestDto("testuser", "password");
+            when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+            doThrow(new CustomException(ErrorType.TOO_MANY_LOGIN_ATTEMPTS, 30))
+                    .when(loginRateLimiter).check("testuser", "10.0.0.1");
+
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.TOO_MANY_LOGIN_ATTEMPTS);
+            verifyNoInteractions(authenticationManager);
+            verify(authMetrics).recordOperation(eq(AuthMetrics.Operation.LOGIN), anyLong(), eq(false));
+        }
+
+        @Test
+        @DisplayName("예외 - 없는 아이디도 실패 횟수에 포함")
+        void loginUserNotFound() {
+            LoginRequestDto dto = new LoginRequestDto("nobody", "password");
+            when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+            when(authenticationManager.authenticate(any())).thenThrow(new CustomException(ErrorType.USER_NOT_FOUND));
+
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.USER_NOT_FOUND);
+            verify(loginRateLimiter).onFailure("nobody", "10.0.0.1");
         }
 
         @Test
@@ -97,13 +141,15 @@ public class AuthServiceImplTest {
         void loginBadCredentials() {
             // given
             LoginRequestDto dto = new LoginRequestDto("testuser", "wrongpassword");
+            when(request.getRemoteAddr()).thenReturn("10.0.0.1");
             when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("BAD_CREDENTIALS"));
 
             // when & then
-            assertThatThrownBy(() -> authServiceImpl.login(dto, response))
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
                     .isInstanceOf(CustomException.class)
                     .extracting("errorType")
                     .isEqualTo(ErrorType.BAD_CREDENTIALS);
+            verify(loginRateLimiter).onFailure("testuser", "10.0.0.1");
         }
 
         @Test
@@ -114,7 +160,7 @@ public class AuthServiceImplTest {
             DisabledException disabledException = new DisabledException("USER_DELETED");
             when(authenticationManager.authenticate(any())).thenThrow(disabledException);
 
-            assertThatThrownBy(() -> authServiceImpl.login(dto, response))
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
                     .isInstanceOf(CustomException.class)
                     .extracting("errorType")
                     .isEqualTo(ErrorType.USER_DELETED);
@@ -128,7 +174,7 @@ public class AuthServiceImplTest {
             DisabledException disabledException = new DisabledException("Some other message");
             when(authenticationManager.authenticate(any())).thenThrow(disabledException);
 
-            assertThatThrownBy(() -> authServiceImpl.login(dto, response))
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
                     .isInstanceOf(CustomException.class)
                     .extracting("errorType")
                     .isEqualTo(ErrorType.USER_INACTIVE);
@@ -144,11 +190,13 @@ public class AuthServiceImplTest {
             when(principalDetails.getUserEntity()).thenReturn(userEntity);
             when(userEntity.getUsername()).thenReturn("testuser");
             when(userEntity.getRole()).thenReturn(UserRole.USER);
-            when(jwtUtil.createJwt(anyString(), anyString(), anyString(), anyString(), anyLong()))
+            when(jwtUtil.createJwt(anyString(), anyString(), anyString(), anyString(), isNull(), anyLong(), anyLong()))
+                    .thenReturn("token");
+            when(jwtUtil.createJwt(anyString(), anyString(), anyString(), anyString(), anyString(), anyLong()))
                     .thenReturn("token");
-            doThrow(new RedisConnectionFailureException("Redis down")).when(redisTemplate).opsForValue();
+            doThrow(new RedisConnectionFailureException("Redis down")).when(refreshTokenStore).save(any(), any(), anyLong(), any());
 
-            assertThatThrownBy(() -> authServiceImpl.login(dto, response))
+            assertThatThrownBy(() -> authServiceImpl.login(dto, request, response))
                     .isInstanceOf(CustomException.class)
                     .extracting("errorType")
                     .isEqualTo(ErrorType.REDIS_CONNECTION_ERROR);
@@ -164,21 +212,17 @@ public class AuthServiceImplTest {
                 String oldToken = "oldRefreshToken";
                 String username = "user1";
                 String tokenId = "tokenId1";
-                RefreshTokenDto oldDto = new RefreshTokenDto(tokenId, username, "ROLE_USER", LocalDateTime.now(), LocalDateTime.now().plusDays(1));
 
                 when(cookieUtil.getValue(request)).thenReturn(oldToken);
-                when(jwtUtil.isExpired(oldToken)).thenReturn(false);
-                when(jwtUtil.getCategory(oldToken)).thenReturn("RefreshToken");
-                when(jwtUtil.getUsername(oldToken)).thenReturn(username);
-                when(jwtUtil.getTokenId(oldToken)).thenReturn(tokenId);
+                when(jwtUtil.verify(oldToken)).thenReturn(JwtVerification.valid(
+                        new JwtClaims("RefreshToken", username, "USER", tokenId, System.currentTimeMillis() + 86400000L, "family1")));
 
-                when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-                when(valueOperations.get(anyString())).thenReturn(oldDto);
-                when(objectMapper.convertValue(any(), eq(RefreshTokenDto.class))).thenReturn(oldDto);
-                doNothing().when(valueOperations).set(anyString(), any(), any(Duration.class));
+                when(refreshTokenStore.rotate(eq(tokenId), eq("family1"), any(RefreshTokenDto.class), anyLong(), eq(Duration.ofDays(1))))
+                        .thenReturn(RefreshTokenStore.Rotation.rotated());
 
-                when(jwtUtil.createJwt(eq("AccessToken"), eq(username), any(), any(), anyLong())).thenReturn("newAccessToken");
-                when(jwtUtil.createJwt(eq("RefreshToken"), eq(username), any(), any(), anyLong())).thenReturn("newRefreshToken");
+                when(jwtUtil.createJwt(eq("AccessToken"), eq(username), any(), any(), isNull(), anyLong(), eq(600000L))).thenReturn("newAccessToken");
+                // 새 Refresh Token 은 같은 family 를 이어감
+                when(jwtUtil.createJwt(eq("RefreshToken"), eq(username), any(), any(), eq("family1"), anyLong())).thenReturn("newRefreshToken");
 
                 when(cookieUtil.getValue(request)).thenReturn("oldRefreshToken");
                 when(cookieUtil.createCookie("RefreshToken", "newRefreshToken"))
@@ -189,6 +233,12 @@ public class AuthServiceImplTest {
                 assertThat(result).isNotNull();
                 assertThat(result.getNewAccessToken()).isEqualTo("newAccessToken");
                 assertThat(result.getNewRefreshToken()).isEqualTo("newRefreshToken");
+                verify(refreshTokenStore).rotate(
+                        eq(tokenId),
+                        eq("family1"),
+                        argThat(dto -> username.equals(dto.getGetUsername()) && "USER".equals(dto.getRole())),
+                        longThat(accessExpiresAt -> accessExpiresAt > System.currentTimeMillis()),
+                        eq(Duration.ofDays(1)));
             }
 
         @Test
@@ -206,7 +256,8 @@ public class AuthServiceImplTest {
         @DisplayName("예외 - 만료된 Refresh Token")
         void testExpiredRefreshToken() {
             when(cookieUtil.getValue(request)).thenReturn("dummyRefreshToken");
-            when(jwtUtil.isExpired("dummyRefreshToken")).thenReturn(true);
+            when(jwtUtil.verify("dummyRefreshToken")).thenReturn(JwtVerification.expired(
+                    new JwtClaims("RefreshToken", "user1", "USER", "tokenId1", System.currentTimeMillis() - 1000L)));
 
             assertThatThrownBy(() -> authServiceImpl.reissueToken(request, response))
                     .isInstanceOf(CustomException.class)
@@ -218,8 +269,8 @@ public class AuthServiceImplTest {
         @DisplayName("예외 - 다른 카테고리의 Refresh Token")
         void testInvalidCategory() {
             when(cookieUtil.getValue(request)).thenReturn("dummyRefreshToken");
-            when(jwtUtil.isExpired("dummyRefreshToken")).thenReturn(false);
-            when(jwtUtil.getCategory("dummyRefreshToken")).thenReturn("AccessToken");
+            when(jwtUtil.verify("dummyRefreshToken")).thenReturn(JwtVerification.valid(
+                    new JwtClaims("AccessToken", "user1", "USER", "tokenId1", System.currentTimeMillis() + 600000L)));
 
             assertThatThrownBy(() -> authServiceImpl.reissueToken(request, response))
                     .isInstanceOf(CustomException.class)
@@ -231,19 +282,61 @@ public class AuthServiceImplTest {
         @DisplayName("예외 - Redis에 존재하지 않는 Refresh Token")
         void testTokenNotFoundInRedis() {
             when(cookieUtil.getValue(request)).thenReturn("dummyRefreshToken");
-            when(jwtUtil.isExpired("dummyRefreshToken")).thenReturn(false);
-            when(jwtUtil.getCategory("dummyRefreshToken")).thenReturn("RefreshToken");
-            when(jwtUtil.getUsername("dummyRefreshToken")).thenReturn("user1");
-            when(jwtUtil.getTokenId("dummyRefreshToken")).thenReturn("tokenId1");
+            when(jwtUtil.verify("dummyRefreshToken")).thenReturn(JwtVerification.valid(
+                    new JwtClaims("RefreshToken", "user1", "USER", "tokenId1", System.currentTimeMillis() + 86400000L)));
 
-            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-            when(valueOperations.get(anyString())).thenReturn(null);
+            // familyId 클레임이 없는 이전 형식 토큰은 tokenId 로 체인을 시작
+            when(refreshTokenStore.rotate(eq("tokenId1"), eq("tokenId1"), any(RefreshTokenDto.class), anyLong(), any(Duration.class)))
+                    .thenReturn(RefreshTokenStore.Rotation.notFound());
 
             assertThatThrownBy(() -> authServiceImpl.reissueToken(request, response))
                     .isInstanceOf(CustomException.class)
                     .extracting("errorType")
                     .isEqualTo(ErrorType.REFRESH_TOKEN_NOT_FOUND_IN_REDIS);
         }
+
+        @Test
+        @DisplayName("예외 - 이미 재발급에 사용된 Refresh Token 재사용 시 체인 전체 폐기")
+        void testReusedRefreshToken() {
+            when(cookieUtil.getValue(request)).thenReturn("dummyRefreshToken");
+            when(jwtUtil.verify("dummyRefreshToken")).thenReturn(JwtVerification.valid(
+                    new JwtClaims("RefreshToken", "user1", "USER", "tokenId1", System.currentTimeMillis() + 86400000L, "family1")));
+
+            // 체인의 현재 토큰은 5분 전에 발급됨 -> 남은 수명이 5분인 Access Token
+            long accessExpiresAt = JwtUtil.expiresAt(System.currentTimeMillis() - 300000L, 600000L);
+            when(refreshTokenStore.rotate(eq("tokenId1"), eq("family1"), any(RefreshTokenDto.class), anyLong(), any(Duration.class)))
+                    .thenReturn(RefreshTokenStore.Rotation.reused("tokenId3",
+                            new RefreshTokenStore.Session(System.currentTimeMillis() + 86100000L, accessExpiresAt, "family1")));
+
+            assertThatThrownBy(() -> authServiceImpl.reissueToken(request, response))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.REFRESH_TOKEN_REUSED);
+
+            // 체인의 현재 토큰으로 발급된 Access Token 도 실제 만료 시각으로 차단되고, 새 토큰은 발급되지 않음
+            verify(tokenBlacklist).blacklist("tokenId3", accessExpiresAt);
+            verify(jwtUtil, never()).createJwt(anyString(), anyString(), anyString(), anyString(), any(), anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("예외 - 재사용 감지 시 폐기된 세션을 찾지 못하면 최대 수명 범위로 차단")
+        void testReusedRefreshTokenWithoutSession() {
+            when(cookieUtil.getValue(request)).thenReturn("dummyRefreshToken");
+            when(jwtUtil.verify("dummyRefreshToken")).thenReturn(JwtVerification.valid(
+                    new JwtClaims("RefreshToken", "user1", "USER", "tokenId1", System.currentTimeMillis() + 86400000L, "family1")));
+            when(refreshTokenStore.rotate(eq("tokenId1"), eq("family1"), any(RefreshTokenDto.class), anyLong(), any(Duration.class)))
+                    .thenReturn(RefreshTokenStore.Rotation.reused("tokenId3", null));
+
+            assertThatThrownBy(() -> authServiceImpl.reissueToken(request, response))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.REFRESH_TOKEN_REUSED);
+
+            long now = System.currentTimeMillis();
+            verify(tokenBlacklist).blacklist(eq("tokenId3"),
+                    longThat(earliest -> earliest <= now),
+                    longThat(latest -> latest > now + 590000L && latest <= now + 600000L));
+        }
     }
 
     @Nested
@@ -259,17 +352,13 @@ public class AuthServiceImplTest {
             when(request.getHeader("Authorization")).thenReturn("Bearer " + accessToken);
 
             // Redis TTL mock
-            when(jwtUtil.getExpiration(accessToken)).thenReturn(1000L); // 1초
+            when(jwtUtil.verify(accessToken)).thenReturn(JwtVerification.valid(
+                    new JwtClaims("AccessToken", "user1", "USER", "token-id", System.currentTimeMillis() + 60000L)));
 
             // Refresh token mock
             when(cookieUtil.getValue(request)).thenReturn(refreshToken);
-            when(jwtUtil.getUsername(refreshToken)).thenReturn("user1");
-            when(jwtUtil.getTokenId(refreshToken)).thenReturn("token-id");
-
-            // Redis mock
-            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-            doNothing().when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
-            when(redisTemplate.delete(anyString())).thenReturn(true);
+            when(jwtUtil.verify(refreshToken)).thenReturn(JwtVerification.valid(
+                    new JwtClaims("RefreshToken", "user1", "USER", "token-id", System.currentTimeMillis() + 86400000L, "family-id")));
 
             // Response cookie mock
             doNothing().when(response).addCookie(any(Cookie.class));
@@ -277,14 +366,73 @@ public class AuthServiceImplTest {
             authServiceImpl.logout(request, response);
 
             // 검증
-            verify(valueOperations).set(
-                    eq("BLACKLIST_" + accessToken),
-                    eq("logout"),
-                    eq(1000L),
-                    eq(TimeUnit.MILLISECONDS)
-            );
-            verify(redisTemplate).delete("RefreshToken:user1:token-id");
+            verify(tokenBlacklist).blacklist(eq("token-id"), longThat(exp -> exp > System.currentTimeMillis()));
+            verify(refreshTokenStore).delete("user1", "token-id", "family-id");
+            verify(verifiedTokenCache).evict(accessToken);
+            verify(response).addCookie(any(Cookie.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("getSessions() 메서드 테스트")
+    class getSessions {
+        @Test
+        @DisplayName("성공 - 현재 세션 표시와 함께 세션 목록 반환")
+        void getSessions_success() {
+            long expiresAt = System.currentTimeMillis() + 86400000L;
+            Map<String, Long> sessions = new LinkedHashMap<>();
+            sessions.put("token-1", expiresAt);
+            sessions.put("token-2", expiresAt);
+
+            when(cookieUtil.getValue(request)).thenReturn("refresh-token");
+            when(jwtUtil.verify("refresh-token")).thenReturn(JwtVerification.valid(
+                    new JwtClaims("RefreshToken", "user1", "USER", "token-2", expiresAt)));
+            when(refreshTokenStore.sessions("user1")).thenReturn(sessions);
+
+            List<SessionDto> result = authServiceImpl.getSessions("user1", request);
+
+            assertThat(result).extracting(SessionDto::getTokenId).containsExactly("token-1", "token-2");
+            assertThat(result).extracting(SessionDto::isCurrent).containsExactly(false, true);
+        }
+    }
+
+    @Nested
+    @DisplayName("logoutAll() 메서드 테스트")
+    class logoutAll {
+        @Test
+        @DisplayName("성공 - 모든 세션 삭제 및 Access Token 블랙리스트 등록")
+        void logoutAll_success() {
+            // token-1 은 7분 전에 발급 (남은 수명 3분), token-2 는 방금 발급 -> 각자의 실제 만료 시각으로 등록
+            long now = System.currentTimeMillis();
+            long token1AccessExp = JwtUtil.expiresAt(now - 420000L, 600000L);
+            long token2AccessExp = JwtUtil.expiresAt(now, 600000L);
+            Map<String, RefreshTokenStore.Session> sessions = new LinkedHashMap<>();
+            sessions.put("token-1", new RefreshTokenStore.Session(now + 85980000L, token1AccessExp, "token-1"));
+            sessions.put("token-2", new RefreshTokenStore.Session(now + 86400000L, token2AccessExp, "token-2"));
+            when(refreshTokenStore.deleteAll("user1")).thenReturn(sessions);
+            when(request.getHeader("Authorization")).thenReturn("Bearer access-token");
+
+            authServiceImpl.logoutAll("user1", request, response);
+
+            verify(tokenBlacklist).blacklist("token-1", token1AccessExp);
+            verify(tokenBlacklist).blacklist("token-2", token2AccessExp);
+            verify(verifiedTokenCache).evict("access-token");
             verify(response).addCookie(any(Cookie.class));
         }
+
+        @Test
+        @DisplayName("성공 - Access Token 만료 시각이 없는 이전 형식 세션은 최대 수명 범위로 등록")
+        void logoutAll_legacySession() {
+            long now = System.currentTimeMillis();
+            Map<String, RefreshTokenStore.Session> sessions = new LinkedHashMap<>();
+            sessions.put("token-1", new RefreshTokenStore.Session(now + 86400000L, 0, null));
+            when(refreshTokenStore.deleteAll("user1")).thenReturn(sessions);
+
+            authServiceImpl.logoutAll("user1", request, response);
+
+            verify(tokenBlacklist).blacklist(eq("token-1"),
+                    longThat(earliest -> earliest >= now),
+                    longThat(latest -> latest >= now + 600000L));
+        }
     }
 }
@@ -0,0 +1,271 @@
+package com.melly.authjwt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melly.authjwt.common.enums.ErrorType;
+import com.melly.authjwt.common.exception.CustomException;
+import com.melly.authjwt.dto.response.JwtKeyDto;
+import com.melly.authjwt.jwt.JwtAlgorithm;
+import com.melly.authjwt.jwt.JwtKeyRecord;
+import com.melly.authjwt.jwt.JwtKeyRing;
+import com.melly.authjwt.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("JwtKeyServiceImpl 단위 테스트")
+public class JwtKeyServiceImplTest {
+    private static final String SECRET = "test-secret-key-test-secret-key-test-secret-key";
+    private static final String KEK = kek(1);
+    private static final String OTHER_KEK = kek(2);
+
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private HashOperations<String, Object, Object> hashOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtKeyRing keyRing = new JwtKeyRing();
+
+    // Redis Hash 대신 사용 (JSON 직렬화기를 거친 것처럼 Map 으로 보관)
+    private final Map<Object, Object> storedRecords = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        doAnswer(invocation -> storedRecords.put(invocation.getArgument(1), objectMapper.convertValue(invocation.getArgument(2), Map.class)))
+                .when(hashOperations).put(eq("JwtKeyRing"), any(), any());
+        doAnswer(invocation -> storedRecords.remove(invocation.getArgument(1)) != null ? 1L : 0L)
+                .when(hashOperations).delete(eq("JwtKeyRing"), any());
+        when(hashOperations.entries("JwtKeyRing")).thenAnswer(invocation -> new LinkedHashMap<>(storedRecords));
+    }
+
+    // SET NX 로 넣은 잠금 토큰
+    private Object lockToken;
+
+    // 잠금 획득 성공
+    private void grantLock() {
+        when(valueOperations.setIfAbsent(eq("JwtKeyRing:lock"), any(), eq(10L), eq(TimeUnit.SECONDS))).thenAnswer(invocation -> {
+            lockToken = invocation.getArgument(1);
+            return true;
+        });
+    }
+
+    private static String kek(int seed) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) seed);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    private JwtKeyServiceImpl service(boolean enabled, JwtAlgorithm algorithm) {
+        return service(keyRing, enabled ? KEK : "", "", enabled, algorithm);
+    }
+
+    private JwtKeyServiceImpl service(JwtKeyRing ring, String kek, String previousKek, boolean enabled, JwtAlgorithm algorithm) {
+        return new JwtKeyServiceImpl(redisTemplate, listenerContainer, ring, objectMapper, enabled, kek, previousKek,
+                algorithm, Duration.ofDays(30), Duration.ofMinutes(1), Duration.ofSeconds(15), Duration.ofDays(1));
+    }
+
+    @Nested
+    @DisplayName("rotate() 메서드 테스트")
+    class rotate {
+        @Test
+        @DisplayName("성공 - 새 키를 암호화하여 저장하고, 활성화 전까지는 기존 키로 서명")
+        void rotateSuccess() {
+            grantLock();
+            JwtKeyServiceImpl service = service(true, JwtAlgorithm.HS256);
+
+            JwtKeyDto key = service.rotate();
+
+            assertThat(key.isSigning()).isFalse();
+            assertThat(keyRing.find(key.getKid())).isNotNull();
+            assertThat(keyRing.signingKey(System.currentTimeMillis())).isNull();
+
+            // 저장된 값은 암호문 (평문 키가 Redis 에 남지 않음)
+            JwtKeyRecord record = objectMapper.convertValue(storedRecords.get(key.getKid()), JwtKeyRecord.class);
+            byte[] plain = keyRing.find(key.getKid()).signingKey().getEncoded();
+            assertThat(record.secret()).isNotEqualTo(Base64.getEncoder().encodeToString(plain));
+
+            verify(redisTemplate).convertAndSend("jwt-keys", key.getKid());
+            // 자신이 건 잠금만 조회와 삭제를 한 번에 해제
+            verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of("JwtKeyRing:lock")), eq(lockToken));
+        }
+
+        @Test
+        @DisplayName("성공 - 다른 노드가 같은 키 목록을 읽어 상대 노드가 서명한 토큰을 검증")
+        void sharedAcrossNodes() {
+            grantLock();
+            service(true, JwtAlgorithm.ES256).initialize();
+            JwtUtil signer = new JwtUtil(SECRET, 0, null, keyRing);
+            String token = signer.createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+
+            JwtKeyRing otherRing = new JwtKeyRing();
+            service(otherRing, KEK, "", true, JwtAlgorithm.ES256).onMessage(null, null);
+
+            assertThat(otherRing.keys()).hasSize(1);
+            assertThat(new JwtUtil(SECRET, 0, null, otherRing).verify(token).isValid("AccessToken")).isTrue();
+            assertThat(signer.publicJwks()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("성공 - 교체된 지 retention 이 지난 키는 삭제")
+        void pruneRetiredKeys() {
+            grantLock();
+            long old = System.currentTimeMillis() - Duration.ofDays(40).toMillis();
+            storedRecords.put("k1", objectMapper.convertValue(new JwtKeyRecord("k1", JwtAlgorithm.HS256, "x", null, old, old), Map.class));
+            storedRecords.put("k2", objectMapper.convertValue(new JwtKeyRecord("k2", JwtAlgorithm.HS256, "x", null, old + 1000, old + 1000), Map.class));
+
+            JwtKeyDto key = service(true, JwtAlgorithm.HS256).rotate();
+
+            // k1 은 k2 활성화 후 retention 경과 -> 삭제, k2 는 새 키가 아직 활성화 전이므로 유지
+            assertThat(storedRecords).containsOnlyKeys("k2", key.getKid());
+        }
+
+        @Test
+        @DisplayName("실패 - 키 로테이션 비활성화")
+        void disabled() {
+            JwtKeyServiceImpl service = service(false, JwtAlgorithm.HS256);
+
+            assertThatThrownBy(service::rotate)
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.KEY_RING_DISABLED);
+            verify(hashOperations, never()).put(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("실패 - 다른 노드에서 로테이션 중")
+        void lockHeld() {
+            when(valueOperations.setIfAbsent(eq("JwtKeyRing:lock"), any(), eq(10L), eq(TimeUnit.SECONDS))).thenReturn(false);
+            JwtKeyServiceImpl service = service(true, JwtAlgorithm.HS256);
+
+            assertThatThrownBy(service::rotate)
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.KEY_ROTATION_IN_PROGRESS);
+            verify(hashOperations, never()).put(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("initialize() 메서드 테스트")
+    class initialize {
+        @Test
+        @DisplayName("성공 - 키가 없으면 첫 키를 즉시 활성화")
+        void firstKeyActiveImmediately() {
+            grantLock();
+
+            service(true, JwtAlgorithm.HS256).initialize();
+
+            assertThat(keyRing.signingKey(System.currentTimeMillis())).isNotNull();
+        }
+
+        @Test
+        @DisplayName("성공 - 다른 KEK 로 암호화된 키는 건너뜀")
+        void skipsUnreadableKey() {
+            grantLock();
+            service(true, JwtAlgorithm.HS256).initialize();
+
+            JwtKeyRing otherRing = new JwtKeyRing();
+            service(otherRing, OTHER_KEK, "", true, JwtAlgorithm.HS256).onMessage(null, null);
+
+            assertThat(otherRing.keys()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("실패 - 키 로테이션을 켰는데 KEK 가 없거나 256비트가 아니면 기동 중단")
+        void requiresKek() {
+            assertThatThrownBy(() -> service(keyRing, "", "", true, JwtAlgorithm.HS256))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("spring.jwt.key-ring.kek");
+            assertThatThrownBy(() -> service(keyRing, Base64.getEncoder().encodeToString(SECRET.getBytes()), "", true, JwtAlgorithm.HS256))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("256-bit");
+        }
+
+        @Test
+        @DisplayName("실패 - sync-interval 이 activation-delay 보다 길면 기동 중단")
+        void requiresSyncBeforeActivation() {
+            assertThatThrownBy(() -> new JwtKeyServiceImpl(redisTemplate, listenerContainer, keyRing, objectMapper, true, KEK, "",
+                    JwtAlgorithm.HS256, Duration.ofDays(30), Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofDays(1)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("sync-interval");
+        }
+    }
+
+    @Nested
+    @DisplayName("sync() 메서드 테스트")
+    class sync {
+        @Test
+        @DisplayName("성공 - pub/sub 메시지를 놓쳐도 새 키가 활성화되기 전에 목록을 맞춤")
+        void recoversMissedMessage() {
+            grantLock();
+            JwtKeyDto key = service(true, JwtAlgorithm.HS256).rotate();
+
+            // 메시지를 받지 못한 노드
+            JwtKeyRing missed = new JwtKeyRing();
+            assertThat(missed.find(key.getKid())).isNull();
+
+            service(missed, KEK, "", true, JwtAlgorithm.HS256).sync();
+
+            assertThat(missed.find(key.getKid())).isNotNull();
+            assertThat(missed.signingKey(System.currentTimeMillis())).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("KEK 교체 테스트")
+    class kekRotation {
+        @Test
+        @DisplayName("성공 - 이전 KEK 로 암호화된 키도 읽고, 다음 로테이션에서 새 KEK 로 다시 암호화")
+        void rewrapsWithCurrentKek() {
+            grantLock();
+            service(keyRing, OTHER_KEK, "", true, JwtAlgorithm.ES256).initialize();
+            String oldKid = keyRing.keys().get(0).kid();
+            String token = new JwtUtil(SECRET, 0, null, keyRing).createJwt("AccessToken", "user1", "USER", "token-id", 600000L);
+            String oldSecret = objectMapper.convertValue(storedRecords.get(oldKid), JwtKeyRecord.class).secret();
+
+            // kek=새 KEK, previous-kek=이전 KEK 로 배포
+            JwtKeyRing rotatingRing = new JwtKeyRing();
+            JwtKeyServiceImpl rotating = service(rotatingRing, KEK, OTHER_KEK, true, JwtAlgorithm.ES256);
+            rotating.onMessage(null, null);
+            assertThat(rotatingRing.find(oldKid)).isNotNull();
+
+            rotating.rotate();
+            assertThat(objectMapper.convertValue(storedRecords.get(oldKid), JwtKeyRecord.class).secret()).isNotEqualTo(oldSecret);
+
+            // previous-kek 를 제거한 뒤에도 모든 키를 읽고, 이전 키로 서명된 토큰도 검증
+            JwtKeyRing newRing = new JwtKeyRing();
+            service(newRing, KEK, "", true, JwtAlgorithm.ES256).onMessage(null, null);
+            assertThat(newRing.keys()).hasSize(2);
+            assertThat(new JwtUtil(SECRET, 0, null, newRing).verify(token).isValid("AccessToken")).isTrue();
+        }
+    }
+}
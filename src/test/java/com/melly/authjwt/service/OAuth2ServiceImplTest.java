@@ -11,6 +11,7 @@ import com.melly.authjwt.domain.repository.UserAuthProviderRepository;
 import com.melly.authjwt.dto.response.OAuth2LoginResponseDto;
 import com.melly.authjwt.dto.response.RefreshTokenDto;
 import com.melly.authjwt.jwt.JwtUtil;
+import com.melly.authjwt.jwt.RefreshTokenStore;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -22,8 +23,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -39,8 +38,7 @@ import static org.mockito.Mockito.*;
 public class OAuth2ServiceImplTest {
     @Mock private UserAuthProviderRepository userAuthProviderRepository;
     @Mock private JwtUtil jwtUtil;
-    @Mock private RedisTemplate<String, Object> redisTemplate;
-    @Mock private ValueOperations<String, Object> valueOperations;
+    @Mock private RefreshTokenStore refreshTokenStore;
     @Mock private CookieUtil cookieUtil;
     @Mock private PrincipalDetails principal;
     @Mock private HttpServletRequest request;
@@ -86,6 +84,8 @@ public class OAuth2ServiceImplTest {
                     eq(user.getUsername()),
                     eq(user.getRole().name()),
                     anyString(),
+                    isNull(),
+                    anyLong(),
                     eq(600000L)))
                     .thenReturn(accessToken);
 
@@ -94,13 +94,10 @@ public class OAuth2ServiceImplTest {
                     eq(user.getUsername()),
                     eq(user.getRole().name()),
                     anyString(),
+                    anyString(),
                     eq(86400000L)))
                     .thenReturn(refreshToken);
 
-            // Redis opsForValue mock
-            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-            doNothing().when(valueOperations).set(anyString(), any(), any(Duration.class));
-
             // Cookie mock
             Cookie cookie = new Cookie("RefreshToken", refreshToken);
             when(cookieUtil.createCookie("RefreshToken", refreshToken)).thenReturn(cookie);
@@ -119,9 +116,10 @@ public class OAuth2ServiceImplTest {
             assertThat(result.isSuccess()).isTrue();
 
             // Redis와 쿠키 호출 검증
-            verify(valueOperations).set(
-                    startsWith("RefreshToken:" + user.getUsername() + ":"),
-                    any(RefreshTokenDto.class),
+            verify(refreshTokenStore).save(
+                    argThat((RefreshTokenDto dto) -> user.getUsername().equals(dto.getGetUsername())),
+                    anyString(),
+                    longThat(accessExpiresAt -> accessExpiresAt > System.currentTimeMillis()),
                     eq(Duration.ofDays(1))
             );
             verify(response).addCookie(cookie);
@@ -1,5 +1,6 @@
 package com.melly.authjwt.service;
 
+import com.melly.authjwt.common.auth.UserExistenceFilter;
 import com.melly.authjwt.common.enums.ErrorType;
 import com.melly.authjwt.common.exception.CustomException;
 import com.melly.authjwt.domain.entity.UserEntity;
@@ -7,6 +8,7 @@ import com.melly.authjwt.domain.enums.UserRole;
 import com.melly.authjwt.domain.enums.UserStatus;
 import com.melly.authjwt.domain.repository.UserRepository;
 import com.melly.authjwt.dto.request.SignUpRequestDto;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,10 +18,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,9 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -46,6 +55,10 @@ public class UserServiceImplTest {
             dto.setEmail("testid@example.com");
             dto.setPassword("testpassword");
             dto.setConfirmPassword("testpassword");
+
+            // 기본: filter 가 판단하지 못하는 경우 (DB 로 확인)
+            lenient().when(userExistenceFilter.mightContainUsername(any())).thenReturn(true);
+            lenient().when(userExistenceFilter.mightContainEmail(any())).thenReturn(true);
         }
 
         @Test
@@ -69,6 +82,21 @@ public class UserServiceImplTest {
             assertThat(savedUser.getEmail()).isEqualTo(dto.getEmail());
             assertThat(savedUser.getRole()).isEqualTo(UserRole.USER);
             assertThat(savedUser.getStatus()).isEqualTo(UserStatus.ACTIVE);
+            verify(userExistenceFilter).add(savedUser);
+        }
+
+        @Test
+        @DisplayName("성공 - filter 에서 확실히 없는 아이디/이메일이면 중복 확인 쿼리 생략")
+        void signUp_filterNegative_skipsExistsQueries() {
+            when(userExistenceFilter.mightContainUsername("testid")).thenReturn(false);
+            when(userExistenceFilter.mightContainEmail("testid@example.com")).thenReturn(false);
+            when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPassword");
+
+            userService.signUp(dto);
+
+            verify(userRepository, never()).existsByUsername(any());
+            verify(userRepository, never()).existsByEmail(any());
+            verify(userRepository).save(any(UserEntity.class));
         }
 
         @Test
@@ -94,6 +122,49 @@ public class UserServiceImplTest {
                     .isEqualTo(ErrorType.DUPLICATE_EMAIL);
         }
 
+        // 중복 확인 후 저장 전에 다른 요청이 같은 값으로 가입 (MySQL unique key 위반)
+        private DataIntegrityViolationException duplicateEntry(String key) {
+            SQLIntegrityConstraintViolationException sqlException =
+                    new SQLIntegrityConstraintViolationException("Duplicate entry 'testid' for key '" + key + "'", "23000", 1062);
+            return new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("could not execute statement", sqlException, key));
+        }
+
+        @Test
+        @DisplayName("예외 - 동시에 같은 username 으로 가입하여 unique key 위반")
+        void signUp_concurrentDuplicateUsername_throwsException() {
+            when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPassword");
+            when(userRepository.save(any(UserEntity.class))).thenThrow(duplicateEntry("user_tbl.username"));
+
+            assertThatThrownBy(() -> userService.signUp(dto))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.DUPLICATE_USERNAME);
+            verify(userExistenceFilter, never()).add(any());
+        }
+
+        @Test
+        @DisplayName("예외 - 동시에 같은 email 로 가입하여 unique key 위반")
+        void signUp_concurrentDuplicateEmail_throwsException() {
+            when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPassword");
+            when(userRepository.save(any(UserEntity.class))).thenThrow(duplicateEntry("user_tbl.email"));
+
+            assertThatThrownBy(() -> userService.signUp(dto))
+                    .isInstanceOf(CustomException.class)
+                    .extracting("errorType")
+                    .isEqualTo(ErrorType.DUPLICATE_EMAIL);
+        }
+
+        @Test
+        @DisplayName("예외 - 다른 제약 위반은 그대로 전달")
+        void signUp_otherConstraint_rethrows() {
+            DataIntegrityViolationException violation = new DataIntegrityViolationException("not null");
+            when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPassword");
+            when(userRepository.save(any(UserEntity.class))).thenThrow(violation);
+
+            assertThatThrownBy(() -> userService.signUp(dto)).isSameAs(violation);
+        }
+
         @Test
         @DisplayName("예외 - 비밀번호 불일치")
         void signUp_passwordMismatch_throwsException() {